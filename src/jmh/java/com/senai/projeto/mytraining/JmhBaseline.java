@@ -0,0 +1,136 @@
+package com.senai.projeto.mytraining;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+// Compara o resultado JSON do JMH (-rf json) com o baseline versionado e falha se algum benchmark piorou
+// além da tolerância. Baseline ausente também falha: ele só é gravado a pedido (gravar=true), junto com a
+// JVM e a máquina em que foi medido, para que a comparação em outro ambiente seja sinalizada.
+// Uso: JmhBaseline <resultado.json> <baseline.json> [tolerância, padrão 0.10] [gravar, padrão false]
+public final class JmhBaseline {
+
+    private JmhBaseline() {
+    }
+
+    public static void main(String[] args) throws IOException {
+        if (args.length < 2) {
+            System.err.println("Uso: JmhBaseline <resultado.json> <baseline.json> [tolerancia] [gravar]");
+            System.exit(2);
+        }
+
+        Path resultado = Path.of(args[0]);
+        Path baseline = Path.of(args[1]);
+        double tolerancia = args.length > 2 ? Double.parseDouble(args[2]) : 0.10;
+        boolean gravar = args.length > 3 && Boolean.parseBoolean(args[3]);
+
+        ObjectMapper objectMapper = new ObjectMapper();
+        JsonNode resultados = objectMapper.readTree(resultado.toFile());
+        ObjectNode ambiente = ambiente(objectMapper, resultados);
+
+        if (gravar) {
+            ObjectNode conteudo = objectMapper.createObjectNode();
+            conteudo.set("ambiente", ambiente);
+            conteudo.set("resultados", resultados);
+            Files.createDirectories(baseline.toAbsolutePath().getParent());
+            objectMapper.writerWithDefaultPrettyPrinter().writeValue(baseline.toFile(), conteudo);
+            System.out.println("Baseline gravado em " + baseline + " - versione o arquivo para comparar as próximas execuções");
+            return;
+        }
+
+        if (!Files.exists(baseline)) {
+            System.err.println("Baseline " + baseline + " não encontrado. Grave-o na máquina de referência com "
+                    + "-Djmh.gravar-baseline=true e versione o arquivo");
+            System.exit(1);
+        }
+
+        JsonNode conteudo = objectMapper.readTree(baseline.toFile());
+        if (!ambiente.equals(conteudo.path("ambiente"))) {
+            System.out.println("AVISO: baseline medido em outro ambiente, as variações podem não ser comparáveis");
+            System.out.println("  baseline: " + conteudo.path("ambiente"));
+            System.out.println("  atual:    " + ambiente);
+        }
+
+        Map<String, Medida> atuais = ler(resultados);
+        Map<String, Medida> anteriores = ler(conteudo.path("resultados"));
+
+        int regressoes = 0;
+        System.out.printf("%-90s %14s %14s %9s%n", "Benchmark", "Baseline", "Atual", "Variação");
+        for (Map.Entry<String, Medida> entrada : atuais.entrySet()) {
+            Medida atual = entrada.getValue();
+            Medida anterior = anteriores.get(entrada.getKey());
+            if (anterior == null) {
+                System.out.printf("%-90s %14s %14.3f %9s%n", entrada.getKey(), "-", atual.score(), "novo");
+                continue;
+            }
+
+            // Tempo médio: maior é pior. Throughput: menor é pior.
+            double variacao = (atual.score() - anterior.score()) / anterior.score();
+            double piora = atual.menorEhMelhor() ? variacao : -variacao;
+            // Só conta como regressão o que passa da tolerância e fica fora das margens de erro das duas medições
+            boolean foraDoErro = Math.abs(atual.score() - anterior.score()) > atual.erro() + anterior.erro();
+            boolean regrediu = piora > tolerancia && foraDoErro;
+            if (regrediu) {
+                regressoes++;
+            }
+            System.out.printf("%-90s %14.3f %14.3f %+8.1f%%%s%n", entrada.getKey(), anterior.score(), atual.score(),
+                    variacao * 100, regrediu ? "  REGRESSÃO" : "");
+        }
+
+        if (regressoes > 0) {
+            System.err.println(regressoes + " benchmark(s) acima da tolerância de " + Math.round(tolerancia * 100) + "%");
+            System.exit(1);
+        }
+    }
+
+    // JVM dos forks (registrada pelo JMH em cada resultado) e máquina em que a comparação roda
+    private static ObjectNode ambiente(ObjectMapper objectMapper, JsonNode resultados) {
+        JsonNode primeiro = resultados.path(0);
+        ObjectNode ambiente = objectMapper.createObjectNode();
+        ambiente.put("jdkVersion", primeiro.path("jdkVersion").asText());
+        ambiente.put("vmName", primeiro.path("vmName").asText());
+        ambiente.put("vmVersion", primeiro.path("vmVersion").asText());
+        ambiente.put("os", System.getProperty("os.name") + " " + System.getProperty("os.version"));
+        ambiente.put("arquitetura", System.getProperty("os.arch"));
+        ambiente.put("processadores", Runtime.getRuntime().availableProcessors());
+        return ambiente;
+    }
+
+    // Chave: nome do benchmark + parâmetros, p.ex. ...MapperBenchmark.treinoToResponseDTO{exercicios=100}
+    private static Map<String, Medida> ler(JsonNode resultados) {
+        Map<String, Medida> medidas = new LinkedHashMap<>();
+        for (JsonNode resultado : resultados) {
+            StringBuilder chave = new StringBuilder(resultado.path("benchmark").asText());
+            JsonNode params = resultado.path("params");
+            if (params.isObject() && !params.isEmpty()) {
+                chave.append('{');
+                for (Iterator<Map.Entry<String, JsonNode>> it = params.fields(); it.hasNext(); ) {
+                    Map.Entry<String, JsonNode> param = it.next();
+                    chave.append(param.getKey()).append('=').append(param.getValue().asText());
+                    if (it.hasNext()) {
+                        chave.append(',');
+                    }
+                }
+                chave.append('}');
+            }
+
+            JsonNode metrica = resultado.path("primaryMetric");
+            double erro = metrica.path("scoreError").asDouble(0);
+            medidas.put(chave.toString(), new Medida(
+                    metrica.path("score").asDouble(),
+                    Double.isNaN(erro) ? 0 : erro,
+                    !"thrpt".equals(resultado.path("mode").asText())));
+        }
+        return medidas;
+    }
+
+    private record Medida(double score, double erro, boolean menorEhMelhor) {
+    }
+}
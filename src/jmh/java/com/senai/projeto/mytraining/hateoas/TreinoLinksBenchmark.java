@@ -0,0 +1,113 @@
+package com.senai.projeto.mytraining.hateoas;
+
+import com.senai.projeto.mytraining.controller.ExercicioController;
+import com.senai.projeto.mytraining.controller.TreinoController;
+import com.senai.projeto.mytraining.controller.UsuarioController;
+import com.senai.projeto.mytraining.dto.response.TreinoResponseDTO;
+import com.senai.projeto.mytraining.model.TipoTreino;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.hateoas.EntityModel;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.web.context.request.RequestContextHolder;
+import org.springframework.web.context.request.ServletRequestAttributes;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.LongStream;
+
+import static org.springframework.hateoas.server.mvc.WebMvcLinkBuilder.linkTo;
+import static org.springframework.hateoas.server.mvc.WebMvcLinkBuilder.methodOn;
+
+// Links de uma listagem de treinos: LinkTemplate (TreinoModelAssembler atual) x linkTo(methodOn(...))
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class TreinoLinksBenchmark {
+
+    @Param({"1000"})
+    private int tamanho;
+
+    private List<TreinoResponseDTO> treinos;
+    private TreinoModelAssembler assembler;
+
+    @Setup(Level.Trial)
+    public void preparar() {
+        LocalDateTime agora = LocalDateTime.now();
+        treinos = LongStream.rangeClosed(1, tamanho)
+                .mapToObj(id -> new TreinoResponseDTO(id, agora, TipoTreino.CORRIDA, 30, null, 5.0, 2L, "Usuário", Set.of()))
+                .toList();
+        assembler = new TreinoModelAssembler();
+    }
+
+    // Cada invocação é uma requisição nova, então a base URI também é resolvida de novo
+    @Setup(Level.Invocation)
+    public void novaRequisicao() {
+        MockHttpServletRequest request = new MockHttpServletRequest("GET", "/api/treinos");
+        RequestContextHolder.setRequestAttributes(new ServletRequestAttributes(request));
+    }
+
+    @TearDown(Level.Invocation)
+    public void encerrarRequisicao() {
+        RequestContextHolder.resetRequestAttributes();
+    }
+
+    @Benchmark
+    public List<EntityModel<TreinoResponseDTO>> linkTemplate() {
+        return treinos.stream().map(assembler::toModel).toList();
+    }
+
+    @Benchmark
+    public List<EntityModel<TreinoResponseDTO>> methodOnPorLink() {
+        return treinos.stream().map(TreinoLinksBenchmark::toModelComMethodOn).toList();
+    }
+
+    // Implementação anterior do TreinoModelAssembler, mantida aqui como referência
+    private static EntityModel<TreinoResponseDTO> toModelComMethodOn(TreinoResponseDTO treino) {
+        EntityModel<TreinoResponseDTO> model = EntityModel.of(treino);
+
+        model.add(linkTo(methodOn(TreinoController.class)
+                .buscarPorId(treino.id()))
+                .withSelfRel());
+
+        model.add(linkTo(methodOn(TreinoController.class)
+                .atualizar(treino.id(), null))
+                .withRel("atualizar"));
+
+        model.add(linkTo(methodOn(TreinoController.class)
+                .deletar(treino.id()))
+                .withRel("deletar"));
+
+        model.add(linkTo(methodOn(TreinoController.class)
+                .listarTodos())
+                .withRel("all-treinos"));
+
+        if (treino.usuarioId() != null) {
+            model.add(linkTo(methodOn(UsuarioController.class)
+                    .buscarPorId(treino.usuarioId(), null))
+                    .withRel("usuario"));
+        }
+
+        model.add(linkTo(methodOn(ExercicioController.class)
+                .listarPorTreino(treino.id()))
+                .withRel("exercicios"));
+
+        return model;
+    }
+}
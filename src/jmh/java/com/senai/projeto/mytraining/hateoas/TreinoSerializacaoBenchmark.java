@@ -0,0 +1,103 @@
+package com.senai.projeto.mytraining.hateoas;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.senai.projeto.mytraining.dto.response.ExercicioResponseDto;
+import com.senai.projeto.mytraining.dto.response.TreinoResponseDTO;
+import com.senai.projeto.mytraining.model.TipoTreino;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.hateoas.EntityModel;
+import org.springframework.hateoas.mediatype.MessageResolver;
+import org.springframework.hateoas.mediatype.hal.CurieProvider;
+import org.springframework.hateoas.mediatype.hal.Jackson2HalModule;
+import org.springframework.hateoas.server.core.DefaultLinkRelationProvider;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.web.context.request.RequestContextHolder;
+import org.springframework.web.context.request.ServletRequestAttributes;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
+import java.util.stream.LongStream;
+
+// Resposta de listagem de ponta a ponta fora do banco: assembler (links) e serialização HAL com Jackson
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class TreinoSerializacaoBenchmark {
+
+    @Param({"100", "1000"})
+    private int tamanho;
+
+    private TreinoModelAssembler assembler;
+    private ObjectMapper objectMapper;
+    private List<TreinoResponseDTO> treinos;
+    private List<EntityModel<TreinoResponseDTO>> models;
+
+    @Setup(Level.Trial)
+    public void preparar() {
+        LocalDateTime agora = LocalDateTime.now();
+        treinos = LongStream.rangeClosed(1, tamanho)
+                .mapToObj(id -> new TreinoResponseDTO(id, agora, TipoTreino.MUSCULACAO, 60, "Treino de força", null, 2L, "User Test",
+                        LongStream.rangeClosed(1, 5)
+                                .mapToObj(exercicio -> new ExercicioResponseDto(id * 10 + exercicio, "Exercício " + exercicio, 4, 10, 40.0, null, id))
+                                .collect(Collectors.toSet())))
+                .toList();
+        assembler = new TreinoModelAssembler();
+
+        // Mesmo formato da resposta da API: HAL (_links) e datas ISO-8601
+        objectMapper = Jackson2ObjectMapperBuilder.json()
+                .modulesToInstall(new Jackson2HalModule())
+                .handlerInstantiator(new Jackson2HalModule.HalHandlerInstantiator(
+                        new DefaultLinkRelationProvider(), CurieProvider.NONE, MessageResolver.DEFAULTS_ONLY))
+                .build();
+
+        novaRequisicao();
+        models = treinos.stream().map(assembler::toModel).toList();
+        encerrarRequisicao();
+    }
+
+    @Setup(Level.Invocation)
+    public void novaRequisicao() {
+        MockHttpServletRequest request = new MockHttpServletRequest("GET", "/api/treinos/meus-treinos");
+        RequestContextHolder.setRequestAttributes(new ServletRequestAttributes(request));
+    }
+
+    @TearDown(Level.Invocation)
+    public void encerrarRequisicao() {
+        RequestContextHolder.resetRequestAttributes();
+    }
+
+    @Benchmark
+    public List<EntityModel<TreinoResponseDTO>> assemblerToModel() {
+        return treinos.stream().map(assembler::toModel).toList();
+    }
+
+    @Benchmark
+    public byte[] serializarHal() throws JsonProcessingException {
+        return objectMapper.writeValueAsBytes(models);
+    }
+
+    @Benchmark
+    public byte[] montarESerializar() throws JsonProcessingException {
+        return objectMapper.writeValueAsBytes(treinos.stream().map(assembler::toModel).toList());
+    }
+}
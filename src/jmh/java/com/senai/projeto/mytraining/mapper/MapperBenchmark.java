@@ -0,0 +1,107 @@
+package com.senai.projeto.mytraining.mapper;
+
+import com.senai.projeto.mytraining.dto.response.TreinoResponseDTO;
+import com.senai.projeto.mytraining.dto.response.UsuarioResponseDTO;
+import com.senai.projeto.mytraining.model.Exercicio;
+import com.senai.projeto.mytraining.model.Role;
+import com.senai.projeto.mytraining.model.TipoTreino;
+import com.senai.projeto.mytraining.model.Treino;
+import com.senai.projeto.mytraining.model.Usuario;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.time.LocalDateTime;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+
+// Conversão entidade -> DTO; exercicios varia só no treino, para mostrar o custo por exercício do TreinoMapper
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class MapperBenchmark {
+
+    @State(Scope.Thread)
+    public static class TreinoState {
+
+        @Param({"10", "100", "1000"})
+        private int exercicios;
+
+        private TreinoMapper treinoMapper;
+        private Treino treino;
+
+        @Setup(Level.Trial)
+        public void preparar() {
+            treinoMapper = new TreinoMapper(new ExercicioMapper());
+
+            treino = new Treino();
+            treino.setId(1L);
+            treino.setDataHora(LocalDateTime.now());
+            treino.setTipo(TipoTreino.MUSCULACAO);
+            treino.setDuracaoMin(60);
+            treino.setObservacoes("Treino de força");
+            treino.setUsuario(usuario());
+            for (long id = 1; id <= exercicios; id++) {
+                Exercicio exercicio = new Exercicio();
+                exercicio.setId(id);
+                exercicio.setNome("Exercício " + id);
+                exercicio.setSeries(4);
+                exercicio.setRepeticoes(10);
+                exercicio.setCargaKg(40.0);
+                exercicio.setTreino(treino);
+                treino.getExercicios().add(exercicio);
+            }
+        }
+    }
+
+    @State(Scope.Thread)
+    public static class UsuarioState {
+
+        private UsuarioMapper usuarioMapper;
+        private Usuario usuario;
+
+        @Setup(Level.Trial)
+        public void preparar() {
+            usuarioMapper = new UsuarioMapper(new RoleMapper());
+            usuario = usuario();
+        }
+    }
+
+    @Benchmark
+    public TreinoResponseDTO treinoToResponseDTO(TreinoState estado) {
+        return estado.treinoMapper.toResponseDTO(estado.treino);
+    }
+
+    @Benchmark
+    public UsuarioResponseDTO usuarioToResponseDTO(UsuarioState estado) {
+        return estado.usuarioMapper.toResponseDTO(estado.usuario);
+    }
+
+    private static Usuario usuario() {
+        Role admin = new Role();
+        admin.setId(1L);
+        admin.setNome("ROLE_ADMIN");
+        Role user = new Role();
+        user.setId(2L);
+        user.setNome("ROLE_USER");
+
+        Usuario usuario = new Usuario();
+        usuario.setId(2L);
+        usuario.setNome("User Test");
+        usuario.setEmail("user@test.com");
+        usuario.setSenha("hash");
+        usuario.setRoles(Set.of(admin, user));
+        return usuario;
+    }
+}
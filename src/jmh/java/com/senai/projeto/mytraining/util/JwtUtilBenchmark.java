@@ -0,0 +1,61 @@
+package com.senai.projeto.mytraining.util;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.security.core.authority.SimpleGrantedAuthority;
+import org.springframework.security.core.userdetails.User;
+import org.springframework.security.core.userdetails.UserDetails;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+// Custo do JWT por requisição: emissão no login e validação no JwtAuthFilter, com e sem o cache de tokens verificados
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class JwtUtilBenchmark {
+
+    private JwtUtil jwtComCache;
+    private JwtUtil jwtSemCache;
+    private UserDetails usuario;
+    private String token;
+
+    @Setup(Level.Trial)
+    public void preparar() {
+        // Chave efêmera do próprio chaveiro (nenhuma chave configurada)
+        JwtKeyRing keyRing = new JwtKeyRing("", "", "");
+        jwtComCache = new JwtUtil(keyRing, 10_000, 300);
+        jwtSemCache = new JwtUtil(keyRing, 0, 300);
+        usuario = new User("user@test.com", "", List.of(new SimpleGrantedAuthority("ROLE_USER")));
+        token = jwtComCache.generateToken(usuario);
+    }
+
+    @Benchmark
+    public String generateToken() {
+        return jwtComCache.generateToken(usuario);
+    }
+
+    // Token repetido: caminho comum de um cliente que reaproveita o token por uma hora
+    @Benchmark
+    public boolean isTokenValidComCache() {
+        return jwtComCache.isTokenValid(token, usuario);
+    }
+
+    // Verificação HMAC e parse completos a cada chamada
+    @Benchmark
+    public boolean isTokenValidSemCache() {
+        return jwtSemCache.isTokenValid(token, usuario);
+    }
+}
@@ -0,0 +1,112 @@
+package com.senai.projeto.mytraining.loadtest;
+
+import com.senai.projeto.mytraining.MytrainingApplication;
+import com.senai.projeto.mytraining.service.TreinoAgregadoService;
+import com.senai.projeto.mytraining.util.JwtUtil;
+import io.zonky.test.db.postgres.embedded.EmbeddedPostgres;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.boot.web.context.WebServerApplicationContext;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.security.core.authority.SimpleGrantedAuthority;
+import org.springframework.security.core.userdetails.User;
+
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+// Teste de carga de ponta a ponta, offline: Postgres embarcado (binário via Maven), massa de dados gerada,
+// aplicação completa em porta aleatória e cenários HTTP com histogramas de latência.
+// mvn -Ploadtest test-compile exec:exec -Dcarga.args="--modos=plataforma,virtual --duracao=60"
+public class CargaMain {
+
+    public static void main(String[] args) throws Exception {
+        // O reinício do devtools recarregaria esta classe como se fosse a aplicação
+        System.setProperty("spring.devtools.restart.enabled", "false");
+        Map<String, String> opcoes = opcoes(args);
+
+        int usuarios = inteiro(opcoes, "usuarios", 200);
+        int concorrencia = inteiro(opcoes, "concorrencia", 64);
+        Duration aquecimento = Duration.ofSeconds(inteiro(opcoes, "aquecimento", 10));
+        Duration duracao = Duration.ofSeconds(inteiro(opcoes, "duracao", 30));
+        List<String> modos = Arrays.asList(opcoes.getOrDefault("modos", "plataforma").split(","));
+        // CRIAR_TREINO por último: é o único cenário que altera a massa de dados
+        List<Cenario> cenarios = Arrays.stream(opcoes.getOrDefault("cenarios", "LOGIN,MEUS_TREINOS,PAGINADO,CRIAR_TREINO").split(","))
+                .map(Cenario::valueOf)
+                .toList();
+        Relatorio relatorio = new Relatorio(Path.of(opcoes.getOrDefault("saida", "target/loadtest")));
+
+        try (EmbeddedPostgres postgres = EmbeddedPostgres.builder().start()) {
+            String url = postgres.getJdbcUrl("postgres", "postgres");
+            List<String> emails = null;
+
+            for (String modo : modos) {
+                try (ConfigurableApplicationContext contexto = iniciar(url, modo)) {
+                    if (emails == null) {
+                        long inicio = System.nanoTime();
+                        emails = new GeradorDeDados(contexto.getBean(JdbcTemplate.class)).gerar(
+                                usuarios,
+                                inteiro(opcoes, "anos", 3),
+                                inteiro(opcoes, "treinos-por-semana", 3),
+                                inteiro(opcoes, "exercicios-por-treino", 5),
+                                inteiro(opcoes, "desafios-por-usuario", 10));
+                        contexto.getBean(TreinoAgregadoService.class).reconstruir();
+                        System.out.printf("Massa de dados gerada em %.1f s%n", (System.nanoTime() - inicio) / 1e9);
+                    }
+
+                    // A chave JWT é efêmera por contexto: tokens gerados de novo a cada modo
+                    JwtUtil jwtUtil = contexto.getBean(JwtUtil.class);
+                    List<Cenario.Cliente> clientes = new ArrayList<>();
+                    for (String email : emails) {
+                        String token = jwtUtil.generateToken(new User(email, "", List.of(new SimpleGrantedAuthority("ROLE_USER"))));
+                        clientes.add(new Cenario.Cliente(email, token));
+                    }
+
+                    int porta = ((WebServerApplicationContext) contexto).getWebServer().getPort();
+                    ExecutorDeCarga executor = new ExecutorDeCarga("http://localhost:" + porta, clientes);
+                    for (Cenario cenario : cenarios) {
+                        relatorio.registrar(modo, executor.executar(cenario, concorrencia, aquecimento, duracao));
+                    }
+                }
+            }
+        }
+
+        relatorio.concluir(opcoes.containsKey("comparar") ? Path.of(opcoes.get("comparar")) : null);
+    }
+
+    // Modos: plataforma (padrão do Tomcat) ou virtual (perfil application-virtual.properties)
+    private static ConfigurableApplicationContext iniciar(String url, String modo) {
+        List<String> argumentos = new ArrayList<>(List.of(
+                "--spring.datasource.url=" + url,
+                "--spring.datasource.username=postgres",
+                "--spring.datasource.password=",
+                "--server.port=0",
+                "--spring.jpa.show-sql=false",
+                "--spring.jpa.properties.hibernate.format_sql=false",
+                "--logging.level.root=WARN"));
+        if ("virtual".equals(modo)) {
+            argumentos.add("--spring.profiles.active=virtual");
+        } else if (!"plataforma".equals(modo)) {
+            throw new IllegalArgumentException("Modo desconhecido: " + modo + " (plataforma ou virtual)");
+        }
+        return new SpringApplicationBuilder(MytrainingApplication.class).run(argumentos.toArray(String[]::new));
+    }
+
+    private static Map<String, String> opcoes(String[] args) {
+        Map<String, String> opcoes = new HashMap<>();
+        for (String arg : args) {
+            if (arg.startsWith("--") && arg.contains("=")) {
+                opcoes.put(arg.substring(2, arg.indexOf('=')), arg.substring(arg.indexOf('=') + 1));
+            }
+        }
+        return opcoes;
+    }
+
+    private static int inteiro(Map<String, String> opcoes, String nome, int padrao) {
+        return opcoes.containsKey(nome) ? Integer.parseInt(opcoes.get(nome)) : padrao;
+    }
+}
@@ -0,0 +1,61 @@
+package com.senai.projeto.mytraining.loadtest;
+
+import java.net.URI;
+import java.net.http.HttpRequest;
+import java.time.LocalDateTime;
+import java.util.concurrent.ThreadLocalRandom;
+
+// Cenários roteirizados: cada chamada monta a requisição de um usuário da massa de dados
+public enum Cenario {
+
+    // Dominado pelo BCrypt no pool dedicado; 503 conta como erro
+    LOGIN {
+        @Override
+        HttpRequest requisicao(String baseUrl, Cliente cliente) {
+            return HttpRequest.newBuilder(URI.create(baseUrl + "/api/auth/login"))
+                    .header("Content-Type", "application/json")
+                    .POST(HttpRequest.BodyPublishers.ofString(
+                            "{\"email\":\"" + cliente.email() + "\",\"senha\":\"" + GeradorDeDados.SENHA + "\"}"))
+                    .build();
+        }
+    },
+
+    // Lista completa do usuário (anos de histórico), sem If-None-Match: mede o caminho que consulta o banco
+    MEUS_TREINOS {
+        @Override
+        HttpRequest requisicao(String baseUrl, Cliente cliente) {
+            return autenticada(baseUrl + "/api/treinos/meus-treinos", cliente).GET().build();
+        }
+    },
+
+    PAGINADO {
+        @Override
+        HttpRequest requisicao(String baseUrl, Cliente cliente) {
+            int pagina = ThreadLocalRandom.current().nextInt(50);
+            return autenticada(baseUrl + "/api/treinos/paginado?page=" + pagina + "&size=20", cliente).GET().build();
+        }
+    },
+
+    CRIAR_TREINO {
+        @Override
+        HttpRequest requisicao(String baseUrl, Cliente cliente) {
+            String corpo = "{\"dataHora\":\"" + LocalDateTime.now().withNano(0) + "\",\"tipo\":\"CORRIDA\",\"duracaoMin\":35,"
+                    + "\"distanciaKm\":6.5,\"observacoes\":\"carga\",\"exercicios\":[]}";
+            return autenticada(baseUrl + "/api/treinos", cliente)
+                    .header("Content-Type", "application/json")
+                    .POST(HttpRequest.BodyPublishers.ofString(corpo))
+                    .build();
+        }
+    };
+
+    abstract HttpRequest requisicao(String baseUrl, Cliente cliente);
+
+    private static HttpRequest.Builder autenticada(String url, Cliente cliente) {
+        return HttpRequest.newBuilder(URI.create(url))
+                .header("Authorization", "Bearer " + cliente.token())
+                .header("Accept", "application/hal+json");
+    }
+
+    public record Cliente(String email, String token) {
+    }
+}
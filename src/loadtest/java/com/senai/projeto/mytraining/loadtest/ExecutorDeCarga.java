@@ -0,0 +1,82 @@
+package com.senai.projeto.mytraining.loadtest;
+
+import org.HdrHistogram.Histogram;
+import org.HdrHistogram.Recorder;
+
+import java.net.http.HttpClient;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+
+// Modelo fechado: N clientes concorrentes, cada um envia a próxima requisição assim que recebe a resposta.
+// Latência registrada em microssegundos; o aquecimento roda o mesmo laço sem registrar.
+public class ExecutorDeCarga {
+
+    private static final long LATENCIA_MAXIMA_US = TimeUnit.MINUTES.toMicros(1);
+
+    private final HttpClient http;
+    private final String baseUrl;
+    private final List<Cenario.Cliente> clientes;
+
+    public ExecutorDeCarga(String baseUrl, List<Cenario.Cliente> clientes) {
+        this.baseUrl = baseUrl;
+        this.clientes = clientes;
+        this.http = HttpClient.newBuilder()
+                .version(HttpClient.Version.HTTP_1_1)
+                .connectTimeout(Duration.ofSeconds(5))
+                .build();
+    }
+
+    public Resultado executar(Cenario cenario, int concorrencia, Duration aquecimento, Duration duracao) throws InterruptedException {
+        rodar(cenario, concorrencia, aquecimento, null, new LongAdder());
+
+        Recorder recorder = new Recorder(LATENCIA_MAXIMA_US, 3);
+        LongAdder erros = new LongAdder();
+        long inicio = System.nanoTime();
+        rodar(cenario, concorrencia, duracao, recorder, erros);
+        double segundos = (System.nanoTime() - inicio) / 1e9;
+
+        Histogram histograma = recorder.getIntervalHistogram();
+        return new Resultado(cenario, histograma, erros.sum(), histograma.getTotalCount() / segundos);
+    }
+
+    private void rodar(Cenario cenario, int concorrencia, Duration duracao, Recorder recorder, LongAdder erros) throws InterruptedException {
+        long fim = System.nanoTime() + duracao.toNanos();
+        List<Thread> threads = new ArrayList<>();
+        for (int i = 0; i < concorrencia; i++) {
+            Cenario.Cliente cliente = clientes.get(i % clientes.size());
+            // Clientes em virtual threads: o gerador não vira gargalo com centenas de conexões
+            threads.add(Thread.ofVirtual().name("carga-" + cenario + "-" + i).start(() -> {
+                while (System.nanoTime() < fim) {
+                    long envio = System.nanoTime();
+                    boolean ok;
+                    try {
+                        HttpResponse<Void> resposta = http.send(cenario.requisicao(baseUrl, cliente), HttpResponse.BodyHandlers.discarding());
+                        ok = resposta.statusCode() < 400;
+                    } catch (Exception e) {
+                        ok = false;
+                    }
+                    if (recorder != null) {
+                        recorder.recordValue(Math.min((System.nanoTime() - envio) / 1_000, LATENCIA_MAXIMA_US));
+                        if (!ok) {
+                            erros.increment();
+                        }
+                    }
+                }
+            }));
+        }
+        for (Thread thread : threads) {
+            thread.join();
+        }
+    }
+
+    public record Resultado(Cenario cenario, Histogram histograma, long erros, double throughput) {
+
+        public double percentilMs(double percentil) {
+            return histograma.getValueAtPercentile(percentil) / 1000.0;
+        }
+    }
+}
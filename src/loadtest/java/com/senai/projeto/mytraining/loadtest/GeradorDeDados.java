@@ -0,0 +1,108 @@
+package com.senai.projeto.mytraining.loadtest;
+
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
+
+import java.sql.Date;
+import java.sql.Timestamp;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+// Massa de dados determinística (semente fixa): mesmos usuários, treinos e desafios em toda execução,
+// para que os relatórios de builds diferentes sejam comparáveis. Inserção direta por JDBC em lotes.
+public class GeradorDeDados {
+
+    public static final String SENHA = "senha123";
+    private static final int LOTE = 1000;
+    private static final String[] TIPOS = {"CORRIDA", "MUSCULACAO", "CICLISMO"};
+    private static final String[] EXERCICIOS = {"Supino Reto", "Agachamento", "Levantamento Terra", "Remada Curvada", "Desenvolvimento"};
+
+    private final JdbcTemplate jdbc;
+    private final Random random = new Random(42);
+
+    public GeradorDeDados(JdbcTemplate jdbc) {
+        this.jdbc = jdbc;
+    }
+
+    // Retorna os emails dos usuários criados
+    public List<String> gerar(int usuarios, int anos, int treinosPorSemana, int exerciciosPorTreino, int desafiosPorUsuario) {
+        long roleUser = jdbc.queryForObject("SELECT id FROM role WHERE nome = 'ROLE_USER'", Long.class);
+        String hash = new BCryptPasswordEncoder().encode(SENHA);
+        long proximoUsuario = proximoId("usuario");
+        long proximoTreino = proximoId("treino");
+        long proximoExercicio = proximoId("exercicio");
+        long proximoDesafio = proximoId("desafio");
+
+        List<String> emails = new ArrayList<>();
+        List<Object[]> linhasUsuario = new ArrayList<>();
+        List<Object[]> linhasRole = new ArrayList<>();
+        for (int i = 0; i < usuarios; i++) {
+            long id = proximoUsuario++;
+            String email = "carga" + i + "@mytraining.com";
+            emails.add(email);
+            linhasUsuario.add(new Object[]{id, "Usuário Carga " + i, email, hash});
+            linhasRole.add(new Object[]{id, roleUser});
+        }
+        jdbc.batchUpdate("INSERT INTO usuario (id, nome, email, senha) VALUES (?, ?, ?, ?)", linhasUsuario);
+        jdbc.batchUpdate("INSERT INTO usuario_roles (usuario_id, role_id) VALUES (?, ?)", linhasRole);
+
+        LocalDateTime fim = LocalDate.now().atTime(7, 0);
+        LocalDateTime inicio = fim.minusYears(anos);
+        int semanas = anos * 52;
+        List<Object[]> treinos = new ArrayList<>();
+        List<Object[]> exercicios = new ArrayList<>();
+        List<Object[]> desafios = new ArrayList<>();
+        for (long usuarioId = proximoUsuario - usuarios; usuarioId < proximoUsuario; usuarioId++) {
+            for (int semana = 0; semana < semanas; semana++) {
+                for (int t = 0; t < treinosPorSemana; t++) {
+                    long treinoId = proximoTreino++;
+                    String tipo = TIPOS[random.nextInt(TIPOS.length)];
+                    LocalDateTime dataHora = inicio.plusWeeks(semana).plusDays(t * 2L).plusMinutes(random.nextInt(600));
+                    boolean musculacao = "MUSCULACAO".equals(tipo);
+                    treinos.add(new Object[]{treinoId, Timestamp.valueOf(dataHora), tipo, 20 + random.nextInt(70),
+                            null, musculacao ? null : Math.round(random.nextDouble() * 400) / 10.0, usuarioId});
+                    if (musculacao) {
+                        for (int e = 0; e < exerciciosPorTreino; e++) {
+                            exercicios.add(new Object[]{proximoExercicio++, EXERCICIOS[random.nextInt(EXERCICIOS.length)],
+                                    3 + random.nextInt(3), 8 + random.nextInt(5), 10.0 + random.nextInt(90), treinoId});
+                        }
+                    }
+                }
+                if (treinos.size() >= LOTE) {
+                    inserirTreinos(treinos, exercicios);
+                }
+            }
+            for (int d = 0; d < desafiosPorUsuario; d++) {
+                LocalDate dataInicio = fim.toLocalDate().minusMonths(random.nextInt(12));
+                desafios.add(new Object[]{proximoDesafio++, "Desafio " + d, null, Date.valueOf(dataInicio),
+                        Date.valueOf(dataInicio.plusMonths(3)), 100.0, random.nextInt(100) * 1.0, "KM", "PENDENTE", usuarioId});
+            }
+        }
+        inserirTreinos(treinos, exercicios);
+        jdbc.batchUpdate("INSERT INTO desafio (id, titulo, descricao, data_inicio, data_fim, objetivo_valor, progresso_atual, unidade, status, usuario_id) "
+                + "VALUES (?, ?, ?, ?, ?, ?, ?, ?, ?, ?)", desafios);
+
+        // IDs explícitos: as sequences (pooled-lo, incremento 50) continuam depois do maior id gerado
+        for (String tabela : List.of("usuario", "treino", "exercicio", "desafio")) {
+            jdbc.execute("SELECT setval('" + tabela + "_seq', (SELECT COALESCE(MAX(id), 0) + 1 FROM " + tabela + "), false)");
+        }
+        jdbc.execute("ANALYZE");
+        return emails;
+    }
+
+    private void inserirTreinos(List<Object[]> treinos, List<Object[]> exercicios) {
+        jdbc.batchUpdate("INSERT INTO treino (id, data_hora, tipo, duracao_min, observacoes, distancia_km, usuario_id) "
+                + "VALUES (?, ?, ?, ?, ?, ?, ?)", treinos);
+        jdbc.batchUpdate("INSERT INTO exercicio (id, nome, series, repeticoes, carga_kg, observacoes, treino_id) "
+                + "VALUES (?, ?, ?, ?, ?, NULL, ?)", exercicios);
+        treinos.clear();
+        exercicios.clear();
+    }
+
+    private long proximoId(String tabela) {
+        return jdbc.queryForObject("SELECT COALESCE(MAX(id), 0) + 1 FROM " + tabela, Long.class);
+    }
+}
@@ -0,0 +1,89 @@
+package com.senai.projeto.mytraining.loadtest;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+
+import java.io.IOException;
+import java.io.PrintStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+// Saída por execução: um .hgrm (distribuição completa do HdrHistogram, em ms) por modo e cenário,
+// resumo.json com p50/p99/p999 e throughput, e a comparação com o resumo de outro build quando informado
+public class Relatorio {
+
+    private final Path saida;
+    private final ObjectMapper objectMapper = new ObjectMapper().enable(SerializationFeature.INDENT_OUTPUT);
+    private final Map<String, Map<String, Linha>> porModo = new LinkedHashMap<>();
+
+    public Relatorio(Path saida) throws IOException {
+        this.saida = Files.createDirectories(saida);
+    }
+
+    public void registrar(String modo, ExecutorDeCarga.Resultado resultado) throws IOException {
+        Path hgrm = saida.resolve(modo + "-" + resultado.cenario().name().toLowerCase() + ".hgrm");
+        try (PrintStream arquivo = new PrintStream(Files.newOutputStream(hgrm))) {
+            resultado.histograma().outputPercentileDistribution(arquivo, 1000.0);
+        }
+
+        Linha linha = new Linha(resultado.histograma().getTotalCount(), resultado.erros(), resultado.throughput(),
+                resultado.percentilMs(50), resultado.percentilMs(99), resultado.percentilMs(99.9),
+                resultado.histograma().getMaxValue() / 1000.0);
+        porModo.computeIfAbsent(modo, chave -> new LinkedHashMap<>()).put(resultado.cenario().name(), linha);
+        System.out.printf("%-10s %-13s %9d req %6d erros %9.1f req/s  p50 %8.2f ms  p99 %8.2f ms  p999 %8.2f ms  max %8.2f ms%n",
+                modo, resultado.cenario(), linha.requisicoes(), linha.erros(), linha.throughput(),
+                linha.p50Ms(), linha.p99Ms(), linha.p999Ms(), linha.maxMs());
+    }
+
+    public void concluir(Path anterior) throws IOException {
+        objectMapper.writeValue(saida.resolve("resumo.json").toFile(), porModo);
+
+        // Mesma execução com mais de um modo: cada modo comparado ao primeiro (ex.: virtual x plataforma)
+        List<String> modos = new ArrayList<>(porModo.keySet());
+        for (int i = 1; i < modos.size(); i++) {
+            comparar(modos.get(i) + " x " + modos.get(0), porModo.get(modos.get(0)), porModo.get(modos.get(i)));
+        }
+
+        if (anterior != null) {
+            JsonNode outroBuild = objectMapper.readTree(anterior.toFile());
+            for (String modo : modos) {
+                JsonNode base = outroBuild.path(modo);
+                if (base.isMissingNode()) {
+                    continue;
+                }
+                Map<String, Linha> referencia = new LinkedHashMap<>();
+                base.fields().forEachRemaining(campo ->
+                        referencia.put(campo.getKey(), objectMapper.convertValue(campo.getValue(), Linha.class)));
+                comparar(modo + " x " + anterior, referencia, porModo.get(modo));
+            }
+        }
+        System.out.println("Relatórios em " + saida.toAbsolutePath());
+    }
+
+    private void comparar(String titulo, Map<String, Linha> referencia, Map<String, Linha> atual) {
+        System.out.println();
+        System.out.println(titulo);
+        System.out.printf("%-13s %12s %12s %9s %12s %12s %9s%n", "Cenário", "req/s ref", "req/s", "Δ", "p99 ref", "p99", "Δ");
+        atual.forEach((cenario, linha) -> {
+            Linha ref = referencia.get(cenario);
+            if (ref == null) {
+                return;
+            }
+            System.out.printf("%-13s %12.1f %12.1f %+8.1f%% %10.2fms %10.2fms %+8.1f%%%n", cenario,
+                    ref.throughput(), linha.throughput(), variacao(ref.throughput(), linha.throughput()),
+                    ref.p99Ms(), linha.p99Ms(), variacao(ref.p99Ms(), linha.p99Ms()));
+        });
+    }
+
+    private static double variacao(double referencia, double atual) {
+        return referencia == 0 ? 0 : (atual - referencia) / referencia * 100;
+    }
+
+    public record Linha(long requisicoes, long erros, double throughput, double p50Ms, double p99Ms, double p999Ms, double maxMs) {
+    }
+}
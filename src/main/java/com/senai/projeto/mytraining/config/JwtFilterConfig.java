@@ -1,7 +1,11 @@
 package com.senai.projeto.mytraining.config;
 
 import com.senai.projeto.mytraining.util.JwtAuthFilter;
+import com.senai.projeto.mytraining.util.JwtPrincipalCache;
+import com.senai.projeto.mytraining.util.JwtRevocationRegistry;
 import com.senai.projeto.mytraining.util.JwtUtil;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 import org.springframework.security.core.userdetails.UserDetailsService;
@@ -9,8 +13,12 @@ import org.springframework.security.core.userdetails.UserDetailsService;
 @Configuration
 public class JwtFilterConfig {
     @Bean
-    public JwtAuthFilter jwtAuthFilter(UserDetailsService userDetailsService, JwtUtil jwtUtil) {
-        return new JwtAuthFilter(userDetailsService, jwtUtil);
+    public JwtAuthFilter jwtAuthFilter(UserDetailsService userDetailsService, JwtUtil jwtUtil,
+                                       JwtPrincipalCache principalCache,
+                                       JwtRevocationRegistry revocationRegistry,
+                                       MeterRegistry meterRegistry,
+                                       @Value("${jwt.stateless:false}") boolean stateless) {
+        return new JwtAuthFilter(userDetailsService, jwtUtil, principalCache, revocationRegistry, meterRegistry, stateless);
     }
 
 
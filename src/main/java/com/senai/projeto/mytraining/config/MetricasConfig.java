@@ -0,0 +1,55 @@
+package com.senai.projeto.mytraining.config;
+
+import com.senai.projeto.mytraining.util.ContadorDeSql;
+import com.senai.projeto.mytraining.util.ContagemSqlAssincronaInterceptor;
+import io.micrometer.core.aop.TimedAspect;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.RequiredArgsConstructor;
+import net.ttddyy.dsproxy.support.ProxyDataSource;
+import net.ttddyy.dsproxy.support.ProxyDataSourceBuilder;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.web.servlet.config.annotation.AsyncSupportConfigurer;
+import org.springframework.web.servlet.config.annotation.WebMvcConfigurer;
+
+import javax.sql.DataSource;
+
+@Configuration
+@RequiredArgsConstructor
+public class MetricasConfig implements WebMvcConfigurer {
+
+    private final ContagemSqlAssincronaInterceptor contagemSqlAssincrona;
+
+    // Habilita @Timed nos services; as tags class e method vêm do próprio aspecto
+    @Bean
+    public TimedAspect timedAspect(MeterRegistry meterRegistry) {
+        return new TimedAspect(meterRegistry);
+    }
+
+    // Envolve o DataSource (Hikari) em um proxy que mede cada comando JDBC. Estático para não antecipar a
+    // criação desta configuração; o contador é resolvido só quando o DataSource é criado.
+    @Bean
+    public static BeanPostProcessor contadorDeSqlDataSource(ObjectProvider<ContadorDeSql> contadorDeSql) {
+        return new BeanPostProcessor() {
+            @Override
+            public Object postProcessAfterInitialization(Object bean, String beanName) {
+                if (bean instanceof DataSource dataSource && !(bean instanceof ProxyDataSource)) {
+                    return ProxyDataSourceBuilder.create(dataSource)
+                            .name(beanName)
+                            .listener(contadorDeSql.getObject())
+                            .build();
+                }
+                return bean;
+            }
+        };
+    }
+
+    // As exportações NDJSON consultam o banco na thread assíncrona; o interceptor mantém essas consultas na
+    // contagem (e no orçamento) da requisição
+    @Override
+    public void configureAsyncSupport(AsyncSupportConfigurer configurer) {
+        configurer.registerCallableInterceptors(contagemSqlAssincrona);
+    }
+}
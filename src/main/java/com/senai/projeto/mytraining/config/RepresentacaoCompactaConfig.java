@@ -0,0 +1,23 @@
+package com.senai.projeto.mytraining.config;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.senai.projeto.mytraining.util.RepresentacaoCompactaConverter;
+import lombok.RequiredArgsConstructor;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.http.converter.HttpMessageConverter;
+import org.springframework.web.servlet.config.annotation.WebMvcConfigurer;
+
+import java.util.List;
+
+@Configuration
+@RequiredArgsConstructor
+public class RepresentacaoCompactaConfig implements WebMvcConfigurer {
+
+    private final ObjectMapper objectMapper;
+
+    // Precisa vir antes do conversor Jackson, que também aceita application/*+json
+    @Override
+    public void extendMessageConverters(List<HttpMessageConverter<?>> converters) {
+        converters.add(0, new RepresentacaoCompactaConverter(objectMapper));
+    }
+}
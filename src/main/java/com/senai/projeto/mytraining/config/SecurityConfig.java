@@ -1,7 +1,10 @@
 package com.senai.projeto.mytraining.config;
 
+import com.senai.projeto.mytraining.mapper.UsuarioMapper;
 import com.senai.projeto.mytraining.repository.UsuarioRepository;
 import com.senai.projeto.mytraining.util.JwtAuthFilter;
+import jakarta.servlet.DispatcherType;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 import org.springframework.http.HttpMethod;
@@ -11,11 +14,8 @@ import org.springframework.security.config.annotation.web.builders.HttpSecurity;
 import org.springframework.security.config.annotation.web.configuration.EnableWebSecurity;
 import org.springframework.security.config.annotation.web.configurers.AbstractHttpConfigurer;
 import org.springframework.security.config.http.SessionCreationPolicy;
-import org.springframework.security.core.GrantedAuthority;
-import org.springframework.security.core.authority.SimpleGrantedAuthority;
 import org.springframework.security.core.userdetails.UserDetailsService;
 import org.springframework.security.core.userdetails.UsernameNotFoundException;
-import org.springframework.security.core.userdetails.User;
 import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
 import org.springframework.security.crypto.password.PasswordEncoder;
 import org.springframework.security.web.SecurityFilterChain;
@@ -25,17 +25,21 @@ import org.springframework.web.cors.CorsConfigurationSource;
 import org.springframework.web.cors.UrlBasedCorsConfigurationSource;
 
 import java.util.Arrays;
-import java.util.List;
-import java.util.stream.Collectors;
 
 @Configuration
 @EnableWebSecurity
 public class SecurityConfig {
 
     private final UsuarioRepository usuarioRepository;
+    private final UsuarioMapper usuarioMapper;
+    private final int portaGerenciamento;
 
-    public SecurityConfig(UsuarioRepository usuarioRepository) {
+    public SecurityConfig(UsuarioRepository usuarioRepository,
+                          UsuarioMapper usuarioMapper,
+                          @Value("${management.server.port:-1}") int portaGerenciamento) {
         this.usuarioRepository = usuarioRepository;
+        this.usuarioMapper = usuarioMapper;
+        this.portaGerenciamento = portaGerenciamento;
     }
 
     @Bean
@@ -45,6 +49,9 @@ public class SecurityConfig {
                 .csrf(AbstractHttpConfigurer::disable)
                 .authorizeHttpRequests(auth -> auth
 
+                        // Respostas em streaming (NDJSON) já foram autorizadas no dispatch original
+                        .dispatcherTypeMatchers(DispatcherType.ASYNC).permitAll()
+
                         .requestMatchers("/api/auth/**").permitAll()
                         .requestMatchers("/api/test/**").permitAll()
                         .requestMatchers(HttpMethod.POST, "/api/usuarios").permitAll()
@@ -54,6 +61,13 @@ public class SecurityConfig {
                         .requestMatchers("/v3/api-docs").permitAll()
                         .requestMatchers("/webjars/**").permitAll()
 
+                        // Health check e scraper do Prometheus não carregam token; as métricas só ficam abertas na
+                        // porta de gerenciamento (interna), nas demais portas exigem ADMIN
+                        .requestMatchers(HttpMethod.GET, "/actuator/health").permitAll()
+                        .requestMatchers(request -> request.getLocalPort() == portaGerenciamento
+                                && "/actuator/prometheus".equals(request.getRequestURI())).permitAll()
+                        .requestMatchers("/actuator/**").hasRole("ADMIN")
+
                         .requestMatchers(HttpMethod.GET, "/api/treinos/meus-treinos").authenticated()
                         .requestMatchers(HttpMethod.POST, "/api/treinos").authenticated()
                         .requestMatchers(HttpMethod.PUT, "/api/treinos/**").authenticated()
@@ -95,21 +109,7 @@ public class SecurityConfig {
     @Bean
     public UserDetailsService userDetailsService() {
         return email -> usuarioRepository.findByEmail(email)
-                .map(usuario -> {
-                    List<GrantedAuthority> authorities = usuario.getRoles().stream()
-                            .map(role -> {
-                                String nome = role.getNome();
-                                String withPrefix = nome != null && nome.startsWith("ROLE_") ? nome : "ROLE_" + nome;
-                                return new SimpleGrantedAuthority(withPrefix);
-                            })
-                            .collect(Collectors.toList());
-
-                    return new User(
-                            usuario.getEmail(),
-                            usuario.getSenha(),
-                            authorities
-                    );
-                })
+                .map(usuarioMapper::toUserDetails)
                 .orElseThrow(() -> new UsernameNotFoundException("Usuário não encontrado com email: " + email));
     }
 
@@ -5,6 +5,9 @@ import com.senai.projeto.mytraining.dto.response.DesafioResponseDTO;
 import com.senai.projeto.mytraining.hateoas.DesafioModelAssembler;
 import com.senai.projeto.mytraining.model.Desafio;
 import com.senai.projeto.mytraining.service.DesafioService;
+import com.senai.projeto.mytraining.service.VersaoDadosService;
+import com.senai.projeto.mytraining.util.NdjsonWriter;
+import com.senai.projeto.mytraining.util.VersaoDados;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.Parameter;
 import io.swagger.v3.oas.annotations.media.Content;
@@ -22,12 +25,17 @@ import org.springframework.data.web.PageableDefault;
 import org.springframework.data.web.PagedResourcesAssembler;
 import org.springframework.hateoas.EntityModel;
 import org.springframework.hateoas.PagedModel;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.core.Authentication;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.WebRequest;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
 import java.util.List;
+import java.util.Optional;
 import java.util.stream.Collectors;
 
 @RestController
@@ -40,6 +48,8 @@ public class DesafioController {
     private final DesafioService desafioService;
     private final DesafioModelAssembler assembler;
     private final PagedResourcesAssembler<DesafioResponseDTO> pagedAssembler;
+    private final NdjsonWriter ndjsonWriter;
+    private final VersaoDadosService versaoDadosService;
 
     @PostMapping
     @Operation(summary = "Criar novo desafio", description = "Cria um novo desafio para o usuário autenticado")
@@ -66,19 +76,32 @@ public class DesafioController {
     @SecurityRequirement(name = "bearerAuth")
     @ApiResponses(value = {
             @ApiResponse(responseCode = "200", description = "Lista de desafios retornada"),
+            @ApiResponse(responseCode = "304", description = "Lista inalterada desde o ETag enviado em If-None-Match"),
             @ApiResponse(responseCode = "404", description = "Nenhum desafio encontrado"),
             @ApiResponse(responseCode = "401", description = "Não autenticado")
     })
-    public ResponseEntity<List<EntityModel<DesafioResponseDTO>>> listarMeusDesafios(Authentication authentication) {
-        String email = authentication.getName();
-        return desafioService.listarPorEmail(email)
-                .map(desafios -> {
-                    List<EntityModel<DesafioResponseDTO>> models = desafios.stream()
-                            .map(assembler::toModel)
-                            .collect(Collectors.toList());
-                    return ResponseEntity.ok(models);
-                })
-                .orElse(ResponseEntity.notFound().build());
+    public ResponseEntity<List<EntityModel<DesafioResponseDTO>>> listarMeusDesafios(Authentication authentication, WebRequest request) {
+        Optional<VersaoDados> versao = versaoDadosService.buscarPorEmail(authentication.getName());
+        if (versao.isEmpty()) {
+            return ResponseEntity.notFound().build();
+        }
+
+        // checkNotModified também grava o ETag na resposta, nos dois casos; a lista só é consultada quando mudou
+        String etag = versao.get().etag("desafios", request.getHeader(HttpHeaders.ACCEPT));
+        if (request.checkNotModified(etag)) {
+            return ResponseEntity.status(HttpStatus.NOT_MODIFIED)
+                    .cacheControl(VersaoDados.revalidar())
+                    .varyBy(HttpHeaders.ACCEPT)
+                    .build();
+        }
+
+        List<EntityModel<DesafioResponseDTO>> models = desafioService.listarDoUsuario(versao.get().usuarioId()).stream()
+                .map(assembler::toModel)
+                .collect(Collectors.toList());
+        return ResponseEntity.ok()
+                .cacheControl(VersaoDados.revalidar())
+                .varyBy(HttpHeaders.ACCEPT)
+                .body(models);
     }
 
     @GetMapping("/{id}")
@@ -106,6 +129,14 @@ public class DesafioController {
         return ResponseEntity.ok(models);
     }
 
+    @GetMapping(produces = MediaType.APPLICATION_NDJSON_VALUE)
+    @Operation(summary = "Exportar todos os desafios em NDJSON", description = "Um DesafioResponseDTO por linha, escrito à medida que é lido do banco (sem links HATEOAS)")
+    @SecurityRequirement(name = "bearerAuth")
+    @ApiResponse(responseCode = "200", description = "Stream NDJSON de desafios")
+    public ResponseEntity<StreamingResponseBody> exportarTodos() {
+        return ndjsonWriter.responder(desafioService::exportarTodos);
+    }
+
     @GetMapping("/paginado")
     @Operation(summary = "Listar desafios com paginação", description = "Retorna desafios paginados ordenados por data de início")
     @ApiResponse(responseCode = "200", description = "Página de desafios retornada")
@@ -4,6 +4,7 @@ import com.senai.projeto.mytraining.dto.request.ExercicioRequestDTO;
 import com.senai.projeto.mytraining.dto.response.ExercicioResponseDto;
 import com.senai.projeto.mytraining.hateoas.ExercicioModelAssembler;
 import com.senai.projeto.mytraining.service.ExercicioService;
+import com.senai.projeto.mytraining.util.NdjsonWriter;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.Parameter;
 import io.swagger.v3.oas.annotations.media.Content;
@@ -16,8 +17,10 @@ import jakarta.validation.Valid;
 import lombok.RequiredArgsConstructor;
 import org.springframework.hateoas.EntityModel;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
 import java.util.List;
 import java.util.stream.Collectors;
@@ -31,6 +34,7 @@ public class ExercicioController {
 
     private final ExercicioService exercicioService;
     private final ExercicioModelAssembler assembler;
+    private final NdjsonWriter ndjsonWriter;
 
     @PostMapping
     @Operation(summary = "Criar novo exercício", description = "Cria um novo exercício vinculado a um treino")
@@ -76,6 +80,14 @@ public class ExercicioController {
         return ResponseEntity.ok(models);
     }
 
+    @GetMapping(produces = MediaType.APPLICATION_NDJSON_VALUE)
+    @Operation(summary = "Exportar todos os exercícios em NDJSON", description = "Um ExercicioResponseDto por linha, escrito à medida que é lido do banco (sem links HATEOAS)")
+    @SecurityRequirement(name = "bearerAuth")
+    @ApiResponse(responseCode = "200", description = "Stream NDJSON de exercícios")
+    public ResponseEntity<StreamingResponseBody> exportarTodos() {
+        return ndjsonWriter.responder(exercicioService::exportarTodos);
+    }
+
     @GetMapping("/treino/{treinoId}")
     @Operation(summary = "Listar exercícios de um treino", description = "Retorna todos os exercícios de um treino específico")
     @SecurityRequirement(name = "bearerAuth")
@@ -1,9 +1,21 @@
 package com.senai.projeto.mytraining.controller;
 
+import com.senai.projeto.mytraining.dto.request.TreinoFiltroDTO;
 import com.senai.projeto.mytraining.dto.request.TreinoRequestDTO;
+import com.senai.projeto.mytraining.dto.response.CursorPageResponseDTO;
+import com.senai.projeto.mytraining.dto.response.ImportacaoResponseDTO;
+import com.senai.projeto.mytraining.dto.response.TreinoAgregadoResponseDTO;
 import com.senai.projeto.mytraining.dto.response.TreinoResponseDTO;
 import com.senai.projeto.mytraining.hateoas.TreinoModelAssembler;
+import com.senai.projeto.mytraining.model.TipoTreino;
+import com.senai.projeto.mytraining.model.TreinoAgregado;
+import com.senai.projeto.mytraining.service.TreinoAgregadoService;
+import com.senai.projeto.mytraining.service.TreinoImportService;
 import com.senai.projeto.mytraining.service.TreinoService;
+import com.senai.projeto.mytraining.service.VersaoDadosService;
+import com.senai.projeto.mytraining.util.NdjsonWriter;
+import com.senai.projeto.mytraining.util.TreinoCursor;
+import com.senai.projeto.mytraining.util.VersaoDados;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.Parameter;
 import io.swagger.v3.oas.annotations.media.Content;
@@ -15,18 +27,28 @@ import io.swagger.v3.oas.annotations.tags.Tag;
 import jakarta.validation.Valid;
 import lombok.RequiredArgsConstructor;
 import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.domain.Sort;
 import org.springframework.data.web.PageableDefault;
+import org.springframework.format.annotation.DateTimeFormat;
 import org.springframework.data.web.PagedResourcesAssembler;
 import org.springframework.hateoas.EntityModel;
 import org.springframework.hateoas.PagedModel;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.core.Authentication;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.WebRequest;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
+import java.io.IOException;
+import java.io.InputStream;
+import java.time.LocalDate;
 import java.util.List;
+import java.util.Optional;
 import java.util.stream.Collectors;
 
 @RestController
@@ -37,8 +59,12 @@ import java.util.stream.Collectors;
 public class TreinoController {
 
     private final TreinoService treinoService;
+    private final TreinoAgregadoService agregadoService;
+    private final TreinoImportService importService;
     private final TreinoModelAssembler assembler;
     private final PagedResourcesAssembler<TreinoResponseDTO> pagedAssembler;
+    private final NdjsonWriter ndjsonWriter;
+    private final VersaoDadosService versaoDadosService;
 
     @PostMapping
     @Operation(summary = "Criar novo treino", description = "Cria um novo treino para o usuário autenticado")
@@ -60,23 +86,134 @@ public class TreinoController {
                 .orElse(ResponseEntity.badRequest().build());
     }
 
+    @PostMapping(value = "/importar", consumes = {MediaType.APPLICATION_JSON_VALUE, MediaType.APPLICATION_NDJSON_VALUE})
+    @Operation(summary = "Importar treinos em massa", description = "Recebe um array JSON ou NDJSON de treinos (com exercícios aninhados) e persiste em lotes para o usuário autenticado")
+    @SecurityRequirement(name = "bearerAuth")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "Importação processada; o resultado de cada item vem no corpo"),
+            @ApiResponse(responseCode = "404", description = "Usuário não encontrado"),
+            @ApiResponse(responseCode = "401", description = "Não autenticado")
+    })
+    public ResponseEntity<ImportacaoResponseDTO> importar(
+            InputStream corpo,
+            Authentication authentication) throws IOException {
+        return importService.importar(authentication.getName(), corpo)
+                .map(ResponseEntity::ok)
+                .orElse(ResponseEntity.notFound().build());
+    }
+
     @GetMapping("/meus-treinos")
     @Operation(summary = "Listar meus treinos", description = "Retorna todos os treinos do usuário autenticado")
     @SecurityRequirement(name = "bearerAuth")
     @ApiResponses(value = {
             @ApiResponse(responseCode = "200", description = "Lista de treinos retornada"),
+            @ApiResponse(responseCode = "304", description = "Lista inalterada desde o ETag enviado em If-None-Match"),
             @ApiResponse(responseCode = "404", description = "Nenhum treino encontrado"),
             @ApiResponse(responseCode = "401", description = "Não autenticado")
     })
-    public ResponseEntity<List<EntityModel<TreinoResponseDTO>>> listarMeusTreinos(Authentication authentication) {
-        String email = authentication.getName();
-        return treinoService.listarPorEmail(email)
-                .map(treinos -> {
-                    List<EntityModel<TreinoResponseDTO>> models = treinos.stream()
-                            .map(assembler::toModel)
-                            .collect(Collectors.toList());
-                    return ResponseEntity.ok(models);
-                })
+    public ResponseEntity<List<EntityModel<TreinoResponseDTO>>> listarMeusTreinos(Authentication authentication, WebRequest request) {
+        Optional<VersaoDados> versao = versaoDadosService.buscarPorEmail(authentication.getName());
+        if (versao.isEmpty()) {
+            return ResponseEntity.notFound().build();
+        }
+
+        // checkNotModified também grava o ETag na resposta, nos dois casos; a lista só é consultada quando mudou
+        String etag = versao.get().etag("treinos", request.getHeader(HttpHeaders.ACCEPT));
+        if (request.checkNotModified(etag)) {
+            return ResponseEntity.status(HttpStatus.NOT_MODIFIED)
+                    .cacheControl(VersaoDados.revalidar())
+                    .varyBy(HttpHeaders.ACCEPT)
+                    .build();
+        }
+
+        List<EntityModel<TreinoResponseDTO>> models = treinoService.listarDoUsuario(versao.get().usuarioId()).stream()
+                .map(assembler::toModel)
+                .collect(Collectors.toList());
+        return ResponseEntity.ok()
+                .cacheControl(VersaoDados.revalidar())
+                .varyBy(HttpHeaders.ACCEPT)
+                .body(models);
+    }
+
+    @GetMapping("/meus-treinos/cursor")
+    @Operation(summary = "Listar meus treinos por cursor", description = "Paginação keyset: o custo de qualquer página é o mesmo da primeira")
+    @SecurityRequirement(name = "bearerAuth")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "Página de treinos retornada"),
+            @ApiResponse(responseCode = "400", description = "Cursor inválido"),
+            @ApiResponse(responseCode = "404", description = "Usuário não encontrado"),
+            @ApiResponse(responseCode = "401", description = "Não autenticado")
+    })
+    public ResponseEntity<CursorPageResponseDTO<EntityModel<TreinoResponseDTO>>> listarMeusTreinosPorCursor(
+            @Parameter(description = "Cursor opaco retornado pela página anterior") @RequestParam(required = false) String cursor,
+            @Parameter(description = "Tamanho da página (1 a 100)") @RequestParam(defaultValue = "20") int size,
+            Authentication authentication) {
+        Optional<TreinoCursor> posicao = Optional.empty();
+        if (cursor != null && !cursor.isBlank()) {
+            posicao = TreinoCursor.decode(cursor);
+            if (posicao.isEmpty()) {
+                return ResponseEntity.badRequest().build();
+            }
+        }
+
+        int tamanho = Math.max(1, Math.min(size, 100));
+        return treinoService.listarPorEmailComCursor(authentication.getName(), posicao.orElse(null), tamanho)
+                .map(pagina -> ResponseEntity.ok(new CursorPageResponseDTO<>(
+                        pagina.conteudo().stream()
+                                .map(assembler::toModel)
+                                .collect(Collectors.toList()),
+                        pagina.proximoCursor(),
+                        pagina.temProximo()
+                )))
+                .orElse(ResponseEntity.notFound().build());
+    }
+
+    @GetMapping("/meus-treinos/busca")
+    @Operation(summary = "Buscar meus treinos com filtros", description = "Filtra por tipo, período, duração e distância; paginado do mais recente para o mais antigo")
+    @SecurityRequirement(name = "bearerAuth")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "Página de treinos retornada"),
+            @ApiResponse(responseCode = "400", description = "Intervalo inválido (mínimo maior que máximo)"),
+            @ApiResponse(responseCode = "404", description = "Usuário não encontrado"),
+            @ApiResponse(responseCode = "401", description = "Não autenticado")
+    })
+    public ResponseEntity<PagedModel<EntityModel<TreinoResponseDTO>>> buscarMeusTreinos(
+            @Parameter(description = "Tipo do treino") @RequestParam(required = false) TipoTreino tipo,
+            @Parameter(description = "Data inicial, inclusiva") @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate de,
+            @Parameter(description = "Data final, inclusiva") @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate ate,
+            @Parameter(description = "Duração mínima em minutos") @RequestParam(required = false) Integer duracaoMinima,
+            @Parameter(description = "Duração máxima em minutos") @RequestParam(required = false) Integer duracaoMaxima,
+            @Parameter(description = "Distância mínima em km") @RequestParam(required = false) Double distanciaMinima,
+            @Parameter(description = "Distância máxima em km") @RequestParam(required = false) Double distanciaMaxima,
+            @Parameter(description = "Número da página (a partir de 0)") @RequestParam(defaultValue = "0") int page,
+            @Parameter(description = "Tamanho da página (1 a 100)") @RequestParam(defaultValue = "20") int size,
+            Authentication authentication) {
+        TreinoFiltroDTO filtro = new TreinoFiltroDTO(tipo, de, ate, duracaoMinima, duracaoMaxima, distanciaMinima, distanciaMaxima);
+        if (!filtro.valido()) {
+            return ResponseEntity.badRequest().build();
+        }
+
+        PageRequest pagina = PageRequest.of(Math.max(page, 0), Math.max(1, Math.min(size, 100)));
+        return treinoService.buscarPorEmailComFiltro(authentication.getName(), filtro, pagina)
+                .map(treinos -> ResponseEntity.ok(pagedAssembler.toModel(treinos, assembler)))
+                .orElse(ResponseEntity.notFound().build());
+    }
+
+    @GetMapping("/resumo")
+    @Operation(summary = "Resumo dos meus treinos", description = "Totais de treinos, minutos e km por tipo e período (DIA, SEMANA, MES)")
+    @SecurityRequirement(name = "bearerAuth")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "Resumo retornado"),
+            @ApiResponse(responseCode = "404", description = "Usuário não encontrado"),
+            @ApiResponse(responseCode = "401", description = "Não autenticado")
+    })
+    public ResponseEntity<List<TreinoAgregadoResponseDTO>> resumo(
+            @Parameter(description = "Granularidade") @RequestParam(defaultValue = "MES") TreinoAgregado.Periodo periodo,
+            @Parameter(description = "Data inicial (padrão: um ano atrás)") @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate de,
+            @Parameter(description = "Data final (padrão: hoje)") @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate ate,
+            Authentication authentication) {
+        return agregadoService.resumoPorEmail(authentication.getName(), periodo, de, ate)
+                .map(ResponseEntity::ok)
                 .orElse(ResponseEntity.notFound().build());
     }
 
@@ -107,6 +244,14 @@ public class TreinoController {
         return ResponseEntity.ok(models);
     }
 
+    @GetMapping(produces = MediaType.APPLICATION_NDJSON_VALUE)
+    @Operation(summary = "Exportar todos os treinos em NDJSON", description = "Um TreinoResponseDTO por linha, escrito à medida que é lido do banco (sem links HATEOAS)")
+    @SecurityRequirement(name = "bearerAuth")
+    @ApiResponse(responseCode = "200", description = "Stream NDJSON de treinos")
+    public ResponseEntity<StreamingResponseBody> exportarTodos() {
+        return ndjsonWriter.responder(treinoService::exportarTodos);
+    }
+
     @GetMapping("/paginado")
     @Operation(summary = "Listar treinos com paginação", description = "Retorna treinos paginados ordenados por data")
     @SecurityRequirement(name = "bearerAuth")
@@ -4,6 +4,7 @@ import com.senai.projeto.mytraining.dto.request.UsuarioRequestDTO;
 import com.senai.projeto.mytraining.dto.response.UsuarioResponseDTO;
 import com.senai.projeto.mytraining.hateoas.UsuarioModelAssembler;
 import com.senai.projeto.mytraining.service.UsuarioService;
+import com.senai.projeto.mytraining.util.NdjsonWriter;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.Parameter;
 import io.swagger.v3.oas.annotations.media.Content;
@@ -16,8 +17,10 @@ import jakarta.validation.Valid;
 import lombok.RequiredArgsConstructor;
 import org.springframework.hateoas.EntityModel;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
 import java.util.List;
 import java.util.stream.Collectors;
@@ -30,6 +33,7 @@ import java.util.stream.Collectors;
 public class UsuarioController {
     private final UsuarioService usuarioService;
     private final UsuarioModelAssembler assembler;
+    private final NdjsonWriter ndjsonWriter;
 
     @PostMapping
     @Operation(summary = "Criar novo usuário", description = "Cria uma nova conta de usuário no sistema")
@@ -52,8 +56,9 @@ public class UsuarioController {
             @ApiResponse(responseCode = "401", description = "Não autenticado")
     })
     public ResponseEntity<EntityModel<UsuarioResponseDTO>> buscarPorId(
-            @Parameter(description = "ID do usuário") @PathVariable Long id) {
-        return usuarioService.buscarPorId(id)
+            @Parameter(description = "ID do usuário") @PathVariable Long id,
+            @Parameter(description = "Relações a incluir (desafios)") @RequestParam(defaultValue = "") List<String> expand) {
+        return usuarioService.buscarPorId(id, expandirDesafios(expand))
                 .map(usuario -> ResponseEntity.ok(assembler.toModel(usuario)))
                 .orElse(ResponseEntity.notFound().build());
     }
@@ -67,24 +72,34 @@ public class UsuarioController {
             @ApiResponse(responseCode = "401", description = "Não autenticado")
     })
     public ResponseEntity<EntityModel<UsuarioResponseDTO>> buscarPorEmail(
-            @Parameter(description = "Email do usuário") @PathVariable String email) {
-        return usuarioService.buscarPorEmail(email)
+            @Parameter(description = "Email do usuário") @PathVariable String email,
+            @Parameter(description = "Relações a incluir (desafios)") @RequestParam(defaultValue = "") List<String> expand) {
+        return usuarioService.buscarPorEmail(email, expandirDesafios(expand))
                 .map(usuario -> ResponseEntity.ok(assembler.toModel(usuario)))
                 .orElse(ResponseEntity.notFound().build());
     }
 
     @GetMapping
-    @Operation(summary = "Listar todos os usuários", description = "Retorna todos os usuários cadastrados no sistema")
+    @Operation(summary = "Listar todos os usuários", description = "Retorna todos os usuários cadastrados no sistema (desafios apenas com expand=desafios)")
     @SecurityRequirement(name = "bearerAuth")
     @ApiResponse(responseCode = "200", description = "Lista de usuários retornada")
-    public ResponseEntity<List<EntityModel<UsuarioResponseDTO>>> listarTodos() {
-        List<UsuarioResponseDTO> usuarios = usuarioService.listarTodos();
+    public ResponseEntity<List<EntityModel<UsuarioResponseDTO>>> listarTodos(
+            @Parameter(description = "Relações a incluir (desafios)") @RequestParam(defaultValue = "") List<String> expand) {
+        List<UsuarioResponseDTO> usuarios = usuarioService.listarTodos(expandirDesafios(expand));
         List<EntityModel<UsuarioResponseDTO>> models = usuarios.stream()
                 .map(assembler::toModel)
                 .collect(Collectors.toList());
         return ResponseEntity.ok(models);
     }
 
+    @GetMapping(produces = MediaType.APPLICATION_NDJSON_VALUE)
+    @Operation(summary = "Exportar todos os usuários em NDJSON", description = "Um UsuarioResponseDTO por linha, escrito à medida que é lido do banco (sem links HATEOAS)")
+    @SecurityRequirement(name = "bearerAuth")
+    @ApiResponse(responseCode = "200", description = "Stream NDJSON de usuários")
+    public ResponseEntity<StreamingResponseBody> exportarTodos() {
+        return ndjsonWriter.responder(usuarioService::exportarTodos);
+    }
+
     @PutMapping("/{id}")
     @Operation(summary = "Atualizar usuário", description = "Atualiza os dados de um usuário existente")
     @SecurityRequirement(name = "bearerAuth")
@@ -117,4 +132,9 @@ public class UsuarioController {
         }
         return ResponseEntity.notFound().build();
     }
+
+    // expand aceita tanto expand=desafios quanto listas separadas por vírgula
+    private boolean expandirDesafios(List<String> expand) {
+        return expand.stream().anyMatch(valor -> valor.trim().equalsIgnoreCase("desafios"));
+    }
 }
@@ -28,7 +28,7 @@ public record DesafioRequestDTO(
         Double objetivoValor,
 
         @PositiveOrZero(message = "Progresso atual deve ser um valor positivo ou zero")
-        @Schema(description = "Progresso atual em relação ao objetivo", example = "45.0")
+        @Schema(description = "Progresso atual, aceito apenas para CALORIAS; nas demais unidades é calculado a partir dos treinos e o valor enviado é ignorado", example = "45.0")
         Double progressoAtual,
 
         @NotNull(message = "Unidade é obrigatória")
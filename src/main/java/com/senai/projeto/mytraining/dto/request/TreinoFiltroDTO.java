@@ -0,0 +1,40 @@
+package com.senai.projeto.mytraining.dto.request;
+
+import com.senai.projeto.mytraining.model.TipoTreino;
+import io.swagger.v3.oas.annotations.media.Schema;
+
+import java.time.LocalDate;
+
+@Schema(description = "Filtros da busca de treinos do usuário; campos nulos não filtram")
+public record TreinoFiltroDTO(
+        @Schema(description = "Tipo do treino", example = "CORRIDA")
+        TipoTreino tipo,
+
+        @Schema(description = "Data inicial, inclusiva", example = "2024-01-01")
+        LocalDate de,
+
+        @Schema(description = "Data final, inclusiva", example = "2024-01-31")
+        LocalDate ate,
+
+        @Schema(description = "Duração mínima em minutos", example = "30")
+        Integer duracaoMinima,
+
+        @Schema(description = "Duração máxima em minutos", example = "60")
+        Integer duracaoMaxima,
+
+        @Schema(description = "Distância mínima em km", example = "5.0")
+        Double distanciaMinima,
+
+        @Schema(description = "Distância máxima em km", example = "10.0")
+        Double distanciaMaxima
+) {
+
+    // Intervalos invertidos não têm resultado possível e são tratados como requisição inválida
+    public boolean valido() {
+        return ordenado(de, ate) && ordenado(duracaoMinima, duracaoMaxima) && ordenado(distanciaMinima, distanciaMaxima);
+    }
+
+    private static <T extends Comparable<? super T>> boolean ordenado(T minimo, T maximo) {
+        return minimo == null || maximo == null || minimo.compareTo(maximo) <= 0;
+    }
+}
@@ -33,6 +33,6 @@ public record TreinoRequestDTO(
 
         @Valid
         @Schema(description = "Conjunto de exercícios do treino")
-        Set<ExercicioRequestDTO> exercicios
+        Set<ExercicioTreinoRequestDTO> exercicios
 ) {
 }
\ No newline at end of file
@@ -0,0 +1,17 @@
+package com.senai.projeto.mytraining.dto.response;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+
+import java.util.List;
+
+public record CursorPageResponseDTO<T>(
+        @Schema(description = "Itens da página")
+        List<T> conteudo,
+
+        @Schema(description = "Cursor opaco para a próxima página (null quando não há mais itens)", example = "MjAyNC0wMS0xN1QwNzozMHwz")
+        String proximoCursor,
+
+        @Schema(description = "Indica se existe próxima página", example = "true")
+        boolean temProximo
+) {
+}
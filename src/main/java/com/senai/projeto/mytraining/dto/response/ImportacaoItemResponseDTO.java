@@ -0,0 +1,30 @@
+package com.senai.projeto.mytraining.dto.response;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+
+import java.util.List;
+
+public record ImportacaoItemResponseDTO(
+        @Schema(description = "Posição do treino no corpo enviado (a partir de 0)", example = "0")
+        int indice,
+
+        @Schema(description = "Resultado do item", example = "CRIADO")
+        Status status,
+
+        @Schema(description = "ID do treino criado (apenas quando CRIADO)", example = "1001")
+        Long treinoId,
+
+        @Schema(description = "Erros de leitura, validação ou persistência do item")
+        List<String> erros
+) {
+
+    @Schema(description = "Resultados possíveis de um item importado")
+    public enum Status {
+        @Schema(description = "Treino persistido")
+        CRIADO,
+        @Schema(description = "Item rejeitado na leitura ou validação")
+        INVALIDO,
+        @Schema(description = "Falha ao persistir o lote do item")
+        ERRO
+    }
+}
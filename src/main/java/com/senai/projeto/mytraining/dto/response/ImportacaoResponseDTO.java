@@ -0,0 +1,20 @@
+package com.senai.projeto.mytraining.dto.response;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+
+import java.util.List;
+
+public record ImportacaoResponseDTO(
+        @Schema(description = "Total de itens lidos", example = "1000")
+        int total,
+
+        @Schema(description = "Treinos criados", example = "998")
+        int criados,
+
+        @Schema(description = "Itens rejeitados ou com erro", example = "2")
+        int rejeitados,
+
+        @Schema(description = "Resultado de cada item, na ordem de envio")
+        List<ImportacaoItemResponseDTO> itens
+) {
+}
@@ -0,0 +1,28 @@
+package com.senai.projeto.mytraining.dto.response;
+
+import com.senai.projeto.mytraining.model.TipoTreino;
+import com.senai.projeto.mytraining.model.TreinoAgregado;
+import io.swagger.v3.oas.annotations.media.Schema;
+
+import java.time.LocalDate;
+
+public record TreinoAgregadoResponseDTO(
+        @Schema(description = "Tipo dos treinos", example = "CORRIDA")
+        TipoTreino tipo,
+
+        @Schema(description = "Granularidade do período", example = "SEMANA")
+        TreinoAgregado.Periodo periodo,
+
+        @Schema(description = "Primeiro dia do período", example = "2024-01-15")
+        LocalDate inicio,
+
+        @Schema(description = "Quantidade de treinos", example = "3")
+        Long quantidade,
+
+        @Schema(description = "Duração total em minutos", example = "120")
+        Long duracaoMin,
+
+        @Schema(description = "Distância total em km", example = "21.5")
+        Double distanciaKm
+) {
+}
@@ -33,4 +33,14 @@ public record TreinoResponseDTO(
         @Schema(description = "Conjunto de exercícios do treino")
         Set<ExercicioResponseDto> exercicios
 ) {
+
+    // Usado pelas consultas de projeção (SELECT new ...), que não carregam a coleção de exercícios
+    public TreinoResponseDTO(Long id, LocalDateTime dataHora, TipoTreino tipo, Integer duracaoMin,
+                             String observacoes, Double distanciaKm, Long usuarioId, String usuarioNome) {
+        this(id, dataHora, tipo, duracaoMin, observacoes, distanciaKm, usuarioId, usuarioNome, Set.of());
+    }
+
+    public TreinoResponseDTO comExercicios(Set<ExercicioResponseDto> exercicios) {
+        return new TreinoResponseDTO(id, dataHora, tipo, duracaoMin, observacoes, distanciaKm, usuarioId, usuarioNome, exercicios);
+    }
 }
\ No newline at end of file
@@ -1,5 +1,6 @@
 package com.senai.projeto.mytraining.dto.response;
 
+import com.fasterxml.jackson.annotation.JsonInclude;
 import io.swagger.v3.oas.annotations.media.Schema;
 import java.util.Set;
 
@@ -16,7 +17,12 @@ public record UsuarioResponseDTO(
         @Schema(description = "Conjunto de roles do usuário")
         Set<RoleResponseDTO> roles,
 
-        @Schema(description = "Conjunto de desafios do usuário")
+        @JsonInclude(JsonInclude.Include.NON_NULL)
+        @Schema(description = "Conjunto de desafios do usuário (apenas com expand=desafios)")
         Set<DesafioResponseDTO> desafios
 ) {
+
+    public UsuarioResponseDTO comDesafios(Set<DesafioResponseDTO> desafios) {
+        return new UsuarioResponseDTO(id, nome, email, roles, desafios);
+    }
 }
\ No newline at end of file
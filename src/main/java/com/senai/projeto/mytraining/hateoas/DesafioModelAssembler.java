@@ -6,35 +6,28 @@ import org.springframework.hateoas.EntityModel;
 import org.springframework.hateoas.server.RepresentationModelAssembler;
 import org.springframework.stereotype.Component;
 
-import static org.springframework.hateoas.server.mvc.WebMvcLinkBuilder.*;
-
 @Component
 public class DesafioModelAssembler implements RepresentationModelAssembler<DesafioResponseDTO, EntityModel<DesafioResponseDTO>> {
 
+    private static final LinkTemplate BUSCAR = LinkTemplate.de(DesafioController.class, "buscarPorId");
+    private static final LinkTemplate ATUALIZAR = LinkTemplate.de(DesafioController.class, "atualizar");
+    private static final LinkTemplate DELETAR = LinkTemplate.de(DesafioController.class, "deletar");
+    private static final LinkTemplate LISTAR = LinkTemplate.de(DesafioController.class, "listarTodos");
+    private static final LinkTemplate MESMO_STATUS = LinkTemplate.de(DesafioController.class, "buscarPorStatus");
+
     @Override
     public EntityModel<DesafioResponseDTO> toModel(DesafioResponseDTO desafio) {
         EntityModel<DesafioResponseDTO> model = EntityModel.of(desafio);
 
-        model.add(linkTo(methodOn(DesafioController.class)
-                .buscarPorId(desafio.id()))
-                .withSelfRel());
-
-        model.add(linkTo(methodOn(DesafioController.class)
-                .atualizar(desafio.id(), null))
-                .withRel("atualizar"));
-
-        model.add(linkTo(methodOn(DesafioController.class)
-                .deletar(desafio.id()))
-                .withRel("deletar"));
-
-        model.add(linkTo(methodOn(DesafioController.class)
-                .listarTodos())
-                .withRel("all-desafios"));
+        model.add(BUSCAR.self(desafio.id()));
+        model.add(ATUALIZAR.link("atualizar", desafio.id()));
+        model.add(DELETAR.link("deletar", desafio.id()));
+        model.add(LISTAR.link("all-desafios"));
 
-        model.add(linkTo(methodOn(DesafioController.class)
-                .buscarPorStatus(desafio.status()))
-                .withRel("desafios-mesmo-status"));
+        if (desafio.status() != null) {
+            model.add(MESMO_STATUS.link("desafios-mesmo-status", desafio.status().name()));
+        }
 
         return model;
     }
-}
\ No newline at end of file
+}
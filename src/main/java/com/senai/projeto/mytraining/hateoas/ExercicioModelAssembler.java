@@ -7,37 +7,28 @@ import org.springframework.hateoas.EntityModel;
 import org.springframework.hateoas.server.RepresentationModelAssembler;
 import org.springframework.stereotype.Component;
 
-import static org.springframework.hateoas.server.mvc.WebMvcLinkBuilder.*;
-
 @Component
 public class ExercicioModelAssembler implements RepresentationModelAssembler<ExercicioResponseDto, EntityModel<ExercicioResponseDto>> {
 
+    private static final LinkTemplate BUSCAR = LinkTemplate.de(ExercicioController.class, "buscarPorId");
+    private static final LinkTemplate ATUALIZAR = LinkTemplate.de(ExercicioController.class, "atualizar");
+    private static final LinkTemplate DELETAR = LinkTemplate.de(ExercicioController.class, "deletar");
+    private static final LinkTemplate LISTAR = LinkTemplate.de(ExercicioController.class, "listarTodos");
+    private static final LinkTemplate TREINO = LinkTemplate.de(TreinoController.class, "buscarPorId");
+
     @Override
     public EntityModel<ExercicioResponseDto> toModel(ExercicioResponseDto exercicio) {
         EntityModel<ExercicioResponseDto> model = EntityModel.of(exercicio);
 
-        model.add(linkTo(methodOn(ExercicioController.class)
-                .buscarPorId(exercicio.id()))
-                .withSelfRel());
-
-        model.add(linkTo(methodOn(ExercicioController.class)
-                .atualizar(exercicio.id(), null))
-                .withRel("atualizar"));
-
-        model.add(linkTo(methodOn(ExercicioController.class)
-                .deletar(exercicio.id()))
-                .withRel("deletar"));
-
-        model.add(linkTo(methodOn(ExercicioController.class)
-                .listarTodos())
-                .withRel("all-exercicios"));
+        model.add(BUSCAR.self(exercicio.id()));
+        model.add(ATUALIZAR.link("atualizar", exercicio.id()));
+        model.add(DELETAR.link("deletar", exercicio.id()));
+        model.add(LISTAR.link("all-exercicios"));
 
         if (exercicio.aLong() != null) {
-            model.add(linkTo(methodOn(TreinoController.class)
-                    .buscarPorId(exercicio.aLong()))
-                    .withRel("treino"));
+            model.add(TREINO.link("treino", exercicio.aLong()));
         }
 
         return model;
     }
-}
\ No newline at end of file
+}
@@ -0,0 +1,90 @@
+package com.senai.projeto.mytraining.hateoas;
+
+import org.springframework.core.annotation.AnnotatedElementUtils;
+import org.springframework.hateoas.IanaLinkRelations;
+import org.springframework.hateoas.Link;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.context.request.RequestAttributes;
+import org.springframework.web.context.request.RequestContextHolder;
+import org.springframework.web.servlet.support.ServletUriComponentsBuilder;
+import org.springframework.web.util.UriUtils;
+
+import java.lang.reflect.Method;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+
+// Caminho de um endpoint lido uma única vez dos mapeamentos do controller. Substitui linkTo(methodOn(...)),
+// que cria um proxy e resolve a URI da requisição a cada link gerado.
+public final class LinkTemplate {
+
+    private static final String ATRIBUTO_BASE_URI = LinkTemplate.class.getName() + ".BASE_URI";
+
+    // Trechos literais entre as variáveis do caminho: n variáveis geram n + 1 trechos
+    private final String[] literais;
+
+    private LinkTemplate(String caminho) {
+        List<String> partes = new ArrayList<>();
+        int inicio = 0;
+        int abre;
+        while ((abre = caminho.indexOf('{', inicio)) >= 0) {
+            partes.add(caminho.substring(inicio, abre));
+            inicio = caminho.indexOf('}', abre) + 1;
+        }
+        partes.add(caminho.substring(inicio));
+        this.literais = partes.toArray(String[]::new);
+    }
+
+    public static LinkTemplate de(Class<?> controller, String metodo) {
+        String base = caminho(AnnotatedElementUtils.findMergedAnnotation(controller, RequestMapping.class));
+        for (Method candidato : controller.getMethods()) {
+            if (candidato.getName().equals(metodo)) {
+                RequestMapping mapeamento = AnnotatedElementUtils.findMergedAnnotation(candidato, RequestMapping.class);
+                if (mapeamento != null) {
+                    return new LinkTemplate(base + caminho(mapeamento));
+                }
+            }
+        }
+        throw new IllegalArgumentException("Endpoint não encontrado: " + controller.getSimpleName() + "." + metodo);
+    }
+
+    public Link self(Object... valores) {
+        return Link.of(expandir(baseUri(), valores), IanaLinkRelations.SELF);
+    }
+
+    public Link link(String rel, Object... valores) {
+        return Link.of(expandir(baseUri(), valores), rel);
+    }
+
+    public String expandir(String baseUri, Object... valores) {
+        if (valores.length != literais.length - 1) {
+            throw new IllegalArgumentException("Esperado " + (literais.length - 1) + " valores, recebido " + valores.length);
+        }
+
+        StringBuilder href = new StringBuilder(baseUri.length() + 48).append(baseUri).append(literais[0]);
+        for (int i = 0; i < valores.length; i++) {
+            href.append(UriUtils.encodePathSegment(String.valueOf(valores[i]), StandardCharsets.UTF_8))
+                    .append(literais[i + 1]);
+        }
+        return href.toString();
+    }
+
+    // Esquema, host, porta e context path resolvidos uma vez por requisição e reaproveitados por todos os links
+    public static String baseUri() {
+        RequestAttributes atributos = RequestContextHolder.getRequestAttributes();
+        if (atributos == null) {
+            return "";
+        }
+
+        Object base = atributos.getAttribute(ATRIBUTO_BASE_URI, RequestAttributes.SCOPE_REQUEST);
+        if (base == null) {
+            base = ServletUriComponentsBuilder.fromCurrentServletMapping().build().toUriString();
+            atributos.setAttribute(ATRIBUTO_BASE_URI, base, RequestAttributes.SCOPE_REQUEST);
+        }
+        return (String) base;
+    }
+
+    private static String caminho(RequestMapping mapeamento) {
+        return mapeamento != null && mapeamento.path().length > 0 ? mapeamento.path()[0] : "";
+    }
+}
@@ -6,35 +6,25 @@ import org.springframework.hateoas.EntityModel;
 import org.springframework.hateoas.server.RepresentationModelAssembler;
 import org.springframework.stereotype.Component;
 
-import static org.springframework.hateoas.server.mvc.WebMvcLinkBuilder.*;
-
 @Component
 public class RoleModelAssembler implements RepresentationModelAssembler<RoleResponseDTO, EntityModel<RoleResponseDTO>> {
 
+    private static final LinkTemplate BUSCAR = LinkTemplate.de(RoleController.class, "buscarPorId");
+    private static final LinkTemplate ATUALIZAR = LinkTemplate.de(RoleController.class, "atualizar");
+    private static final LinkTemplate DELETAR = LinkTemplate.de(RoleController.class, "deletar");
+    private static final LinkTemplate LISTAR = LinkTemplate.de(RoleController.class, "listarTodas");
+    private static final LinkTemplate BUSCAR_POR_NOME = LinkTemplate.de(RoleController.class, "buscarPorNome");
+
     @Override
     public EntityModel<RoleResponseDTO> toModel(RoleResponseDTO role) {
         EntityModel<RoleResponseDTO> model = EntityModel.of(role);
 
-        model.add(linkTo(methodOn(RoleController.class)
-                .buscarPorId(role.id()))
-                .withSelfRel());
-
-        model.add(linkTo(methodOn(RoleController.class)
-                .atualizar(role.id(), null))
-                .withRel("atualizar"));
-
-        model.add(linkTo(methodOn(RoleController.class)
-                .deletar(role.id()))
-                .withRel("deletar"));
-
-        model.add(linkTo(methodOn(RoleController.class)
-                .listarTodas())
-                .withRel("all-roles"));
-
-        model.add(linkTo(methodOn(RoleController.class)
-                .buscarPorNome(role.nome()))
-                .withRel("buscar-por-nome"));
+        model.add(BUSCAR.self(role.id()));
+        model.add(ATUALIZAR.link("atualizar", role.id()));
+        model.add(DELETAR.link("deletar", role.id()));
+        model.add(LISTAR.link("all-roles"));
+        model.add(BUSCAR_POR_NOME.link("buscar-por-nome", role.nome()));
 
         return model;
     }
-}
\ No newline at end of file
+}
@@ -1,48 +1,38 @@
 package com.senai.projeto.mytraining.hateoas;
 
+import com.senai.projeto.mytraining.controller.ExercicioController;
 import com.senai.projeto.mytraining.controller.TreinoController;
 import com.senai.projeto.mytraining.controller.UsuarioController;
-import com.senai.projeto.mytraining.controller.ExercicioController;
 import com.senai.projeto.mytraining.dto.response.TreinoResponseDTO;
 import org.springframework.hateoas.EntityModel;
 import org.springframework.hateoas.server.RepresentationModelAssembler;
 import org.springframework.stereotype.Component;
 
-import static org.springframework.hateoas.server.mvc.WebMvcLinkBuilder.*;
-
 @Component
 public class TreinoModelAssembler implements RepresentationModelAssembler<TreinoResponseDTO, EntityModel<TreinoResponseDTO>> {
 
+    private static final LinkTemplate BUSCAR = LinkTemplate.de(TreinoController.class, "buscarPorId");
+    private static final LinkTemplate ATUALIZAR = LinkTemplate.de(TreinoController.class, "atualizar");
+    private static final LinkTemplate DELETAR = LinkTemplate.de(TreinoController.class, "deletar");
+    private static final LinkTemplate LISTAR = LinkTemplate.de(TreinoController.class, "listarTodos");
+    private static final LinkTemplate USUARIO = LinkTemplate.de(UsuarioController.class, "buscarPorId");
+    private static final LinkTemplate EXERCICIOS = LinkTemplate.de(ExercicioController.class, "listarPorTreino");
+
     @Override
     public EntityModel<TreinoResponseDTO> toModel(TreinoResponseDTO treino) {
         EntityModel<TreinoResponseDTO> model = EntityModel.of(treino);
 
-        model.add(linkTo(methodOn(TreinoController.class)
-                .buscarPorId(treino.id()))
-                .withSelfRel());
-
-        model.add(linkTo(methodOn(TreinoController.class)
-                .atualizar(treino.id(), null))
-                .withRel("atualizar"));
-
-        model.add(linkTo(methodOn(TreinoController.class)
-                .deletar(treino.id()))
-                .withRel("deletar"));
-
-        model.add(linkTo(methodOn(TreinoController.class)
-                .listarTodos())
-                .withRel("all-treinos"));
+        model.add(BUSCAR.self(treino.id()));
+        model.add(ATUALIZAR.link("atualizar", treino.id()));
+        model.add(DELETAR.link("deletar", treino.id()));
+        model.add(LISTAR.link("all-treinos"));
 
         if (treino.usuarioId() != null) {
-            model.add(linkTo(methodOn(UsuarioController.class)
-                    .buscarPorId(treino.usuarioId()))
-                    .withRel("usuario"));
+            model.add(USUARIO.link("usuario", treino.usuarioId()));
         }
 
-        model.add(linkTo(methodOn(ExercicioController.class)
-                .listarPorTreino(treino.id()))
-                .withRel("exercicios"));
+        model.add(EXERCICIOS.link("exercicios", treino.id()));
 
         return model;
     }
-}
\ No newline at end of file
+}
@@ -1,47 +1,33 @@
 package com.senai.projeto.mytraining.hateoas;
 
-import com.senai.projeto.mytraining.controller.UsuarioController;
 import com.senai.projeto.mytraining.controller.TreinoController;
-import com.senai.projeto.mytraining.controller.DesafioController;
+import com.senai.projeto.mytraining.controller.UsuarioController;
 import com.senai.projeto.mytraining.dto.response.UsuarioResponseDTO;
 import org.springframework.hateoas.EntityModel;
 import org.springframework.hateoas.server.RepresentationModelAssembler;
-import org.springframework.security.core.Authentication;
 import org.springframework.stereotype.Component;
 
-import static org.springframework.hateoas.server.mvc.WebMvcLinkBuilder.*;
-
 @Component
 public class UsuarioModelAssembler implements RepresentationModelAssembler<UsuarioResponseDTO, EntityModel<UsuarioResponseDTO>> {
 
+    private static final LinkTemplate BUSCAR = LinkTemplate.de(UsuarioController.class, "buscarPorId");
+    private static final LinkTemplate ATUALIZAR = LinkTemplate.de(UsuarioController.class, "atualizar");
+    private static final LinkTemplate DELETAR = LinkTemplate.de(UsuarioController.class, "deletar");
+    private static final LinkTemplate LISTAR = LinkTemplate.de(UsuarioController.class, "listarTodos");
+    private static final LinkTemplate TREINOS = LinkTemplate.de(TreinoController.class, "listarPorUsuario");
+    private static final LinkTemplate BUSCAR_POR_EMAIL = LinkTemplate.de(UsuarioController.class, "buscarPorEmail");
+
     @Override
     public EntityModel<UsuarioResponseDTO> toModel(UsuarioResponseDTO usuario) {
         EntityModel<UsuarioResponseDTO> model = EntityModel.of(usuario);
 
-        model.add(linkTo(methodOn(UsuarioController.class)
-                .buscarPorId(usuario.id()))
-                .withSelfRel());
-
-        model.add(linkTo(methodOn(UsuarioController.class)
-                .atualizar(usuario.id(), null))
-                .withRel("atualizar"));
-
-        model.add(linkTo(methodOn(UsuarioController.class)
-                .deletar(usuario.id()))
-                .withRel("deletar"));
-
-        model.add(linkTo(methodOn(UsuarioController.class)
-                .listarTodos())
-                .withRel("all-usuarios"));
-
-        model.add(linkTo(methodOn(TreinoController.class)
-                .listarPorUsuario(usuario.id()))
-                .withRel("treinos"));
-
-        model.add(linkTo(methodOn(UsuarioController.class)
-                .buscarPorEmail(usuario.email()))
-                .withRel("buscar-por-email"));
+        model.add(BUSCAR.self(usuario.id()));
+        model.add(ATUALIZAR.link("atualizar", usuario.id()));
+        model.add(DELETAR.link("deletar", usuario.id()));
+        model.add(LISTAR.link("all-usuarios"));
+        model.add(TREINOS.link("treinos", usuario.id()));
+        model.add(BUSCAR_POR_EMAIL.link("buscar-por-email", usuario.email()));
 
         return model;
     }
-}
\ No newline at end of file
+}
@@ -24,7 +24,7 @@ public class DesafioMapper {
         desafio.setDataInicio(dto.dataInicio());
         desafio.setDataFim(dto.dataFim());
         desafio.setObjetivoValor(dto.objetivoValor());
-        desafio.setProgressoAtual(dto.progressoAtual() != null ? dto.progressoAtual() : 0.0);
+        desafio.setProgressoAtual(informadoPeloCliente(dto) ? dto.progressoAtual() : 0.0);
         desafio.setUnidade(dto.unidade());
         desafio.setStatus(dto.status());
 
@@ -43,7 +43,7 @@ public class DesafioMapper {
         desafio.setDataInicio(dto.dataInicio());
         desafio.setDataFim(dto.dataFim());
         desafio.setObjetivoValor(dto.objetivoValor());
-        desafio.setProgressoAtual(dto.progressoAtual() != null ? dto.progressoAtual() : 0.0);
+        desafio.setProgressoAtual(informadoPeloCliente(dto) ? dto.progressoAtual() : 0.0);
         desafio.setUnidade(dto.unidade());
         desafio.setStatus(dto.status());
         desafio.setUsuario(usuario);
@@ -81,8 +81,16 @@ public class DesafioMapper {
         desafio.setDataInicio(dto.dataInicio());
         desafio.setDataFim(dto.dataFim());
         desafio.setObjetivoValor(dto.objetivoValor());
-        desafio.setProgressoAtual(dto.progressoAtual() != null ? dto.progressoAtual() : desafio.getProgressoAtual());
+        if (informadoPeloCliente(dto)) {
+            desafio.setProgressoAtual(dto.progressoAtual());
+        }
         desafio.setUnidade(dto.unidade());
         desafio.setStatus(dto.status());
     }
-}
\ No newline at end of file
+
+    // Progresso em KM, MINUTOS, REPETICOES e SERIES é derivado dos treinos (DesafioProgressoService);
+    // só CALORIAS, que não vem dos treinos, aceita o valor enviado pelo cliente
+    private boolean informadoPeloCliente(DesafioRequestDTO dto) {
+        return dto.unidade() == Desafio.Unidade.CALORIAS && dto.progressoAtual() != null;
+    }
+}
@@ -1,6 +1,7 @@
 package com.senai.projeto.mytraining.mapper;
 
 import com.senai.projeto.mytraining.dto.request.ExercicioRequestDTO;
+import com.senai.projeto.mytraining.dto.request.ExercicioTreinoRequestDTO;
 import com.senai.projeto.mytraining.dto.response.ExercicioResponseDto;
 import com.senai.projeto.mytraining.model.Exercicio;
 import com.senai.projeto.mytraining.model.Treino;
@@ -29,6 +30,23 @@ public class ExercicioMapper {
         return exercicio;
     }
 
+    @Operation(summary = "Converter exercício aninhado para Exercicio", description = "Mapeia exercício enviado dentro de um treino e associa ao treino")
+    public Exercicio toEntity(ExercicioTreinoRequestDTO dto, Treino treino) {
+        if (dto == null) {
+            return null;
+        }
+
+        Exercicio exercicio = new Exercicio();
+        exercicio.setNome(dto.nome());
+        exercicio.setSeries(dto.series());
+        exercicio.setRepeticoes(dto.repeticoes());
+        exercicio.setCargaKg(dto.cargaKg());
+        exercicio.setObservacoes(dto.observacoes());
+        exercicio.setTreino(treino);
+
+        return exercicio;
+    }
+
     @Operation(summary = "Converter Exercicio para ExercicioResponseDto", description = "Mapeia entidade JPA para resposta da API")
     public ExercicioResponseDto toResponseDTO(Exercicio exercicio) {
         if (exercicio == null) {
@@ -58,4 +76,17 @@ public class ExercicioMapper {
         exercicio.setCargaKg(dto.cargaKg());
         exercicio.setObservacoes(dto.observacoes());
     }
+
+    @Operation(summary = "Atualizar Exercicio a partir de exercício aninhado", description = "Atualiza campos de exercício existente do treino")
+    public void updateEntityFromDTO(ExercicioTreinoRequestDTO dto, Exercicio exercicio) {
+        if (dto == null || exercicio == null) {
+            return;
+        }
+
+        exercicio.setNome(dto.nome());
+        exercicio.setSeries(dto.series());
+        exercicio.setRepeticoes(dto.repeticoes());
+        exercicio.setCargaKg(dto.cargaKg());
+        exercicio.setObservacoes(dto.observacoes());
+    }
 }
@@ -1,7 +1,9 @@
 package com.senai.projeto.mytraining.mapper;
 
+import com.senai.projeto.mytraining.dto.request.ExercicioTreinoRequestDTO;
 import com.senai.projeto.mytraining.dto.request.TreinoRequestDTO;
 import com.senai.projeto.mytraining.dto.response.TreinoResponseDTO;
+import com.senai.projeto.mytraining.model.Exercicio;
 import com.senai.projeto.mytraining.model.Treino;
 import com.senai.projeto.mytraining.model.Usuario;
 import io.swagger.v3.oas.annotations.Operation;
@@ -9,6 +11,11 @@ import io.swagger.v3.oas.annotations.tags.Tag;
 import lombok.RequiredArgsConstructor;
 import org.springframework.stereotype.Component;
 
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Function;
 import java.util.stream.Collectors;
 
 @Component
@@ -32,6 +39,13 @@ public class TreinoMapper {
         treino.setDistanciaKm(dto.distanciaKm());
         treino.setUsuario(usuario);
 
+        // Exercícios aninhados são persistidos em cascata junto com o treino
+        if (dto.exercicios() != null) {
+            dto.exercicios().stream()
+                    .map(exercicioDto -> exercicioMapper.toEntity(exercicioDto, treino))
+                    .forEach(treino.getExercicios()::add);
+        }
+
         return treino;
     }
 
@@ -57,7 +71,7 @@ public class TreinoMapper {
         );
     }
 
-    @Operation(summary = "Atualizar Treino a partir de DTO", description = "Atualiza campos de entidade existente")
+    @Operation(summary = "Atualizar Treino a partir de DTO", description = "Atualiza campos de entidade existente e sincroniza os exercícios por diferença")
     public void updateEntityFromDTO(TreinoRequestDTO dto, Treino treino) {
         if (dto == null || treino == null) {
             return;
@@ -68,5 +82,31 @@ public class TreinoMapper {
         treino.setDuracaoMin(dto.duracaoMin());
         treino.setObservacoes(dto.observacoes());
         treino.setDistanciaKm(dto.distanciaKm());
+
+        // exercicios ausente mantém os exercícios atuais; uma lista (mesmo vazia) passa a ser o conjunto completo
+        if (dto.exercicios() != null) {
+            sincronizarExercicios(dto.exercicios(), treino);
+        }
+    }
+
+    // Exercícios com id existente são atualizados (só geram UPDATE se algo mudou), os sem id (ou com id
+    // de outro treino) são incluídos e os que não vieram no DTO são removidos via orphanRemoval
+    private void sincronizarExercicios(Collection<ExercicioTreinoRequestDTO> exercicioDtos, Treino treino) {
+        Map<Long, Exercicio> atuais = treino.getExercicios().stream()
+                .filter(exercicio -> exercicio.getId() != null)
+                .collect(Collectors.toMap(Exercicio::getId, Function.identity()));
+
+        List<Exercicio> novos = new ArrayList<>();
+        for (ExercicioTreinoRequestDTO exercicioDto : exercicioDtos) {
+            Exercicio existente = exercicioDto.id() != null ? atuais.remove(exercicioDto.id()) : null;
+            if (existente != null) {
+                exercicioMapper.updateEntityFromDTO(exercicioDto, existente);
+            } else {
+                novos.add(exercicioMapper.toEntity(exercicioDto, treino));
+            }
+        }
+
+        treino.getExercicios().removeAll(atuais.values());
+        treino.getExercicios().addAll(novos);
     }
 }
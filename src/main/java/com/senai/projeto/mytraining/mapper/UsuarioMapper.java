@@ -6,8 +6,13 @@ import com.senai.projeto.mytraining.model.Usuario;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.tags.Tag;
 import lombok.RequiredArgsConstructor;
+import org.springframework.security.core.GrantedAuthority;
+import org.springframework.security.core.authority.SimpleGrantedAuthority;
+import org.springframework.security.core.userdetails.User;
+import org.springframework.security.core.userdetails.UserDetails;
 import org.springframework.stereotype.Component;
 
+import java.util.List;
 import java.util.stream.Collectors;
 
 @Component
@@ -16,7 +21,6 @@ import java.util.stream.Collectors;
 public class UsuarioMapper {
 
     private final RoleMapper roleMapper;
-    private final DesafioMapper desafioMapper;
 
     @Operation(summary = "Converter UsuarioRequestDTO para Usuario", description = "Mapeia dados de entrada para entidade JPA")
     public Usuario toEntity(UsuarioRequestDTO dto) {
@@ -32,7 +36,8 @@ public class UsuarioMapper {
         return usuario;
     }
 
-    @Operation(summary = "Converter Usuario para UsuarioResponseDTO", description = "Mapeia entidade JPA para resposta da API, incluindo roles e desafios")
+    // Resumo: desafios ficam de fora para que o payload não cresça com o histórico do usuário
+    @Operation(summary = "Converter Usuario para UsuarioResponseDTO", description = "Mapeia entidade JPA para resposta da API, incluindo roles (sem desafios)")
     public UsuarioResponseDTO toResponseDTO(Usuario usuario) {
         if (usuario == null) {
             return null;
@@ -46,10 +51,24 @@ public class UsuarioMapper {
                         usuario.getRoles().stream()
                                 .map(roleMapper::toResponseDTO)
                                 .collect(Collectors.toSet()) : null,
-                usuario.getDesafios() != null ?
-                        usuario.getDesafios().stream()
-                                .map(desafioMapper::toResponseDTO)
-                                .collect(Collectors.toSet()) : null
+                null
+        );
+    }
+
+    @Operation(summary = "Converter Usuario para UserDetails", description = "Monta o principal do Spring Security com as roles prefixadas com ROLE_")
+    public UserDetails toUserDetails(Usuario usuario) {
+        List<GrantedAuthority> authorities = usuario.getRoles().stream()
+                .map(role -> {
+                    String nome = role.getNome();
+                    String withPrefix = nome != null && nome.startsWith("ROLE_") ? nome : "ROLE_" + nome;
+                    return (GrantedAuthority) new SimpleGrantedAuthority(withPrefix);
+                })
+                .collect(Collectors.toList());
+
+        return new User(
+                usuario.getEmail(),
+                usuario.getSenha(),
+                authorities
         );
     }
 
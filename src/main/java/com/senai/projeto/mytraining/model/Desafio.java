@@ -15,7 +15,8 @@ import java.time.LocalDate;
 public class Desafio {
 
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "desafio_seq")
+    @SequenceGenerator(name = "desafio_seq", sequenceName = "desafio_seq", allocationSize = 50)
     @Schema(description = "ID único do desafio", example = "1")
     private Long id;
 
@@ -13,7 +13,8 @@ import lombok.*;
 public class Exercicio {
 
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "exercicio_seq")
+    @SequenceGenerator(name = "exercicio_seq", sequenceName = "exercicio_seq", allocationSize = 50)
     @Schema(description = "ID único do exercício", example = "1")
     private Long id;
 
@@ -0,0 +1,50 @@
+package com.senai.projeto.mytraining.model;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+import jakarta.persistence.*;
+import lombok.*;
+
+import java.time.Instant;
+
+@Entity
+@Table(name = "revogacao_jwt", indexes = @Index(name = "idx_revogacao_jwt_revogado_em", columnList = "revogado_em"))
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+@Schema(description = "RevogacaoJwt - Revogação de tokens compartilhada entre as instâncias da aplicação")
+public class RevogacaoJwt {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "revogacao_jwt_seq")
+    @SequenceGenerator(name = "revogacao_jwt_seq", sequenceName = "revogacao_jwt_seq", allocationSize = 50)
+    @Schema(description = "ID único da revogação", example = "1")
+    private Long id;
+
+    @Enumerated(EnumType.STRING)
+    @Column(nullable = false, length = 10)
+    @Schema(description = "Alvo da revogação", example = "USUARIO")
+    private Tipo tipo;
+
+    @Column(nullable = false)
+    @Schema(description = "Subject (email) do usuário ou nome da role", example = "joao@test.com")
+    private String chave;
+
+    @Column(name = "revogado_em", nullable = false)
+    @Schema(description = "Tokens emitidos até este instante (inclusive) são rejeitados")
+    private Instant revogadoEm;
+
+    public RevogacaoJwt(Tipo tipo, String chave, Instant revogadoEm) {
+        this.tipo = tipo;
+        this.chave = chave;
+        this.revogadoEm = revogadoEm;
+    }
+
+    @Schema(description = "Alvos de revogação")
+    public enum Tipo {
+        @Schema(description = "Todos os tokens de um usuário")
+        USUARIO,
+        @Schema(description = "Todos os tokens que carregam uma role")
+        ROLE
+    }
+}
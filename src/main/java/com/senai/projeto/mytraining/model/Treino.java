@@ -3,6 +3,7 @@ package com.senai.projeto.mytraining.model;
 import io.swagger.v3.oas.annotations.media.Schema;
 import jakarta.persistence.*;
 import lombok.*;
+import org.hibernate.annotations.BatchSize;
 
 import java.time.LocalDateTime;
 import java.util.HashSet;
@@ -17,7 +18,8 @@ import java.util.Set;
 public class Treino {
 
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "treino_seq")
+    @SequenceGenerator(name = "treino_seq", sequenceName = "treino_seq", allocationSize = 50)
     @Schema(description = "ID único do treino", example = "1")
     private Long id;
 
@@ -48,6 +50,7 @@ public class Treino {
     private Usuario usuario;
 
     @OneToMany(mappedBy = "treino", cascade = CascadeType.ALL, orphanRemoval = true)
+    @BatchSize(size = 50)
     @Schema(description = "Exercícios realizados neste treino")
     private Set<Exercicio> exercicios = new HashSet<>();
 }
\ No newline at end of file
@@ -0,0 +1,80 @@
+package com.senai.projeto.mytraining.model;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+import jakarta.persistence.*;
+import lombok.*;
+import org.hibernate.annotations.OnDelete;
+import org.hibernate.annotations.OnDeleteAction;
+
+import java.time.DayOfWeek;
+import java.time.LocalDate;
+import java.time.temporal.TemporalAdjusters;
+
+@Entity
+@Table(name = "treino_agregado", uniqueConstraints = @UniqueConstraint(
+        name = "uk_treino_agregado",
+        columnNames = {"usuario_id", "periodo", "inicio", "tipo"}
+))
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+@Schema(description = "TreinoAgregado - Totais de treinos de um usuário por tipo e período")
+public class TreinoAgregado {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "treino_agregado_seq")
+    @SequenceGenerator(name = "treino_agregado_seq", sequenceName = "treino_agregado_seq", allocationSize = 50)
+    @Schema(description = "ID único do agregado", example = "1")
+    private Long id;
+
+    @ManyToOne(fetch = FetchType.LAZY)
+    @JoinColumn(name = "usuario_id", nullable = false)
+    @OnDelete(action = OnDeleteAction.CASCADE)
+    @Schema(description = "Usuário dono dos treinos agregados")
+    private Usuario usuario;
+
+    @Enumerated(EnumType.STRING)
+    @Column(nullable = false)
+    @Schema(description = "Tipo dos treinos agregados", example = "CORRIDA")
+    private TipoTreino tipo;
+
+    @Enumerated(EnumType.STRING)
+    @Column(nullable = false, length = 10)
+    @Schema(description = "Granularidade do agregado", example = "SEMANA")
+    private Periodo periodo;
+
+    @Column(nullable = false)
+    @Schema(description = "Primeiro dia do período", example = "2024-01-15")
+    private LocalDate inicio;
+
+    @Column(nullable = false)
+    @Schema(description = "Quantidade de treinos no período", example = "3")
+    private Long quantidade = 0L;
+
+    @Column(name = "duracao_min", nullable = false)
+    @Schema(description = "Soma da duração dos treinos em minutos", example = "120")
+    private Long duracaoMin = 0L;
+
+    @Column(name = "distancia_km", nullable = false)
+    @Schema(description = "Soma da distância dos treinos em km", example = "21.5")
+    private Double distanciaKm = 0.0;
+
+    @Schema(description = "Granularidades de agregação")
+    public enum Periodo {
+        @Schema(description = "Dia")
+        DIA,
+        @Schema(description = "Semana (segunda a domingo)")
+        SEMANA,
+        @Schema(description = "Mês")
+        MES;
+
+        public LocalDate inicioDe(LocalDate data) {
+            return switch (this) {
+                case DIA -> data;
+                case SEMANA -> data.with(TemporalAdjusters.previousOrSame(DayOfWeek.MONDAY));
+                case MES -> data.withDayOfMonth(1);
+            };
+        }
+    }
+}
@@ -3,6 +3,10 @@ package com.senai.projeto.mytraining.model;
 import io.swagger.v3.oas.annotations.media.Schema;
 import jakarta.persistence.*;
 import lombok.*;
+import org.hibernate.annotations.BatchSize;
+import org.hibernate.annotations.Cache;
+import org.hibernate.annotations.CacheConcurrencyStrategy;
+import org.hibernate.annotations.ColumnDefault;
 
 import java.util.HashSet;
 import java.util.Set;
@@ -16,7 +20,8 @@ import java.util.Set;
 public class Usuario {
 
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "usuario_seq")
+    @SequenceGenerator(name = "usuario_seq", sequenceName = "usuario_seq", allocationSize = 50)
     @Schema(description = "ID único do usuário", example = "1")
     private Long id;
 
@@ -32,7 +37,16 @@ public class Usuario {
     @Schema(description = "Senha criptografada do usuário")
     private String senha;
 
+    // Alterado apenas pelo UPDATE de UsuarioRepository.incrementarVersaoDados; updatable = false impede
+    // que um save do usuário sobrescreva o contador com o valor lido antes
+    @Column(name = "versao_dados", nullable = false, updatable = false)
+    @ColumnDefault("0")
+    @Schema(description = "Versão dos dados de treinos e desafios, base do ETag das listas do usuário", example = "0")
+    private Long versaoDados = 0L;
+
+    // Só os ids das roles ficam nesta região; as entidades vêm da região role
     @ManyToMany(fetch = FetchType.EAGER)
+    @Cache(usage = CacheConcurrencyStrategy.READ_WRITE, region = "usuario-roles")
     @JoinTable(
             name = "usuario_roles",
             joinColumns = @JoinColumn(name = "usuario_id"),
@@ -42,6 +56,7 @@ public class Usuario {
     private Set<Role> roles = new HashSet<>();
 
     @OneToMany(mappedBy = "usuario", cascade = CascadeType.ALL, orphanRemoval = true)
+    @BatchSize(size = 50)
     @Schema(description = "Desafios criados pelo usuário")
     private Set<Desafio> desafios = new HashSet<>();
 
@@ -1,20 +1,101 @@
 package com.senai.projeto.mytraining.repository;
 
+import com.senai.projeto.mytraining.dto.response.DesafioResponseDTO;
 import com.senai.projeto.mytraining.model.Desafio;
+import com.senai.projeto.mytraining.util.ExportacaoEmLotes;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.tags.Tag;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.time.LocalDate;
+import java.util.Collection;
 import java.util.List;
+import java.util.stream.Stream;
 
 @Repository
 @Tag(name = "DesafioRepository", description = "Repositório para acesso de dados de Desafio")
 public interface DesafioRepository extends JpaRepository<Desafio, Long> {
 
+    // Projeção direta no DTO: leitura sem entidades gerenciadas nem snapshots de dirty checking
+    String PROJECAO_DESAFIO = "SELECT new com.senai.projeto.mytraining.dto.response.DesafioResponseDTO(" +
+            "d.id, d.titulo, d.descricao, d.dataInicio, d.dataFim, d.objetivoValor, d.progressoAtual, d.unidade, d.status) " +
+            "FROM Desafio d ";
+
+    @Operation(summary = "Listar resumos de desafios", description = "Retorna todos os desafios projetados diretamente no DTO de resposta")
+    @Query(PROJECAO_DESAFIO)
+    List<DesafioResponseDTO> findResumos();
+
+    @Operation(summary = "Listar resumos de desafios paginados", description = "Retorna desafios paginados projetados diretamente no DTO de resposta")
+    @Query(value = PROJECAO_DESAFIO, countQuery = "SELECT count(d) FROM Desafio d")
+    Page<DesafioResponseDTO> findResumos(Pageable pageable);
+
     @Operation(summary = "Buscar desafios por status", description = "Retorna todos os desafios com um status específico (PENDENTE, CONCLUIDO, CANCELADO)")
-    List<Desafio> findByStatus(Desafio.Status status);
+    @Query(PROJECAO_DESAFIO + "WHERE d.status = :status")
+    List<DesafioResponseDTO> findResumosPorStatus(@Param("status") Desafio.Status status);
 
     @Operation(summary = "Buscar desafios por usuário", description = "Retorna todos os desafios de um usuário específico")
-    List<Desafio> findByUsuarioId(Long usuarioId);
-}
\ No newline at end of file
+    @Query(PROJECAO_DESAFIO + "WHERE d.usuario.id = :usuarioId")
+    List<DesafioResponseDTO> findResumosPorUsuario(@Param("usuarioId") Long usuarioId);
+
+    @Operation(summary = "Buscar desafios de vários usuários", description = "Desafios de um conjunto de usuários em uma única consulta, para expandir listas de usuários")
+    List<Desafio> findByUsuarioIdIn(Collection<Long> usuarioIds);
+
+    @Operation(summary = "Buscar janelas dos desafios do usuário por status", description = "Id, unidade e período dos desafios, sem carregar entidades")
+    @Query("SELECT d.id AS id, d.unidade AS unidade, d.dataInicio AS dataInicio, d.dataFim AS dataFim " +
+            "FROM Desafio d WHERE d.usuario.id = :usuarioId AND d.status = :status")
+    List<Janela> findJanelasPorUsuarioEStatus(@Param("usuarioId") Long usuarioId,
+                                             @Param("status") Desafio.Status status);
+
+    @Operation(summary = "Buscar janelas dos desafios ativos na data", description = "Desafios do usuário com o status informado cujo período cobre a data")
+    @Query("SELECT d.id AS id, d.unidade AS unidade, d.dataInicio AS dataInicio, d.dataFim AS dataFim " +
+            "FROM Desafio d WHERE d.usuario.id = :usuarioId AND d.status = :status " +
+            "AND (d.dataInicio IS NULL OR d.dataInicio <= :data) AND (d.dataFim IS NULL OR d.dataFim >= :data)")
+    List<Janela> findJanelasAtivasNaData(@Param("usuarioId") Long usuarioId,
+                                         @Param("status") Desafio.Status status,
+                                         @Param("data") LocalDate data);
+
+    // Soma no próprio banco: treinos salvos ao mesmo tempo para o mesmo usuário não perdem incrementos
+    @Operation(summary = "Somar no progresso", description = "Soma o delta no progresso do desafio, sem ficar negativo, se ele ainda estiver com o status informado")
+    @Modifying(flushAutomatically = true)
+    @Query("UPDATE Desafio d SET d.progressoAtual = GREATEST(0.0, COALESCE(d.progressoAtual, 0.0) + :delta) " +
+            "WHERE d.id = :id AND d.status = :status")
+    int somarProgresso(@Param("id") Long id,
+                       @Param("delta") Double delta,
+                       @Param("status") Desafio.Status status);
+
+    @Operation(summary = "Concluir desafios atingidos", description = "Passa para o novo status os desafios informados cujo progresso alcançou o objetivo")
+    @Modifying
+    @Query("UPDATE Desafio d SET d.status = :novoStatus " +
+            "WHERE d.id IN :ids AND d.status = :status AND d.progressoAtual >= d.objetivoValor")
+    int atualizarStatusAtingidos(@Param("ids") Collection<Long> ids,
+                                 @Param("status") Desafio.Status status,
+                                 @Param("novoStatus") Desafio.Status novoStatus);
+
+    @Operation(summary = "Percorrer todos os desafios em streaming", description = "Cursor no banco com fetch size fixo, sem materializar a tabela inteira")
+    @QueryHints({
+            @QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "" + ExportacaoEmLotes.TAMANHO_LOTE),
+            @QueryHint(name = HibernateHints.HINT_READ_ONLY, value = "true")
+    })
+    @Query("SELECT d FROM Desafio d ORDER BY d.id")
+    Stream<Desafio> streamTodos();
+
+    // Projeção usada pelo progresso incremental: só o necessário para saber se um treino conta para o desafio
+    interface Janela {
+        Long getId();
+
+        Desafio.Unidade getUnidade();
+
+        LocalDate getDataInicio();
+
+        LocalDate getDataFim();
+    }
+}
@@ -1,17 +1,63 @@
 package com.senai.projeto.mytraining.repository;
 
+import com.senai.projeto.mytraining.dto.response.ExercicioResponseDto;
 import com.senai.projeto.mytraining.model.Exercicio;
+import com.senai.projeto.mytraining.util.ExportacaoEmLotes;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.tags.Tag;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.time.LocalDateTime;
+import java.util.Collection;
 import java.util.List;
+import java.util.stream.Stream;
 
 @Repository
 @Tag(name = "ExercicioRepository", description = "Repositório para acesso de dados de Exercício")
 public interface ExercicioRepository extends JpaRepository<Exercicio, Long> {
 
+    // Projeção direta no DTO: leitura sem entidades gerenciadas nem snapshots de dirty checking
+    String PROJECAO_EXERCICIO = "SELECT new com.senai.projeto.mytraining.dto.response.ExercicioResponseDto(" +
+            "e.id, e.nome, e.series, e.repeticoes, e.cargaKg, e.observacoes, e.treino.id) " +
+            "FROM Exercicio e ";
+
+    @Operation(summary = "Listar resumos de exercícios", description = "Retorna todos os exercícios projetados diretamente no DTO de resposta")
+    @Query(PROJECAO_EXERCICIO)
+    List<ExercicioResponseDto> findResumos();
+
     @Operation(summary = "Buscar exercícios por treino", description = "Retorna todos os exercícios de um treino específico")
-    List<Exercicio> findByTreinoId(Long treinoId);
-}
\ No newline at end of file
+    @Query(PROJECAO_EXERCICIO + "WHERE e.treino.id = :treinoId ORDER BY e.id")
+    List<ExercicioResponseDto> findResumosPorTreino(@Param("treinoId") Long treinoId);
+
+    @Operation(summary = "Buscar exercícios de vários treinos", description = "Exercícios de um conjunto de treinos em uma única consulta, para montar listas de treinos")
+    @Query(PROJECAO_EXERCICIO + "WHERE e.treino.id IN :treinoIds ORDER BY e.id")
+    List<ExercicioResponseDto> findResumosPorTreinos(@Param("treinoIds") Collection<Long> treinoIds);
+
+    @Operation(summary = "Somar repetições do usuário no período", description = "Total de séries x repetições dos exercícios de treinos em [de, ate), base dos desafios em REPETICOES")
+    @Query("SELECT COALESCE(SUM(COALESCE(e.series, 0) * COALESCE(e.repeticoes, 0)), 0) FROM Exercicio e " +
+            "WHERE e.treino.usuario.id = :usuarioId AND e.treino.dataHora >= :de AND e.treino.dataHora < :ate")
+    Long somarRepeticoes(@Param("usuarioId") Long usuarioId,
+                         @Param("de") LocalDateTime de,
+                         @Param("ate") LocalDateTime ate);
+
+    @Operation(summary = "Somar séries do usuário no período", description = "Total de séries dos exercícios de treinos em [de, ate), base dos desafios em SERIES")
+    @Query("SELECT COALESCE(SUM(e.series), 0) FROM Exercicio e " +
+            "WHERE e.treino.usuario.id = :usuarioId AND e.treino.dataHora >= :de AND e.treino.dataHora < :ate")
+    Long somarSeries(@Param("usuarioId") Long usuarioId,
+                     @Param("de") LocalDateTime de,
+                     @Param("ate") LocalDateTime ate);
+
+    @Operation(summary = "Percorrer todos os exercícios em streaming", description = "Cursor no banco com fetch size fixo, sem materializar a tabela inteira")
+    @QueryHints({
+            @QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "" + ExportacaoEmLotes.TAMANHO_LOTE),
+            @QueryHint(name = HibernateHints.HINT_READ_ONLY, value = "true")
+    })
+    @Query("SELECT e FROM Exercicio e ORDER BY e.id")
+    Stream<Exercicio> streamTodos();
+}
@@ -0,0 +1,26 @@
+package com.senai.projeto.mytraining.repository;
+
+import com.senai.projeto.mytraining.model.RevogacaoJwt;
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.time.Instant;
+import java.util.List;
+
+@Repository
+@Tag(name = "RevogacaoJwtRepository", description = "Repositório para acesso às revogações de tokens JWT")
+public interface RevogacaoJwtRepository extends JpaRepository<RevogacaoJwt, Long> {
+
+    @Operation(summary = "Listar revogações recentes", description = "Retorna as revogações feitas depois do instante informado")
+    List<RevogacaoJwt> findByRevogadoEmAfter(Instant limite);
+
+    @Operation(summary = "Remover revogações expiradas", description = "Exclui revogações anteriores ao instante informado e retorna quantas foram removidas")
+    @Modifying
+    @Query("DELETE FROM RevogacaoJwt r WHERE r.revogadoEm < :limite")
+    int removerAnterioresA(@Param("limite") Instant limite);
+}
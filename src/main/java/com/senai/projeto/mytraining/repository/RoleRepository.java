@@ -3,15 +3,41 @@ package com.senai.projeto.mytraining.repository;
 import com.senai.projeto.mytraining.model.Role;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.tags.Tag;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.QueryHints;
 import org.springframework.stereotype.Repository;
 
+import java.util.List;
 import java.util.Optional;
 
 @Repository
 @Tag(name = "RoleRepository", description = "Repositório para acesso de dados de Role")
 public interface RoleRepository extends JpaRepository<Role, Long> {
 
-    @Operation(summary = "Buscar role por nome", description = "Retorna uma role com nome específico")
+    String REGIAO_CONSULTAS = "role-consultas";
+
+    @Operation(summary = "Buscar role por nome", description = "Retorna uma role com nome específico; resultado no cache de consultas")
+    @QueryHints({
+            @QueryHint(name = HibernateHints.HINT_CACHEABLE, value = "true"),
+            @QueryHint(name = HibernateHints.HINT_CACHE_REGION, value = REGIAO_CONSULTAS)
+    })
     Optional<Role> findByNome(String nome);
+
+    @Operation(summary = "Buscar roles por IDs", description = "Usado no cadastro e na atualização de usuários; resultado no cache de consultas")
+    @Override
+    @QueryHints({
+            @QueryHint(name = HibernateHints.HINT_CACHEABLE, value = "true"),
+            @QueryHint(name = HibernateHints.HINT_CACHE_REGION, value = REGIAO_CONSULTAS)
+    })
+    List<Role> findAllById(Iterable<Long> ids);
+
+    @Operation(summary = "Listar roles", description = "Resultado no cache de consultas")
+    @Override
+    @QueryHints({
+            @QueryHint(name = HibernateHints.HINT_CACHEABLE, value = "true"),
+            @QueryHint(name = HibernateHints.HINT_CACHE_REGION, value = REGIAO_CONSULTAS)
+    })
+    List<Role> findAll();
 }
\ No newline at end of file
@@ -0,0 +1,66 @@
+package com.senai.projeto.mytraining.repository;
+
+import com.senai.projeto.mytraining.dto.response.TreinoAgregadoResponseDTO;
+import com.senai.projeto.mytraining.model.TipoTreino;
+import com.senai.projeto.mytraining.model.TreinoAgregado;
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.time.LocalDate;
+import java.util.List;
+
+@Repository
+@Tag(name = "TreinoAgregadoRepository", description = "Repositório para acesso aos agregados de Treino")
+public interface TreinoAgregadoRepository extends JpaRepository<TreinoAgregado, Long> {
+
+    // Incremento no próprio banco, sem leitura prévia: o UPDATE trava apenas a linha do bucket até o commit,
+    // então transações concorrentes somam em sequência em vez de sobrescrever umas às outras
+    @Operation(summary = "Somar no bucket", description = "Soma os deltas no bucket existente e retorna quantas linhas foram atualizadas (0 ou 1)")
+    @Modifying(flushAutomatically = true)
+    @Query("UPDATE TreinoAgregado a SET a.quantidade = a.quantidade + :quantidade, " +
+            "a.duracaoMin = a.duracaoMin + :duracaoMin, a.distanciaKm = a.distanciaKm + :distanciaKm " +
+            "WHERE a.usuario.id = :usuarioId AND a.periodo = :periodo AND a.inicio = :inicio AND a.tipo = :tipo")
+    int somarNoBucket(@Param("usuarioId") Long usuarioId,
+                      @Param("periodo") TreinoAgregado.Periodo periodo,
+                      @Param("inicio") LocalDate inicio,
+                      @Param("tipo") TipoTreino tipo,
+                      @Param("quantidade") Long quantidade,
+                      @Param("duracaoMin") Long duracaoMin,
+                      @Param("distanciaKm") Double distanciaKm);
+
+    // Insere o bucket só se ele ainda não existir: com um insert concorrente do mesmo bucket, o PostgreSQL espera o
+    // outro commit e devolve 0 em vez de violar a chave única, e quem chamou soma com somarNoBucket
+    @Operation(summary = "Criar bucket se ausente", description = "Insere o bucket com os valores iniciais e retorna 1, ou 0 se ele já existir")
+    @Modifying(flushAutomatically = true)
+    @Query(value = "INSERT INTO treino_agregado (id, usuario_id, periodo, inicio, tipo, quantidade, duracao_min, distancia_km) " +
+            "VALUES (nextval('treino_agregado_seq'), :usuarioId, :periodo, :inicio, :tipo, :quantidade, :duracaoMin, :distanciaKm) " +
+            "ON CONFLICT DO NOTHING", nativeQuery = true)
+    int inserirSeAusente(@Param("usuarioId") Long usuarioId,
+                         @Param("periodo") String periodo,
+                         @Param("inicio") LocalDate inicio,
+                         @Param("tipo") String tipo,
+                         @Param("quantidade") Long quantidade,
+                         @Param("duracaoMin") Long duracaoMin,
+                         @Param("distanciaKm") Double distanciaKm);
+
+    // Projeção direta: lê os valores atuais do banco mesmo que a sessão tenha instâncias anteriores a somarNoBucket
+    @Operation(summary = "Listar agregados do usuário", description = "Retorna os buckets não vazios de um período no intervalo informado")
+    @Query("SELECT new com.senai.projeto.mytraining.dto.response.TreinoAgregadoResponseDTO(" +
+            "a.tipo, a.periodo, a.inicio, a.quantidade, a.duracaoMin, a.distanciaKm) " +
+            "FROM TreinoAgregado a WHERE a.usuario.id = :usuarioId AND a.periodo = :periodo " +
+            "AND a.inicio BETWEEN :de AND :ate AND a.quantidade > 0 ORDER BY a.inicio, a.tipo")
+    List<TreinoAgregadoResponseDTO> findResumo(@Param("usuarioId") Long usuarioId,
+                                               @Param("periodo") TreinoAgregado.Periodo periodo,
+                                               @Param("de") LocalDate de,
+                                               @Param("ate") LocalDate ate);
+
+    @Operation(summary = "Remover todos os agregados", description = "Usado pela reconstrução completa")
+    @Modifying
+    @Query("DELETE FROM TreinoAgregado a")
+    void deleteAllEmLote();
+}
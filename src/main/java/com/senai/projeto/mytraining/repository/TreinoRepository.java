@@ -1,17 +1,134 @@
 package com.senai.projeto.mytraining.repository;
 
+import com.senai.projeto.mytraining.dto.response.TreinoResponseDTO;
+import com.senai.projeto.mytraining.model.TipoTreino;
 import com.senai.projeto.mytraining.model.Treino;
+import com.senai.projeto.mytraining.util.ExportacaoEmLotes;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.tags.Tag;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.time.LocalDateTime;
 import java.util.List;
+import java.util.Optional;
+import java.util.stream.Stream;
 
 @Repository
 @Tag(name = "TreinoRepository", description = "Repositório para acesso de dados de Treino")
 public interface TreinoRepository extends JpaRepository<Treino, Long> {
 
-    @Operation(summary = "Buscar treinos por usuário", description = "Retorna todos os treinos de um usuário específico")
-    List<Treino> findByUsuarioId(Long usuarioId);
-}
\ No newline at end of file
+    @Operation(summary = "Listar treinos com usuário e exercícios", description = "Carrega usuário e exercícios na mesma consulta")
+    @Override
+    @EntityGraph(attributePaths = {"usuario", "exercicios"})
+    List<Treino> findAll();
+
+    // Paginação não pode usar join-fetch de coleção; exercícios vêm em lote via @BatchSize
+    @Operation(summary = "Listar treinos paginados com usuário", description = "Carrega o usuário na mesma consulta e os exercícios em lote")
+    @Override
+    @EntityGraph(attributePaths = {"usuario"})
+    Page<Treino> findAll(Pageable pageable);
+
+    // Projeção direta no DTO (sem exercícios): leitura sem entidades gerenciadas nem snapshots de dirty checking
+    String PROJECAO_TREINO = "SELECT new com.senai.projeto.mytraining.dto.response.TreinoResponseDTO(" +
+            "t.id, t.dataHora, t.tipo, t.duracaoMin, t.observacoes, t.distanciaKm, u.id, u.nome) " +
+            "FROM Treino t JOIN t.usuario u ";
+
+    @Operation(summary = "Listar resumos de treinos", description = "Retorna todos os treinos projetados no DTO de resposta, sem exercícios")
+    @Query(PROJECAO_TREINO)
+    List<TreinoResponseDTO> findResumos();
+
+    @Operation(summary = "Listar resumos de treinos paginados", description = "Retorna treinos paginados projetados no DTO de resposta, sem exercícios")
+    @Query(value = PROJECAO_TREINO, countQuery = "SELECT count(t) FROM Treino t")
+    Page<TreinoResponseDTO> findResumos(Pageable pageable);
+
+    @Operation(summary = "Buscar treinos por usuário", description = "Retorna todos os treinos de um usuário específico, sem exercícios")
+    @Query(PROJECAO_TREINO + "WHERE u.id = :usuarioId")
+    List<TreinoResponseDTO> findResumosPorUsuario(@Param("usuarioId") Long usuarioId);
+
+    @Operation(summary = "Buscar treino detalhado por ID", description = "Retorna o treino com usuário e exercícios em uma única consulta")
+    @EntityGraph(attributePaths = {"usuario", "exercicios"})
+    Optional<Treino> findDetalhadoById(Long id);
+
+    // Keyset: retorno em List não dispara count(*); exercícios são buscados depois para a página inteira
+    @Operation(summary = "Primeira página de treinos do usuário", description = "Treinos mais recentes do usuário, ordenados por (dataHora, id) decrescente")
+    @Query(PROJECAO_TREINO + "WHERE u.id = :usuarioId ORDER BY t.dataHora DESC, t.id DESC")
+    List<TreinoResponseDTO> findPrimeiraPaginaPorUsuario(@Param("usuarioId") Long usuarioId, Pageable pageable);
+
+    @Operation(summary = "Próxima página de treinos do usuário", description = "Treinos anteriores ao cursor (dataHora, id), usando o índice composto")
+    @Query(PROJECAO_TREINO + "WHERE u.id = :usuarioId " +
+            "AND (t.dataHora < :dataHora OR (t.dataHora = :dataHora AND t.id < :id)) " +
+            "ORDER BY t.dataHora DESC, t.id DESC")
+    List<TreinoResponseDTO> findPaginaAposCursorPorUsuario(@Param("usuarioId") Long usuarioId,
+                                                           @Param("dataHora") LocalDateTime dataHora,
+                                                           @Param("id") Long id,
+                                                           Pageable pageable);
+
+    // Duração e distância são opcionais e não fazem parte do índice: filtros residuais sobre o intervalo de datas
+    String FILTRO_MEDIDAS = "AND (:duracaoMinima IS NULL OR t.duracaoMin >= :duracaoMinima) " +
+            "AND (:duracaoMaxima IS NULL OR t.duracaoMin <= :duracaoMaxima) " +
+            "AND (:distanciaMinima IS NULL OR t.distanciaKm >= :distanciaMinima) " +
+            "AND (:distanciaMaxima IS NULL OR t.distanciaKm <= :distanciaMaxima) ";
+
+    // Uma consulta por combinação de colunas do índice, sem "tipo IS NULL OR": com parâmetro opcional no
+    // predicado o plano genérico do PostgreSQL não consegue usar tipo como chave do índice
+    @Operation(summary = "Buscar treinos do usuário por período", description = "Intervalo [de, ate) em data_hora sobre o índice (usuario_id, data_hora, id), mais recentes primeiro")
+    @Query(value = PROJECAO_TREINO + "WHERE u.id = :usuarioId AND t.dataHora >= :de AND t.dataHora < :ate " +
+            FILTRO_MEDIDAS + "ORDER BY t.dataHora DESC, t.id DESC",
+            countQuery = "SELECT count(t) FROM Treino t WHERE t.usuario.id = :usuarioId " +
+                    "AND t.dataHora >= :de AND t.dataHora < :ate " + FILTRO_MEDIDAS)
+    Page<TreinoResponseDTO> findResumosFiltrados(@Param("usuarioId") Long usuarioId,
+                                                 @Param("de") LocalDateTime de,
+                                                 @Param("ate") LocalDateTime ate,
+                                                 @Param("duracaoMinima") Integer duracaoMinima,
+                                                 @Param("duracaoMaxima") Integer duracaoMaxima,
+                                                 @Param("distanciaMinima") Double distanciaMinima,
+                                                 @Param("distanciaMaxima") Double distanciaMaxima,
+                                                 Pageable pageable);
+
+    @Operation(summary = "Buscar treinos do usuário por tipo e período", description = "Intervalo [de, ate) em data_hora sobre o índice (usuario_id, tipo, data_hora, id), mais recentes primeiro")
+    @Query(value = PROJECAO_TREINO + "WHERE u.id = :usuarioId AND t.tipo = :tipo AND t.dataHora >= :de AND t.dataHora < :ate " +
+            FILTRO_MEDIDAS + "ORDER BY t.dataHora DESC, t.id DESC",
+            countQuery = "SELECT count(t) FROM Treino t WHERE t.usuario.id = :usuarioId AND t.tipo = :tipo " +
+                    "AND t.dataHora >= :de AND t.dataHora < :ate " + FILTRO_MEDIDAS)
+    Page<TreinoResponseDTO> findResumosFiltradosPorTipo(@Param("usuarioId") Long usuarioId,
+                                                        @Param("tipo") TipoTreino tipo,
+                                                        @Param("de") LocalDateTime de,
+                                                        @Param("ate") LocalDateTime ate,
+                                                        @Param("duracaoMinima") Integer duracaoMinima,
+                                                        @Param("duracaoMaxima") Integer duracaoMaxima,
+                                                        @Param("distanciaMinima") Double distanciaMinima,
+                                                        @Param("distanciaMaxima") Double distanciaMaxima,
+                                                        Pageable pageable);
+
+    @Operation(summary = "Somar distância do usuário no período", description = "Total de km dos treinos em [de, ate), base do progresso de desafios em KM")
+    @Query("SELECT COALESCE(SUM(t.distanciaKm), 0) FROM Treino t " +
+            "WHERE t.usuario.id = :usuarioId AND t.dataHora >= :de AND t.dataHora < :ate")
+    Double somarDistanciaKm(@Param("usuarioId") Long usuarioId,
+                            @Param("de") LocalDateTime de,
+                            @Param("ate") LocalDateTime ate);
+
+    @Operation(summary = "Somar duração do usuário no período", description = "Total de minutos dos treinos em [de, ate), base do progresso de desafios em MINUTOS")
+    @Query("SELECT COALESCE(SUM(t.duracaoMin), 0) FROM Treino t " +
+            "WHERE t.usuario.id = :usuarioId AND t.dataHora >= :de AND t.dataHora < :ate")
+    Long somarDuracaoMin(@Param("usuarioId") Long usuarioId,
+                         @Param("de") LocalDateTime de,
+                         @Param("ate") LocalDateTime ate);
+
+    @Operation(summary = "Percorrer todos os treinos em streaming", description = "Cursor no banco com fetch size fixo, sem materializar a tabela inteira")
+    @QueryHints({
+            @QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "" + ExportacaoEmLotes.TAMANHO_LOTE),
+            @QueryHint(name = HibernateHints.HINT_READ_ONLY, value = "true")
+    })
+    @EntityGraph(attributePaths = {"usuario"})
+    @Query("SELECT t FROM Treino t ORDER BY t.id")
+    Stream<Treino> streamTodos();
+}
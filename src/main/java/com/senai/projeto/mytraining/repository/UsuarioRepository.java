@@ -1,17 +1,50 @@
 package com.senai.projeto.mytraining.repository;
 
 import com.senai.projeto.mytraining.model.Usuario;
+import com.senai.projeto.mytraining.util.ExportacaoEmLotes;
+import com.senai.projeto.mytraining.util.VersaoDados;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.tags.Tag;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
+import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.util.List;
 import java.util.Optional;
+import java.util.stream.Stream;
 
 @Repository
 @Tag(name = "UsuarioRepository", description = "Repositório para acesso de dados de Usuario")
 public interface UsuarioRepository extends JpaRepository<Usuario, Long> {
 
+    @Operation(summary = "Listar usuários com roles", description = "Carrega as roles na mesma consulta em vez de uma consulta por usuário")
+    @Override
+    @EntityGraph(attributePaths = {"roles"})
+    List<Usuario> findAll();
+
     @Operation(summary = "Buscar usuário por email", description = "Retorna um usuario com email específico")
     Optional<Usuario> findByEmail(String email);
-}
\ No newline at end of file
+
+    @Operation(summary = "Percorrer todos os usuários em streaming", description = "Cursor no banco com fetch size fixo, sem materializar a tabela inteira")
+    @QueryHints({
+            @QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "" + ExportacaoEmLotes.TAMANHO_LOTE),
+            @QueryHint(name = HibernateHints.HINT_READ_ONLY, value = "true")
+    })
+    @Query("SELECT u FROM Usuario u ORDER BY u.id")
+    Stream<Usuario> streamTodos();
+
+    @Operation(summary = "Buscar versão dos dados por email", description = "Id e contador de alterações, usados no ETag das listas do usuário")
+    @Query("SELECT new com.senai.projeto.mytraining.util.VersaoDados(u.id, u.versaoDados) FROM Usuario u WHERE u.email = :email")
+    Optional<VersaoDados> findVersaoDadosByEmail(@Param("email") String email);
+
+    @Operation(summary = "Incrementar versão dos dados", description = "UPDATE atômico no banco, sem ler nem sobrescrever a entidade")
+    @Modifying
+    @Query("UPDATE Usuario u SET u.versaoDados = u.versaoDados + 1 WHERE u.id = :id")
+    int incrementarVersaoDados(@Param("id") Long id);
+}
@@ -10,17 +10,19 @@ import com.senai.projeto.mytraining.model.Role;
 import com.senai.projeto.mytraining.model.Usuario;
 import com.senai.projeto.mytraining.repository.RoleRepository;
 import com.senai.projeto.mytraining.repository.UsuarioRepository;
+import com.senai.projeto.mytraining.util.JwtPrincipalCache;
 import com.senai.projeto.mytraining.util.JwtUtil;
+import com.senai.projeto.mytraining.util.PasswordHasher;
+import io.micrometer.core.annotation.Timed;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.media.Schema;
 import io.swagger.v3.oas.annotations.tags.Tag;
 import lombok.RequiredArgsConstructor;
-import org.springframework.security.authentication.AuthenticationManager;
-import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
 import org.springframework.security.core.userdetails.UserDetails;
-import org.springframework.security.core.userdetails.UserDetailsService;
-import org.springframework.security.crypto.password.PasswordEncoder;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Propagation;
 import org.springframework.transaction.annotation.Transactional;
 
 import java.util.HashSet;
@@ -30,37 +32,61 @@ import java.util.Set;
 @Service
 @RequiredArgsConstructor
 @Transactional
+@Timed(value = "mytraining.servico", description = "Tempo dos métodos de serviço por classe e método")
 @Tag(name = "AuthService", description = "Serviço de autenticação e registro de usuários")
 public class AuthService {
 
     private final UsuarioRepository usuarioRepository;
     private final RoleRepository roleRepository;
     private final UsuarioMapper usuarioMapper;
-    private final PasswordEncoder passwordEncoder;
-    private final AuthenticationManager authenticationManager;
+    private final PasswordHasher passwordHasher;
     private final JwtUtil jwtUtil;
-    private final UserDetailsService userDetailsService;
+    private final JwtPrincipalCache principalCache;
+    private final MeterRegistry meterRegistry;
 
     @Operation(summary = "Autenticar usuário", description = "Valida credenciais e retorna token JWT")
     @Schema(description = "Realiza login com email e senha, retornando um token JWT válido por 1 hora")
+    // Não abre transação própria: chamado pelo controller, a consulta do usuário (roles EAGER) usa a transação do
+    // repositório e devolve a conexão ao pool antes do BCrypt, que leva dezenas de milissegundos.
+    // SUPPORTS (e não NOT_SUPPORTED) participa de uma transação já aberta e enxerga o que ela gravou.
+    @Transactional(propagation = Propagation.SUPPORTS)
     public Optional<LoginResponseDTO> login(LoginRequestDTO dto) {
+        Timer.Sample total = Timer.start(meterRegistry);
         try {
-            authenticationManager.authenticate(
-                    new UsernamePasswordAuthenticationToken(dto.email(), dto.senha())
-            );
-
-            UserDetails userDetails = userDetailsService.loadUserByUsername(dto.email());
-            String token = jwtUtil.generateToken(userDetails);
-
+            // Única consulta do usuário: roles (EAGER) e dados da resposta saem da mesma entidade
+            Timer.Sample etapa = Timer.start(meterRegistry);
             Optional<Usuario> usuarioOptional = usuarioRepository.findByEmail(dto.email());
+            etapa.stop(tempoEtapa("busca_usuario"));
+
+            etapa = Timer.start(meterRegistry);
             if (usuarioOptional.isEmpty()) {
+                // Mantém o tempo de resposta semelhante ao de uma senha incorreta
+                passwordHasher.simularVerificacao(dto.senha());
+                etapa.stop(tempoEtapa("bcrypt"));
+                return Optional.empty();
+            }
+
+            Usuario usuario = usuarioOptional.get();
+            boolean senhaValida = passwordHasher.matches(dto.senha(), usuario.getSenha());
+            etapa.stop(tempoEtapa("bcrypt"));
+            if (!senhaValida) {
                 return Optional.empty();
             }
 
-            UsuarioResponseDTO usuarioDTO = usuarioMapper.toResponseDTO(usuarioOptional.get());
+            etapa = Timer.start(meterRegistry);
+            UserDetails userDetails = usuarioMapper.toUserDetails(usuario);
+            String token = jwtUtil.generateToken(userDetails);
+            // Já deixa no cache as mesmas authorities embutidas no token
+            principalCache.put(userDetails);
+            etapa.stop(tempoEtapa("token"));
+
+            etapa = Timer.start(meterRegistry);
+            UsuarioResponseDTO usuarioDTO = usuarioMapper.toResponseDTO(usuario);
+            etapa.stop(tempoEtapa("resposta"));
+
             return Optional.of(new LoginResponseDTO(token, usuarioDTO));
-        } catch (Exception e) {
-            return Optional.empty();
+        } finally {
+            total.stop(tempoEtapa("total"));
         }
     }
 
@@ -68,7 +94,7 @@ public class AuthService {
     @Schema(description = "Cria novo usuário, criptografa a senha com BCrypt e atribui role ROLE_USER automaticamente")
     public UsuarioResponseDTO registro(UsuarioRequestDTO dto) {
         Usuario usuario = usuarioMapper.toEntity(dto);
-        usuario.setSenha(passwordEncoder.encode(dto.senha()));
+        usuario.setSenha(passwordHasher.encode(dto.senha()));
 
         // Atribuir ROLE_USER automaticamente para novos usuários
         Optional<Role> roleUser = roleRepository.findByNome("ROLE_USER");
@@ -87,4 +113,11 @@ public class AuthService {
         Usuario usuarioSalvo = usuarioRepository.save(usuario);
         return usuarioMapper.toResponseDTO(usuarioSalvo);
     }
+
+    private Timer tempoEtapa(String etapa) {
+        return Timer.builder("mytraining.auth.login")
+                .description("Latência do login por etapa")
+                .tag("etapa", etapa)
+                .register(meterRegistry);
+    }
 }
\ No newline at end of file
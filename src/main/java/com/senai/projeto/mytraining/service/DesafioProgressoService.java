@@ -0,0 +1,194 @@
+package com.senai.projeto.mytraining.service;
+
+import com.senai.projeto.mytraining.model.Desafio;
+import com.senai.projeto.mytraining.model.Exercicio;
+import com.senai.projeto.mytraining.model.Treino;
+import com.senai.projeto.mytraining.repository.DesafioRepository;
+import com.senai.projeto.mytraining.repository.ExercicioRepository;
+import com.senai.projeto.mytraining.repository.TreinoRepository;
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.Collectors;
+
+@Service
+@RequiredArgsConstructor
+@Transactional
+@Tag(name = "DesafioProgressoService", description = "Cálculo incremental do progresso dos desafios a partir dos treinos")
+public class DesafioProgressoService {
+
+    // Limites para desafios sem data de início ou de fim
+    private static final LocalDateTime INICIO_ABERTO = LocalDateTime.of(1900, 1, 1, 0, 0);
+    private static final LocalDateTime FIM_ABERTO = LocalDateTime.of(9999, 12, 31, 0, 0);
+
+    private final DesafioRepository desafioRepository;
+    private final TreinoRepository treinoRepository;
+    private final ExercicioRepository exercicioRepository;
+
+    @Operation(summary = "Registrar treino nos desafios", description = "Soma a contribuição do treino nos desafios pendentes do usuário que cobrem a data do treino")
+    public void registrar(Treino treino) {
+        aplicar(treino, Contribuicao.de(treino), 1);
+    }
+
+    @Operation(summary = "Remover treino dos desafios", description = "Subtrai a contribuição do treino dos desafios pendentes do usuário")
+    public void remover(Treino treino) {
+        aplicar(treino, Contribuicao.de(treino), -1);
+    }
+
+    @Operation(summary = "Registrar lote de treinos nos desafios", description = "Lê os desafios pendentes uma vez por usuário e aplica o total do lote com um incremento por desafio")
+    public void registrarTodos(Collection<Treino> treinos) {
+        Map<Long, List<Treino>> porUsuario = treinos.stream()
+                .filter(treino -> treino.getUsuario() != null && treino.getDataHora() != null)
+                .collect(Collectors.groupingBy(treino -> treino.getUsuario().getId()));
+
+        porUsuario.forEach((usuarioId, treinosDoUsuario) -> {
+            List<DesafioRepository.Janela> janelas =
+                    desafioRepository.findJanelasPorUsuarioEStatus(usuarioId, Desafio.Status.PENDENTE);
+            Map<Long, Double> deltas = new HashMap<>();
+            for (Treino treino : treinosDoUsuario) {
+                LocalDate data = treino.getDataHora().toLocalDate();
+                Contribuicao contribuicao = Contribuicao.de(treino);
+                for (DesafioRepository.Janela janela : janelas) {
+                    if (cobre(janela, data)) {
+                        deltas.merge(janela.getId(), contribuicao.valor(janela.getUnidade()), Double::sum);
+                    }
+                }
+            }
+            somar(deltas);
+        });
+    }
+
+    @Operation(summary = "Registrar exercício nos desafios", description = "Soma séries e repetições do exercício nos desafios pendentes")
+    public void registrarExercicio(Exercicio exercicio) {
+        aplicar(exercicio.getTreino(), Contribuicao.de(exercicio), 1);
+    }
+
+    @Operation(summary = "Remover exercício dos desafios", description = "Subtrai séries e repetições do exercício dos desafios pendentes")
+    public void removerExercicio(Exercicio exercicio) {
+        aplicar(exercicio.getTreino(), Contribuicao.de(exercicio), -1);
+    }
+
+    // Ponto de partida do cálculo incremental: treinos anteriores à criação do desafio (ou fora da janela antiga)
+    // também contam, sem que o cliente precise somá-los
+    @Operation(summary = "Recalcular progresso", description = "Soma em uma consulta os treinos do usuário no período do desafio, na unidade do desafio")
+    public void recalcular(Desafio desafio) {
+        if (desafio.getUsuario() == null || desafio.getUnidade() == null
+                || desafio.getUnidade() == Desafio.Unidade.CALORIAS) {
+            return;
+        }
+
+        Long usuarioId = desafio.getUsuario().getId();
+        LocalDateTime de = desafio.getDataInicio() != null ? desafio.getDataInicio().atStartOfDay() : INICIO_ABERTO;
+        LocalDateTime ate = desafio.getDataFim() != null ? desafio.getDataFim().plusDays(1).atStartOfDay() : FIM_ABERTO;
+
+        double total = switch (desafio.getUnidade()) {
+            case KM -> treinoRepository.somarDistanciaKm(usuarioId, de, ate);
+            case MINUTOS -> treinoRepository.somarDuracaoMin(usuarioId, de, ate);
+            case REPETICOES -> exercicioRepository.somarRepeticoes(usuarioId, de, ate);
+            case SERIES -> exercicioRepository.somarSeries(usuarioId, de, ate);
+            case CALORIAS -> desafio.getProgressoAtual();
+        };
+        desafio.setProgressoAtual(total);
+        verificarConclusaoAutomatica(desafio);
+    }
+
+    @Operation(summary = "Verificar conclusão automática", description = "Marca desafio como CONCLUIDO quando progresso >= objetivo")
+    public void verificarConclusaoAutomatica(Desafio desafio) {
+        if (desafio.getProgressoAtual() != null &&
+                desafio.getObjetivoValor() != null &&
+                desafio.getProgressoAtual() >= desafio.getObjetivoValor() &&
+                desafio.getStatus() != Desafio.Status.CONCLUIDO) {
+            desafio.setStatus(Desafio.Status.CONCLUIDO);
+        }
+    }
+
+    // Apenas desafios PENDENTE acompanham treinos: desafios concluídos ou cancelados ficam congelados
+    private void aplicar(Treino treino, Contribuicao contribuicao, int sinal) {
+        if (treino == null || treino.getUsuario() == null || treino.getDataHora() == null || contribuicao.isVazia()) {
+            return;
+        }
+
+        LocalDate data = treino.getDataHora().toLocalDate();
+        Map<Long, Double> deltas = new HashMap<>();
+        for (DesafioRepository.Janela janela : desafioRepository.findJanelasAtivasNaData(
+                treino.getUsuario().getId(), Desafio.Status.PENDENTE, data)) {
+            deltas.put(janela.getId(), sinal * contribuicao.valor(janela.getUnidade()));
+        }
+        somar(deltas);
+    }
+
+    // Incremento atômico por desafio (sem ler e regravar o progresso) e conclusão decidida pelo próprio banco.
+    // Ids em ordem: transações concorrentes do mesmo usuário travam as linhas na mesma sequência
+    private void somar(Map<Long, Double> deltas) {
+        List<Long> alterados = deltas.entrySet().stream()
+                .filter(delta -> delta.getValue() != 0)
+                .map(Map.Entry::getKey)
+                .sorted()
+                .toList();
+        if (alterados.isEmpty()) {
+            return;
+        }
+
+        for (Long id : alterados) {
+            desafioRepository.somarProgresso(id, deltas.get(id), Desafio.Status.PENDENTE);
+        }
+        desafioRepository.atualizarStatusAtingidos(alterados, Desafio.Status.PENDENTE, Desafio.Status.CONCLUIDO);
+    }
+
+    private boolean cobre(DesafioRepository.Janela janela, LocalDate data) {
+        return (janela.getDataInicio() == null || !janela.getDataInicio().isAfter(data))
+                && (janela.getDataFim() == null || !janela.getDataFim().isBefore(data));
+    }
+
+    // CALORIAS não é derivável dos dados de treino e continua sendo informada pelo cliente
+    private record Contribuicao(double km, double minutos, double repeticoes, double series) {
+
+        static Contribuicao de(Treino treino) {
+            double repeticoes = 0;
+            double series = 0;
+            Collection<Exercicio> exercicios = treino.getExercicios();
+            if (exercicios != null) {
+                for (Exercicio exercicio : exercicios) {
+                    Contribuicao parcial = de(exercicio);
+                    repeticoes += parcial.repeticoes();
+                    series += parcial.series();
+                }
+            }
+            return new Contribuicao(
+                    treino.getDistanciaKm() != null ? treino.getDistanciaKm() : 0,
+                    treino.getDuracaoMin() != null ? treino.getDuracaoMin() : 0,
+                    repeticoes,
+                    series
+            );
+        }
+
+        static Contribuicao de(Exercicio exercicio) {
+            int series = exercicio.getSeries() != null ? exercicio.getSeries() : 0;
+            int repeticoes = exercicio.getRepeticoes() != null ? exercicio.getRepeticoes() : 0;
+            return new Contribuicao(0, 0, (double) series * repeticoes, series);
+        }
+
+        double valor(Desafio.Unidade unidade) {
+            return switch (unidade) {
+                case KM -> km;
+                case MINUTOS -> minutos;
+                case REPETICOES -> repeticoes;
+                case SERIES -> series;
+                case CALORIAS -> 0;
+            };
+        }
+
+        boolean isVazia() {
+            return km == 0 && minutos == 0 && repeticoes == 0 && series == 0;
+        }
+    }
+}
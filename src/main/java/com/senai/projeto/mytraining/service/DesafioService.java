@@ -7,6 +7,8 @@ import com.senai.projeto.mytraining.model.Desafio;
 import com.senai.projeto.mytraining.model.Usuario;
 import com.senai.projeto.mytraining.repository.DesafioRepository;
 import com.senai.projeto.mytraining.repository.UsuarioRepository;
+import com.senai.projeto.mytraining.util.ExportacaoEmLotes;
+import io.micrometer.core.annotation.Timed;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.tags.Tag;
 import lombok.RequiredArgsConstructor;
@@ -15,19 +17,26 @@ import org.springframework.data.domain.Pageable;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
+import java.time.LocalDate;
 import java.util.List;
+import java.util.Objects;
 import java.util.Optional;
-import java.util.stream.Collectors;
+import java.util.function.Consumer;
+import java.util.stream.Stream;
 
 @Service
 @RequiredArgsConstructor
 @Transactional
+@Timed(value = "mytraining.servico", description = "Tempo dos métodos de serviço por classe e método")
 @Tag(name = "DesafioService", description = "Serviço de gerenciamento de desafios")
 public class DesafioService {
 
     private final DesafioRepository desafioRepository;
     private final UsuarioRepository usuarioRepository;
     private final DesafioMapper desafioMapper;
+    private final ExportacaoEmLotes exportacaoEmLotes;
+    private final DesafioProgressoService progressoService;
+    private final VersaoDadosService versaoDadosService;
 
     @Operation(summary = "Criar desafio sem associação", description = "Cria um desafio genérico sem usuário")
     public DesafioResponseDTO criar(DesafioRequestDTO dto) {
@@ -45,7 +54,9 @@ public class DesafioService {
         }
 
         Desafio desafio = desafioMapper.toEntity(dto, usuarioOptional.get());
+        progressoService.recalcular(desafio);
         Desafio desafioSalvo = desafioRepository.save(desafio);
+        versaoDadosService.incrementar(usuarioOptional.get().getId());
         return Optional.of(desafioMapper.toResponseDTO(desafioSalvo));
     }
 
@@ -59,9 +70,15 @@ public class DesafioService {
     @Operation(summary = "Listar todos os desafios", description = "Retorna lista com todos os desafios cadastrados")
     @Transactional(readOnly = true)
     public List<DesafioResponseDTO> listarTodos() {
-        return desafioRepository.findAll().stream()
-                .map(desafioMapper::toResponseDTO)
-                .collect(Collectors.toList());
+        return desafioRepository.findResumos();
+    }
+
+    @Operation(summary = "Exportar todos os desafios", description = "Percorre os desafios em streaming e entrega cada um convertido, com memória constante")
+    @Transactional(readOnly = true)
+    public void exportarTodos(Consumer<DesafioResponseDTO> consumidor) {
+        try (Stream<Desafio> desafios = desafioRepository.streamTodos()) {
+            exportacaoEmLotes.exportar(desafios, desafioMapper::toResponseDTO, consumidor);
+        }
     }
 
     @Operation(summary = "Listar desafios de um usuário", description = "Retorna todos os desafios de um usuário específico (via email)")
@@ -73,26 +90,27 @@ public class DesafioService {
             return Optional.empty();
         }
 
-        List<DesafioResponseDTO> desafios = desafioRepository.findByUsuarioId(usuarioOptional.get().getId()).stream()
-                .map(desafioMapper::toResponseDTO)
-                .collect(Collectors.toList());
+        List<DesafioResponseDTO> desafios = desafioRepository.findResumosPorUsuario(usuarioOptional.get().getId());
 
         return Optional.of(desafios);
     }
 
+    @Operation(summary = "Listar desafios de um usuário já resolvido", description = "Sem consultar o usuário: usado depois da verificação de versão de meus-desafios")
+    @Transactional(readOnly = true)
+    public List<DesafioResponseDTO> listarDoUsuario(Long usuarioId) {
+        return desafioRepository.findResumosPorUsuario(usuarioId);
+    }
+
     @Operation(summary = "Listar desafios com paginação", description = "Retorna desafios paginados e ordenados")
     @Transactional(readOnly = true)
     public Page<DesafioResponseDTO> listarTodosPaginado(Pageable pageable) {
-        return desafioRepository.findAll(pageable)
-                .map(desafioMapper::toResponseDTO);
+        return desafioRepository.findResumos(pageable);
     }
 
     @Operation(summary = "Buscar desafios por status", description = "Retorna desafios filtrados por status (PENDENTE, CONCLUIDO, CANCELADO)")
     @Transactional(readOnly = true)
     public List<DesafioResponseDTO> buscarPorStatus(Desafio.Status status) {
-        return desafioRepository.findByStatus(status).stream()
-                .map(desafioMapper::toResponseDTO)
-                .collect(Collectors.toList());
+        return desafioRepository.findResumosPorStatus(status);
     }
 
     @Operation(summary = "Atualizar desafio", description = "Atualiza dados de um desafio e verifica conclusão automática")
@@ -104,31 +122,41 @@ public class DesafioService {
         }
 
         Desafio desafio = desafioOptional.get();
+        LocalDate inicioAnterior = desafio.getDataInicio();
+        LocalDate fimAnterior = desafio.getDataFim();
+        Desafio.Unidade unidadeAnterior = desafio.getUnidade();
         desafioMapper.updateEntityFromDTO(dto, desafio);
 
+        // Outra janela ou unidade: o total acumulado deixa de valer e é refeito a partir dos treinos
+        if (!Objects.equals(inicioAnterior, desafio.getDataInicio())
+                || !Objects.equals(fimAnterior, desafio.getDataFim())
+                || unidadeAnterior != desafio.getUnidade()) {
+            progressoService.recalcular(desafio);
+        }
+
         // Verificar se o desafio foi concluído automaticamente
-        verificarConclusaoAutomatica(desafio);
+        progressoService.verificarConclusaoAutomatica(desafio);
 
         Desafio desafioAtualizado = desafioRepository.save(desafio);
-        return Optional.of(desafioMapper.toResponseDTO(desafioAtualizado));
-    }
-
-    @Operation(summary = "Verificar conclusão automática", description = "Marca desafio como CONCLUIDO quando progresso >= objetivo")
-    private void verificarConclusaoAutomatica(Desafio desafio) {
-        if (desafio.getProgressoAtual() != null &&
-                desafio.getObjetivoValor() != null &&
-                desafio.getProgressoAtual() >= desafio.getObjetivoValor() &&
-                desafio.getStatus() != Desafio.Status.CONCLUIDO) {
-            desafio.setStatus(Desafio.Status.CONCLUIDO);
+        if (desafioAtualizado.getUsuario() != null) {
+            versaoDadosService.incrementar(desafioAtualizado.getUsuario().getId());
         }
+        return Optional.of(desafioMapper.toResponseDTO(desafioAtualizado));
     }
 
     @Operation(summary = "Deletar desafio", description = "Remove um desafio do sistema")
     public boolean deletar(Long id) {
-        if (!desafioRepository.existsById(id)) {
+        Optional<Desafio> desafioOptional = desafioRepository.findById(id);
+
+        if (desafioOptional.isEmpty()) {
             return false;
         }
-        desafioRepository.deleteById(id);
+
+        Desafio desafio = desafioOptional.get();
+        if (desafio.getUsuario() != null) {
+            versaoDadosService.incrementar(desafio.getUsuario().getId());
+        }
+        desafioRepository.delete(desafio);
         return true;
     }
 }
\ No newline at end of file
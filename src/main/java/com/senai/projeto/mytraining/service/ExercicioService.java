@@ -7,6 +7,8 @@ import com.senai.projeto.mytraining.model.Exercicio;
 import com.senai.projeto.mytraining.model.Treino;
 import com.senai.projeto.mytraining.repository.ExercicioRepository;
 import com.senai.projeto.mytraining.repository.TreinoRepository;
+import com.senai.projeto.mytraining.util.ExportacaoEmLotes;
+import io.micrometer.core.annotation.Timed;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.tags.Tag;
 import lombok.RequiredArgsConstructor;
@@ -15,17 +17,22 @@ import org.springframework.transaction.annotation.Transactional;
 
 import java.util.List;
 import java.util.Optional;
-import java.util.stream.Collectors;
+import java.util.function.Consumer;
+import java.util.stream.Stream;
 
 @Service
 @RequiredArgsConstructor
 @Transactional
+@Timed(value = "mytraining.servico", description = "Tempo dos métodos de serviço por classe e método")
 @Tag(name = "ExercicioService", description = "Serviço de gerenciamento de exercícios")
 public class ExercicioService {
 
     private final ExercicioRepository exercicioRepository;
     private final TreinoRepository treinoRepository;
     private final ExercicioMapper exercicioMapper;
+    private final ExportacaoEmLotes exportacaoEmLotes;
+    private final DesafioProgressoService progressoService;
+    private final VersaoDadosService versaoDadosService;
 
     @Operation(summary = "Criar novo exercício", description = "Cria um novo exercício vinculado a um treino")
     public Optional<ExercicioResponseDto> criar(ExercicioRequestDTO dto) {
@@ -37,6 +44,8 @@ public class ExercicioService {
 
         Exercicio exercicio = exercicioMapper.toEntity(dto, treinoOptional.get());
         Exercicio exercicioSalvo = exercicioRepository.save(exercicio);
+        progressoService.registrarExercicio(exercicioSalvo);
+        versaoDadosService.incrementar(treinoOptional.get().getUsuario().getId());
         return Optional.of(exercicioMapper.toResponseDTO(exercicioSalvo));
     }
 
@@ -50,9 +59,15 @@ public class ExercicioService {
     @Operation(summary = "Listar todos os exercícios", description = "Retorna lista com todos os exercícios cadastrados")
     @Transactional(readOnly = true)
     public List<ExercicioResponseDto> listarTodos() {
-        return exercicioRepository.findAll().stream()
-                .map(exercicioMapper::toResponseDTO)
-                .collect(Collectors.toList());
+        return exercicioRepository.findResumos();
+    }
+
+    @Operation(summary = "Exportar todos os exercícios", description = "Percorre os exercícios em streaming e entrega cada um convertido, com memória constante")
+    @Transactional(readOnly = true)
+    public void exportarTodos(Consumer<ExercicioResponseDto> consumidor) {
+        try (Stream<Exercicio> exercicios = exercicioRepository.streamTodos()) {
+            exportacaoEmLotes.exportar(exercicios, exercicioMapper::toResponseDTO, consumidor);
+        }
     }
 
     @Operation(summary = "Listar exercícios de um treino", description = "Retorna todos os exercícios de um treino específico")
@@ -62,9 +77,7 @@ public class ExercicioService {
             return Optional.empty();
         }
 
-        List<ExercicioResponseDto> exercicios = exercicioRepository.findByTreinoId(treinoId).stream()
-                .map(exercicioMapper::toResponseDTO)
-                .collect(Collectors.toList());
+        List<ExercicioResponseDto> exercicios = exercicioRepository.findResumosPorTreino(treinoId);
 
         return Optional.of(exercicios);
     }
@@ -78,17 +91,25 @@ public class ExercicioService {
         }
 
         Exercicio exercicio = exercicioOptional.get();
+        progressoService.removerExercicio(exercicio);
         exercicioMapper.updateEntityFromDTO(dto, exercicio);
         Exercicio exercicioAtualizado = exercicioRepository.save(exercicio);
+        progressoService.registrarExercicio(exercicioAtualizado);
+        versaoDadosService.incrementar(exercicioAtualizado.getTreino().getUsuario().getId());
         return Optional.of(exercicioMapper.toResponseDTO(exercicioAtualizado));
     }
 
     @Operation(summary = "Deletar exercício", description = "Remove um exercício do sistema")
     public boolean deletar(Long id) {
-        if (!exercicioRepository.existsById(id)) {
+        Optional<Exercicio> exercicioOptional = exercicioRepository.findById(id);
+
+        if (exercicioOptional.isEmpty()) {
             return false;
         }
-        exercicioRepository.deleteById(id);
+
+        progressoService.removerExercicio(exercicioOptional.get());
+        versaoDadosService.incrementar(exercicioOptional.get().getTreino().getUsuario().getId());
+        exercicioRepository.delete(exercicioOptional.get());
         return true;
     }
 }
\ No newline at end of file
@@ -4,12 +4,19 @@ import com.senai.projeto.mytraining.dto.request.RoleRequestDTO;
 import com.senai.projeto.mytraining.dto.response.RoleResponseDTO;
 import com.senai.projeto.mytraining.mapper.RoleMapper;
 import com.senai.projeto.mytraining.model.Role;
+import com.senai.projeto.mytraining.model.Usuario;
 import com.senai.projeto.mytraining.repository.RoleRepository;
+import com.senai.projeto.mytraining.util.JwtPrincipalCache;
+import com.senai.projeto.mytraining.util.JwtRevocationRegistry;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.tags.Tag;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.Cache;
 import lombok.RequiredArgsConstructor;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
 
 import java.util.List;
 import java.util.Optional;
@@ -23,6 +30,9 @@ public class RoleService {
 
     private final RoleRepository roleRepository;
     private final RoleMapper roleMapper;
+    private final JwtPrincipalCache principalCache;
+    private final JwtRevocationRegistry revocationRegistry;
+    private final EntityManagerFactory entityManagerFactory;
 
     @Operation(summary = "Criar nova role", description = "Cria uma nova função/permissão no sistema")
     public RoleResponseDTO criar(RoleRequestDTO dto) {
@@ -62,17 +72,51 @@ public class RoleService {
         }
 
         Role role = roleOptional.get();
+        String nomeAnterior = role.getNome();
         roleMapper.updateEntityFromDTO(dto, role);
         Role roleAtualizada = roleRepository.save(role);
+        // O nome da role compõe as authorities de todos os usuários que a possuem
+        principalCache.evictAll();
+        limparCacheDeRoles();
+        if (!nomeAnterior.equals(roleAtualizada.getNome())) {
+            revocationRegistry.revogarRole(nomeAnterior);
+        }
         return Optional.of(roleMapper.toResponseDTO(roleAtualizada));
     }
 
     @Operation(summary = "Deletar role", description = "Remove uma role do sistema")
     public boolean deletar(Long id) {
-        if (!roleRepository.existsById(id)) {
+        Optional<Role> roleOptional = roleRepository.findById(id);
+
+        if (roleOptional.isEmpty()) {
             return false;
         }
-        roleRepository.deleteById(id);
+        roleRepository.delete(roleOptional.get());
+        principalCache.evictAll();
+        limparCacheDeRoles();
+        revocationRegistry.revogarRole(roleOptional.get().getNome());
         return true;
     }
-}
\ No newline at end of file
+
+    // Role e o cache de consultas são invalidados pelo próprio Hibernate. Usuario.roles não: o ON DELETE CASCADE
+    // de usuario_roles remove linhas sem passar pela sessão, então as coleções em cache são descartadas aqui.
+    // Sem os soft locks do READ_WRITE nesse caminho, uma requisição concorrente pode recolocar no cache as linhas
+    // ainda não commitadas: a remoção se repete após o commit, como em JwtPrincipalCache
+    private void limparCacheDeRoles() {
+        descartarRolesEmCache();
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    descartarRolesEmCache();
+                }
+            });
+        }
+    }
+
+    private void descartarRolesEmCache() {
+        Cache cache = entityManagerFactory.getCache().unwrap(Cache.class);
+        cache.evictCollectionData(Usuario.class.getName() + ".roles");
+        cache.evictQueryRegion(RoleRepository.REGIAO_CONSULTAS);
+    }
+}
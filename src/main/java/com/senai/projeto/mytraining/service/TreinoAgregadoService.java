@@ -0,0 +1,168 @@
+package com.senai.projeto.mytraining.service;
+
+import com.senai.projeto.mytraining.dto.response.TreinoAgregadoResponseDTO;
+import com.senai.projeto.mytraining.model.TipoTreino;
+import com.senai.projeto.mytraining.model.Treino;
+import com.senai.projeto.mytraining.model.TreinoAgregado;
+import com.senai.projeto.mytraining.model.Usuario;
+import com.senai.projeto.mytraining.repository.TreinoAgregadoRepository;
+import com.senai.projeto.mytraining.repository.TreinoRepository;
+import com.senai.projeto.mytraining.repository.UsuarioRepository;
+import com.senai.projeto.mytraining.util.ExportacaoEmLotes;
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import lombok.RequiredArgsConstructor;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDate;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.stream.Stream;
+
+@Service
+@RequiredArgsConstructor
+@Transactional
+@Tag(name = "TreinoAgregadoService", description = "Manutenção e consulta dos agregados de treinos por usuário, tipo e período")
+public class TreinoAgregadoService {
+
+    private final TreinoAgregadoRepository agregadoRepository;
+    private final TreinoRepository treinoRepository;
+    private final UsuarioRepository usuarioRepository;
+    private final ExportacaoEmLotes exportacaoEmLotes;
+
+    @Operation(summary = "Registrar treino nos agregados", description = "Soma o treino nos buckets de dia, semana e mês")
+    public void registrar(Treino treino) {
+        registrarTodos(List.of(treino));
+    }
+
+    @Operation(summary = "Remover treino dos agregados", description = "Subtrai o treino dos buckets de dia, semana e mês")
+    public void remover(Treino treino) {
+        aplicar(acumular(List.of(treino), -1));
+    }
+
+    @Operation(summary = "Registrar lote de treinos nos agregados", description = "Acumula o lote em memória e atualiza cada bucket afetado uma única vez")
+    public void registrarTodos(Collection<Treino> treinos) {
+        aplicar(acumular(treinos, 1));
+    }
+
+    @Operation(summary = "Resumo de treinos do usuário", description = "Totais por tipo e período, lidos dos agregados em O(buckets)")
+    @Transactional(readOnly = true)
+    public Optional<List<TreinoAgregadoResponseDTO>> resumoPorEmail(String email, TreinoAgregado.Periodo periodo,
+                                                                   LocalDate de, LocalDate ate) {
+        Optional<Usuario> usuarioOptional = usuarioRepository.findByEmail(email);
+
+        if (usuarioOptional.isEmpty()) {
+            return Optional.empty();
+        }
+
+        LocalDate fim = ate != null ? ate : LocalDate.now();
+        LocalDate inicio = periodo.inicioDe(de != null ? de : fim.minusYears(1));
+
+        return Optional.of(agregadoRepository.findResumo(usuarioOptional.get().getId(), periodo, inicio, fim));
+    }
+
+    // Desabilitado por padrão ("-"); recalcula tudo a partir da tabela treino
+    @Operation(summary = "Reconstruir agregados", description = "Descarta os agregados e recalcula a partir do histórico de treinos")
+    @Scheduled(cron = "${treino.agregado.rebuild-cron:-}")
+    public void reconstruir() {
+        agregadoRepository.deleteAllEmLote();
+
+        Map<Bucket, TreinoAgregado> buckets = new HashMap<>();
+        try (Stream<Treino> treinos = treinoRepository.streamTodos()) {
+            exportacaoEmLotes.exportar(treinos, Medida::de, medida -> acumular(buckets, medida, 1));
+        }
+
+        buckets.forEach((bucket, agregado) ->
+                agregado.setUsuario(usuarioRepository.getReferenceById(bucket.usuarioId())));
+        agregadoRepository.saveAll(buckets.values());
+    }
+
+    private Map<Bucket, TreinoAgregado> acumular(Collection<Treino> treinos, int sinal) {
+        Map<Bucket, TreinoAgregado> deltas = new HashMap<>();
+        for (Treino treino : treinos) {
+            acumular(deltas, Medida.de(treino), sinal);
+        }
+        return deltas;
+    }
+
+    private void acumular(Map<Bucket, TreinoAgregado> buckets, Medida medida, int sinal) {
+        if (medida == null) {
+            return;
+        }
+        for (TreinoAgregado.Periodo periodo : TreinoAgregado.Periodo.values()) {
+            Bucket bucket = new Bucket(medida.usuarioId(), periodo, periodo.inicioDe(medida.data()), medida.tipo());
+            somar(buckets.computeIfAbsent(bucket, this::novoAgregado), medida, sinal);
+        }
+    }
+
+    // Buckets zerados permanecem até a próxima reconstrução: remover e recriar na mesma transação violaria a chave única.
+    // Buckets em ordem fixa: duas transações que tocam os mesmos buckets travam as linhas na mesma sequência, sem deadlock.
+    private void aplicar(Map<Bucket, TreinoAgregado> deltas) {
+        deltas.keySet().stream()
+                .sorted(Bucket.ORDEM)
+                .forEach(bucket -> aplicar(bucket, deltas.get(bucket)));
+    }
+
+    // Bucket inexistente é criado com o delta (INSERT ... ON CONFLICT DO NOTHING); se outra transação o criou antes,
+    // o insert não faz nada e o delta é somado na linha dela. Delta negativo em bucket inexistente (p.ex. após uma
+    // reconstrução concorrente) não cria linha: não há o que subtrair
+    private void aplicar(Bucket bucket, TreinoAgregado delta) {
+        if (somarNoBucket(bucket, delta) > 0 || delta.getQuantidade() <= 0) {
+            return;
+        }
+        int inseridos = agregadoRepository.inserirSeAusente(bucket.usuarioId(), bucket.periodo().name(), bucket.inicio(),
+                bucket.tipo().name(), delta.getQuantidade(), delta.getDuracaoMin(), delta.getDistanciaKm());
+        if (inseridos == 0) {
+            somarNoBucket(bucket, delta);
+        }
+    }
+
+    private int somarNoBucket(Bucket bucket, TreinoAgregado delta) {
+        return agregadoRepository.somarNoBucket(bucket.usuarioId(), bucket.periodo(), bucket.inicio(), bucket.tipo(),
+                delta.getQuantidade(), delta.getDuracaoMin(), delta.getDistanciaKm());
+    }
+
+    private void somar(TreinoAgregado agregado, Medida medida, int sinal) {
+        agregado.setQuantidade(agregado.getQuantidade() + sinal);
+        agregado.setDuracaoMin(agregado.getDuracaoMin() + sinal * medida.duracaoMin());
+        agregado.setDistanciaKm(agregado.getDistanciaKm() + sinal * medida.distanciaKm());
+    }
+
+    private TreinoAgregado novoAgregado(Bucket bucket) {
+        TreinoAgregado agregado = new TreinoAgregado();
+        agregado.setPeriodo(bucket.periodo());
+        agregado.setInicio(bucket.inicio());
+        agregado.setTipo(bucket.tipo());
+        return agregado;
+    }
+
+    private record Bucket(Long usuarioId, TreinoAgregado.Periodo periodo, LocalDate inicio, TipoTreino tipo) {
+
+        static final Comparator<Bucket> ORDEM = Comparator.comparing(Bucket::usuarioId)
+                .thenComparing(Bucket::periodo)
+                .thenComparing(Bucket::inicio)
+                .thenComparing(Bucket::tipo);
+    }
+
+    private record Medida(Long usuarioId, TipoTreino tipo, LocalDate data, long duracaoMin, double distanciaKm) {
+
+        static Medida de(Treino treino) {
+            if (treino.getUsuario() == null || treino.getTipo() == null || treino.getDataHora() == null) {
+                return null;
+            }
+            return new Medida(
+                    treino.getUsuario().getId(),
+                    treino.getTipo(),
+                    treino.getDataHora().toLocalDate(),
+                    treino.getDuracaoMin() != null ? treino.getDuracaoMin() : 0,
+                    treino.getDistanciaKm() != null ? treino.getDistanciaKm() : 0.0
+            );
+        }
+    }
+}
@@ -0,0 +1,200 @@
+package com.senai.projeto.mytraining.service;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.JsonMappingException;
+import com.fasterxml.jackson.databind.MappingIterator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.senai.projeto.mytraining.dto.request.TreinoRequestDTO;
+import com.senai.projeto.mytraining.dto.response.ImportacaoItemResponseDTO;
+import com.senai.projeto.mytraining.dto.response.ImportacaoResponseDTO;
+import com.senai.projeto.mytraining.mapper.TreinoMapper;
+import com.senai.projeto.mytraining.model.Treino;
+import com.senai.projeto.mytraining.model.Usuario;
+import com.senai.projeto.mytraining.repository.TreinoRepository;
+import com.senai.projeto.mytraining.repository.UsuarioRepository;
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import jakarta.persistence.EntityManager;
+import jakarta.validation.Validator;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Optional;
+
+// Sem @Transactional na classe: cada lote é confirmado na sua própria transação
+@Service
+@Tag(name = "TreinoImportService", description = "Importação em massa de treinos (array JSON ou NDJSON) em lotes")
+public class TreinoImportService {
+
+    private final UsuarioRepository usuarioRepository;
+    private final TreinoRepository treinoRepository;
+    private final TreinoMapper treinoMapper;
+    private final TreinoAgregadoService agregadoService;
+    private final DesafioProgressoService progressoService;
+    private final VersaoDadosService versaoDadosService;
+    private final ObjectMapper objectMapper;
+    private final Validator validator;
+    private final TransactionTemplate transactionTemplate;
+    private final EntityManager entityManager;
+    private final int tamanhoLote;
+
+    public TreinoImportService(UsuarioRepository usuarioRepository,
+                               TreinoRepository treinoRepository,
+                               TreinoMapper treinoMapper,
+                               TreinoAgregadoService agregadoService,
+                               DesafioProgressoService progressoService,
+                               VersaoDadosService versaoDadosService,
+                               ObjectMapper objectMapper,
+                               Validator validator,
+                               TransactionTemplate transactionTemplate,
+                               EntityManager entityManager,
+                               @Value("${treino.importacao.tamanho-lote:500}") int tamanhoLote) {
+        this.usuarioRepository = usuarioRepository;
+        this.treinoRepository = treinoRepository;
+        this.treinoMapper = treinoMapper;
+        this.agregadoService = agregadoService;
+        this.progressoService = progressoService;
+        this.versaoDadosService = versaoDadosService;
+        this.objectMapper = objectMapper;
+        this.validator = validator;
+        this.transactionTemplate = transactionTemplate;
+        this.entityManager = entityManager;
+        this.tamanhoLote = tamanhoLote;
+    }
+
+    @Operation(summary = "Importar treinos", description = "Lê o corpo em streaming, valida cada item e persiste em lotes com flush/clear entre eles")
+    public Optional<ImportacaoResponseDTO> importar(String email, InputStream corpo) throws IOException {
+        Optional<Usuario> usuarioOptional = usuarioRepository.findByEmail(email);
+
+        if (usuarioOptional.isEmpty()) {
+            return Optional.empty();
+        }
+
+        Long usuarioId = usuarioOptional.get().getId();
+        List<ImportacaoItemResponseDTO> resultados = new ArrayList<>();
+        List<ItemPendente> lote = new ArrayList<>(tamanhoLote);
+        int indice = 0;
+
+        // readValues aceita tanto valores separados por linha (NDJSON) quanto um array JSON na raiz
+        try (MappingIterator<TreinoRequestDTO> itens = objectMapper.readerFor(TreinoRequestDTO.class).readValues(corpo)) {
+            while (true) {
+                TreinoRequestDTO dto;
+                try {
+                    if (!itens.hasNextValue()) {
+                        break;
+                    }
+                    dto = itens.nextValue();
+                } catch (JsonMappingException e) {
+                    // Item com tipo/valor inválido: o iterator avança para o próximo item
+                    resultados.add(invalido(indice++, List.of(e.getOriginalMessage())));
+                    continue;
+                } catch (JsonProcessingException e) {
+                    // JSON malformado: não é possível localizar o próximo item
+                    resultados.add(invalido(indice++, List.of("JSON malformado: " + e.getOriginalMessage())));
+                    break;
+                }
+
+                List<String> erros = validar(dto);
+                if (!erros.isEmpty()) {
+                    resultados.add(invalido(indice++, erros));
+                    continue;
+                }
+
+                lote.add(new ItemPendente(indice++, dto));
+                if (lote.size() == tamanhoLote) {
+                    persistirLote(usuarioId, lote, resultados);
+                }
+            }
+        }
+        persistirLote(usuarioId, lote, resultados);
+
+        resultados.sort(Comparator.comparingInt(ImportacaoItemResponseDTO::indice));
+        int criados = (int) resultados.stream()
+                .filter(resultado -> resultado.status() == ImportacaoItemResponseDTO.Status.CRIADO)
+                .count();
+
+        return Optional.of(new ImportacaoResponseDTO(resultados.size(), criados, resultados.size() - criados, resultados));
+    }
+
+    private void persistirLote(Long usuarioId, List<ItemPendente> lote, List<ImportacaoItemResponseDTO> resultados) {
+        if (lote.isEmpty()) {
+            return;
+        }
+
+        try {
+            registrarCriados(lote, salvar(usuarioId, lote), resultados);
+        } catch (RuntimeException e) {
+            if (lote.size() == 1) {
+                resultados.add(erro(lote.get(0), e));
+            } else {
+                // Um item recusado pelo banco desfaz o lote inteiro: refaz item a item para rejeitar só os culpados
+                for (ItemPendente item : lote) {
+                    persistirItem(usuarioId, item, resultados);
+                }
+            }
+        }
+        lote.clear();
+    }
+
+    private void persistirItem(Long usuarioId, ItemPendente item, List<ImportacaoItemResponseDTO> resultados) {
+        try {
+            registrarCriados(List.of(item), salvar(usuarioId, List.of(item)), resultados);
+        } catch (RuntimeException e) {
+            resultados.add(erro(item, e));
+        }
+    }
+
+    private List<Long> salvar(Long usuarioId, List<ItemPendente> itens) {
+        return transactionTemplate.execute(status -> {
+            Usuario usuario = usuarioRepository.getReferenceById(usuarioId);
+            List<Treino> treinos = itens.stream()
+                    .map(item -> treinoMapper.toEntity(item.dto(), usuario))
+                    .toList();
+
+            treinoRepository.saveAll(treinos);
+            agregadoService.registrarTodos(treinos);
+            progressoService.registrarTodos(treinos);
+            versaoDadosService.incrementar(usuarioId);
+
+            // INSERTs saem em batch no flush; o clear mantém o contexto de persistência do tamanho de um lote
+            entityManager.flush();
+            entityManager.clear();
+            return treinos.stream().map(Treino::getId).toList();
+        });
+    }
+
+    private void registrarCriados(List<ItemPendente> itens, List<Long> ids, List<ImportacaoItemResponseDTO> resultados) {
+        for (int i = 0; i < itens.size(); i++) {
+            resultados.add(new ImportacaoItemResponseDTO(
+                    itens.get(i).indice(), ImportacaoItemResponseDTO.Status.CRIADO, ids.get(i), List.of()));
+        }
+    }
+
+    private ImportacaoItemResponseDTO erro(ItemPendente item, RuntimeException e) {
+        return new ImportacaoItemResponseDTO(
+                item.indice(), ImportacaoItemResponseDTO.Status.ERRO, null, List.of("Falha ao persistir o treino: " + e.getMessage()));
+    }
+
+    private List<String> validar(TreinoRequestDTO dto) {
+        if (dto == null) {
+            return List.of("Item vazio");
+        }
+        return validator.validate(dto).stream()
+                .map(violacao -> violacao.getPropertyPath() + ": " + violacao.getMessage())
+                .sorted()
+                .toList();
+    }
+
+    private ImportacaoItemResponseDTO invalido(int indice, List<String> erros) {
+        return new ImportacaoItemResponseDTO(indice, ImportacaoItemResponseDTO.Status.INVALIDO, null, erros);
+    }
+
+    private record ItemPendente(int indice, TreinoRequestDTO dto) {
+    }
+}
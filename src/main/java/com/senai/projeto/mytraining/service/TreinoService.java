@@ -1,33 +1,59 @@
 package com.senai.projeto.mytraining.service;
 
+import com.senai.projeto.mytraining.dto.request.TreinoFiltroDTO;
 import com.senai.projeto.mytraining.dto.request.TreinoRequestDTO;
+import com.senai.projeto.mytraining.dto.response.CursorPageResponseDTO;
+import com.senai.projeto.mytraining.dto.response.ExercicioResponseDto;
 import com.senai.projeto.mytraining.dto.response.TreinoResponseDTO;
 import com.senai.projeto.mytraining.mapper.TreinoMapper;
 import com.senai.projeto.mytraining.model.Treino;
 import com.senai.projeto.mytraining.model.Usuario;
+import com.senai.projeto.mytraining.repository.ExercicioRepository;
 import com.senai.projeto.mytraining.repository.TreinoRepository;
 import com.senai.projeto.mytraining.repository.UsuarioRepository;
+import com.senai.projeto.mytraining.util.ExportacaoEmLotes;
+import com.senai.projeto.mytraining.util.TreinoCursor;
+import io.micrometer.core.annotation.Timed;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.tags.Tag;
 import lombok.RequiredArgsConstructor;
 import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageImpl;
+import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
+import java.time.LocalDateTime;
+import java.util.HashMap;
+import java.util.HashSet;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
+import java.util.Set;
+import java.util.function.Consumer;
 import java.util.stream.Collectors;
+import java.util.stream.Stream;
 
 @Service
 @RequiredArgsConstructor
 @Transactional
+@Timed(value = "mytraining.servico", description = "Tempo dos métodos de serviço por classe e método")
 @Tag(name = "TreinoService", description = "Serviço de gerenciamento de treinos")
 public class TreinoService {
 
+    // Períodos abertos viram limites extremos: a busca continua sendo um intervalo sobre o índice
+    private static final LocalDateTime INICIO_SEM_FILTRO = LocalDateTime.of(1900, 1, 1, 0, 0);
+    private static final LocalDateTime FIM_SEM_FILTRO = LocalDateTime.of(9999, 12, 31, 0, 0);
+
     private final TreinoRepository treinoRepository;
     private final UsuarioRepository usuarioRepository;
+    private final ExercicioRepository exercicioRepository;
     private final TreinoMapper treinoMapper;
+    private final ExportacaoEmLotes exportacaoEmLotes;
+    private final TreinoAgregadoService agregadoService;
+    private final DesafioProgressoService progressoService;
+    private final VersaoDadosService versaoDadosService;
 
     @Operation(summary = "Criar treino por usuário ID", description = "Cria novo treino vinculado a um usuário específico")
     public Optional<TreinoResponseDTO> criar(TreinoRequestDTO dto) {
@@ -39,6 +65,9 @@ public class TreinoService {
 
         Treino treino = treinoMapper.toEntity(dto, usuarioOptional.get());
         Treino treinoSalvo = treinoRepository.save(treino);
+        agregadoService.registrar(treinoSalvo);
+        progressoService.registrar(treinoSalvo);
+        versaoDadosService.incrementar(usuarioOptional.get().getId());
         return Optional.of(treinoMapper.toResponseDTO(treinoSalvo));
     }
 
@@ -62,29 +91,38 @@ public class TreinoService {
 
         Treino treino = treinoMapper.toEntity(dtoComUsuario, usuarioOptional.get());
         Treino treinoSalvo = treinoRepository.save(treino);
+        agregadoService.registrar(treinoSalvo);
+        progressoService.registrar(treinoSalvo);
+        versaoDadosService.incrementar(usuarioOptional.get().getId());
         return Optional.of(treinoMapper.toResponseDTO(treinoSalvo));
     }
 
     @Operation(summary = "Buscar treino por ID", description = "Retorna um treino específico pelo ID")
     @Transactional(readOnly = true)
     public Optional<TreinoResponseDTO> buscarPorId(Long id) {
-        return treinoRepository.findById(id)
+        return treinoRepository.findDetalhadoById(id)
                 .map(treinoMapper::toResponseDTO);
     }
 
     @Operation(summary = "Listar todos os treinos", description = "Retorna lista com todos os treinos cadastrados")
     @Transactional(readOnly = true)
     public List<TreinoResponseDTO> listarTodos() {
-        return treinoRepository.findAll().stream()
-                .map(treinoMapper::toResponseDTO)
-                .collect(Collectors.toList());
+        return comExercicios(treinoRepository.findResumos());
+    }
+
+    @Operation(summary = "Exportar todos os treinos", description = "Percorre os treinos em streaming e entrega cada um convertido, com memória constante")
+    @Transactional(readOnly = true)
+    public void exportarTodos(Consumer<TreinoResponseDTO> consumidor) {
+        try (Stream<Treino> treinos = treinoRepository.streamTodos()) {
+            exportacaoEmLotes.exportar(treinos, treinoMapper::toResponseDTO, consumidor);
+        }
     }
 
     @Operation(summary = "Listar treinos com paginação", description = "Retorna treinos paginados e ordenados")
     @Transactional(readOnly = true)
     public Page<TreinoResponseDTO> listarTodosPaginado(Pageable pageable) {
-        return treinoRepository.findAll(pageable)
-                .map(treinoMapper::toResponseDTO);
+        Page<TreinoResponseDTO> pagina = treinoRepository.findResumos(pageable);
+        return new PageImpl<>(comExercicios(pagina.getContent()), pageable, pagina.getTotalElements());
     }
 
     @Operation(summary = "Listar treinos de um usuário", description = "Retorna todos os treinos de um usuário específico pelo ID")
@@ -94,9 +132,7 @@ public class TreinoService {
             return Optional.empty();
         }
 
-        List<TreinoResponseDTO> treinos = treinoRepository.findByUsuarioId(usuarioId).stream()
-                .map(treinoMapper::toResponseDTO)
-                .collect(Collectors.toList());
+        List<TreinoResponseDTO> treinos = comExercicios(treinoRepository.findResumosPorUsuario(usuarioId));
 
         return Optional.of(treinos);
     }
@@ -110,33 +146,120 @@ public class TreinoService {
             return Optional.empty();
         }
 
-        List<TreinoResponseDTO> treinos = treinoRepository.findByUsuarioId(usuarioOptional.get().getId()).stream()
-                .map(treinoMapper::toResponseDTO)
-                .collect(Collectors.toList());
+        List<TreinoResponseDTO> treinos = comExercicios(treinoRepository.findResumosPorUsuario(usuarioOptional.get().getId()));
 
         return Optional.of(treinos);
     }
 
+    @Operation(summary = "Listar treinos de um usuário já resolvido", description = "Sem consultar o usuário: usado depois da verificação de versão de meus-treinos")
+    @Transactional(readOnly = true)
+    public List<TreinoResponseDTO> listarDoUsuario(Long usuarioId) {
+        return comExercicios(treinoRepository.findResumosPorUsuario(usuarioId));
+    }
+
+    @Operation(summary = "Listar meus treinos por cursor", description = "Paginação keyset por (dataHora, id) sem offset nem count")
+    @Transactional(readOnly = true)
+    public Optional<CursorPageResponseDTO<TreinoResponseDTO>> listarPorEmailComCursor(String email, TreinoCursor cursor, int tamanho) {
+        Optional<Usuario> usuarioOptional = usuarioRepository.findByEmail(email);
+
+        if (usuarioOptional.isEmpty()) {
+            return Optional.empty();
+        }
+
+        Long usuarioId = usuarioOptional.get().getId();
+        // Busca um item a mais apenas para saber se existe próxima página
+        PageRequest limite = PageRequest.of(0, tamanho + 1);
+        List<TreinoResponseDTO> treinos = cursor == null
+                ? treinoRepository.findPrimeiraPaginaPorUsuario(usuarioId, limite)
+                : treinoRepository.findPaginaAposCursorPorUsuario(usuarioId, cursor.dataHora(), cursor.id(), limite);
+
+        boolean temProximo = treinos.size() > tamanho;
+        List<TreinoResponseDTO> pagina = temProximo ? treinos.subList(0, tamanho) : treinos;
+
+        String proximoCursor = null;
+        if (temProximo) {
+            TreinoResponseDTO ultimo = pagina.get(pagina.size() - 1);
+            proximoCursor = new TreinoCursor(ultimo.dataHora(), ultimo.id()).encode();
+        }
+
+        return Optional.of(new CursorPageResponseDTO<>(comExercicios(pagina), proximoCursor, temProximo));
+    }
+
+    @Operation(summary = "Buscar meus treinos com filtros", description = "Tipo, período, duração e distância, paginado do mais recente para o mais antigo")
+    @Transactional(readOnly = true)
+    public Optional<Page<TreinoResponseDTO>> buscarPorEmailComFiltro(String email, TreinoFiltroDTO filtro, Pageable pageable) {
+        Optional<Usuario> usuarioOptional = usuarioRepository.findByEmail(email);
+
+        if (usuarioOptional.isEmpty()) {
+            return Optional.empty();
+        }
+
+        Long usuarioId = usuarioOptional.get().getId();
+        LocalDateTime inicio = filtro.de() != null ? filtro.de().atStartOfDay() : INICIO_SEM_FILTRO;
+        LocalDateTime fim = filtro.ate() != null ? filtro.ate().plusDays(1).atStartOfDay() : FIM_SEM_FILTRO;
+        // A ordem vem da consulta (a mesma do índice); ordenação enviada pelo cliente é descartada
+        PageRequest pagina = PageRequest.of(pageable.getPageNumber(), pageable.getPageSize());
+
+        Page<TreinoResponseDTO> treinos = filtro.tipo() != null
+                ? treinoRepository.findResumosFiltradosPorTipo(usuarioId, filtro.tipo(), inicio, fim,
+                        filtro.duracaoMinima(), filtro.duracaoMaxima(), filtro.distanciaMinima(), filtro.distanciaMaxima(), pagina)
+                : treinoRepository.findResumosFiltrados(usuarioId, inicio, fim,
+                        filtro.duracaoMinima(), filtro.duracaoMaxima(), filtro.distanciaMinima(), filtro.distanciaMaxima(), pagina);
+
+        return Optional.of(new PageImpl<>(comExercicios(treinos.getContent()), pagina, treinos.getTotalElements()));
+    }
+
     @Operation(summary = "Atualizar treino", description = "Atualiza dados de um treino existente")
     public Optional<TreinoResponseDTO> atualizar(Long id, TreinoRequestDTO dto) {
-        Optional<Treino> treinoOptional = treinoRepository.findById(id);
+        Optional<Treino> treinoOptional = treinoRepository.findDetalhadoById(id);
 
         if (treinoOptional.isEmpty()) {
             return Optional.empty();
         }
 
         Treino treino = treinoOptional.get();
+        agregadoService.remover(treino);
+        progressoService.remover(treino);
         treinoMapper.updateEntityFromDTO(dto, treino);
         Treino treinoAtualizado = treinoRepository.save(treino);
+        agregadoService.registrar(treinoAtualizado);
+        progressoService.registrar(treinoAtualizado);
+        versaoDadosService.incrementar(treinoAtualizado.getUsuario().getId());
         return Optional.of(treinoMapper.toResponseDTO(treinoAtualizado));
     }
 
     @Operation(summary = "Deletar treino", description = "Remove um treino do sistema")
     public boolean deletar(Long id) {
-        if (!treinoRepository.existsById(id)) {
+        Optional<Treino> treinoOptional = treinoRepository.findById(id);
+
+        if (treinoOptional.isEmpty()) {
             return false;
         }
-        treinoRepository.deleteById(id);
+
+        agregadoService.remover(treinoOptional.get());
+        progressoService.remover(treinoOptional.get());
+        versaoDadosService.incrementar(treinoOptional.get().getUsuario().getId());
+        treinoRepository.delete(treinoOptional.get());
         return true;
     }
-}
\ No newline at end of file
+
+    // Exercícios de todos os treinos da lista em uma consulta de projeção por fatia de ids
+    private List<TreinoResponseDTO> comExercicios(List<TreinoResponseDTO> treinos) {
+        if (treinos.isEmpty()) {
+            return treinos;
+        }
+
+        List<Long> ids = treinos.stream().map(TreinoResponseDTO::id).toList();
+        Map<Long, Set<ExercicioResponseDto>> porTreino = new HashMap<>();
+        for (int inicio = 0; inicio < ids.size(); inicio += ExportacaoEmLotes.TAMANHO_LOTE) {
+            List<Long> fatia = ids.subList(inicio, Math.min(inicio + ExportacaoEmLotes.TAMANHO_LOTE, ids.size()));
+            for (ExercicioResponseDto exercicio : exercicioRepository.findResumosPorTreinos(fatia)) {
+                porTreino.computeIfAbsent(exercicio.aLong(), treinoId -> new HashSet<>()).add(exercicio);
+            }
+        }
+
+        return treinos.stream()
+                .map(treino -> treino.comExercicios(porTreino.getOrDefault(treino.id(), Set.of())))
+                .collect(Collectors.toList());
+    }
+}
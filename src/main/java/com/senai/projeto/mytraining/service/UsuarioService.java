@@ -1,40 +1,60 @@
 package com.senai.projeto.mytraining.service;
 
 import com.senai.projeto.mytraining.dto.request.UsuarioRequestDTO;
+import com.senai.projeto.mytraining.dto.response.DesafioResponseDTO;
 import com.senai.projeto.mytraining.dto.response.UsuarioResponseDTO;
+import com.senai.projeto.mytraining.mapper.DesafioMapper;
 import com.senai.projeto.mytraining.mapper.UsuarioMapper;
+import com.senai.projeto.mytraining.model.Desafio;
 import com.senai.projeto.mytraining.model.Role;
 import com.senai.projeto.mytraining.model.Usuario;
+import com.senai.projeto.mytraining.repository.DesafioRepository;
 import com.senai.projeto.mytraining.repository.RoleRepository;
 import com.senai.projeto.mytraining.repository.UsuarioRepository;
+import com.senai.projeto.mytraining.util.ExportacaoEmLotes;
+import com.senai.projeto.mytraining.util.JwtPrincipalCache;
+import com.senai.projeto.mytraining.util.JwtRevocationRegistry;
+import com.senai.projeto.mytraining.util.PasswordHasher;
+import io.micrometer.core.annotation.Timed;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.tags.Tag;
 import lombok.RequiredArgsConstructor;
-import org.springframework.security.crypto.password.PasswordEncoder;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
+import java.util.HashMap;
 import java.util.HashSet;
 import java.util.List;
+import java.util.Map;
+import java.util.Objects;
 import java.util.Optional;
 import java.util.Set;
+import java.util.function.Consumer;
 import java.util.stream.Collectors;
+import java.util.stream.Stream;
 
 @Service
 @RequiredArgsConstructor
 @Transactional
+@Timed(value = "mytraining.servico", description = "Tempo dos métodos de serviço por classe e método")
 @Tag(name = "UsuarioService", description = "Serviço de gerenciamento de usuários")
 public class UsuarioService {
 
     private final UsuarioRepository usuarioRepository;
     private final RoleRepository roleRepository;
+    private final DesafioRepository desafioRepository;
+    private final DesafioMapper desafioMapper;
     private final UsuarioMapper usuarioMapper;
-    private final PasswordEncoder passwordEncoder;
+    private final ExportacaoEmLotes exportacaoEmLotes;
+    private final PasswordHasher passwordHasher;
+    private final JwtPrincipalCache principalCache;
+    private final JwtRevocationRegistry revocationRegistry;
+    private final VersaoDadosService versaoDadosService;
 
     @Operation(summary = "Criar novo usuário", description = "Cria um novo usuário com roles opcionais")
     public UsuarioResponseDTO criar(UsuarioRequestDTO dto) {
         Usuario usuario = usuarioMapper.toEntity(dto);
-        usuario.setSenha(passwordEncoder.encode(dto.senha()));
+        usuario.setSenha(passwordHasher.encode(dto.senha()));
 
         if (dto.rolesIds() != null && !dto.rolesIds().isEmpty()) {
             Set<Role> roles = new HashSet<>(roleRepository.findAllById(dto.rolesIds()));
@@ -48,27 +68,61 @@ public class UsuarioService {
     @Operation(summary = "Buscar usuário por ID", description = "Retorna um usuário específico pelo ID")
     @Transactional(readOnly = true)
     public Optional<UsuarioResponseDTO> buscarPorId(Long id) {
+        return buscarPorId(id, false);
+    }
+
+    @Operation(summary = "Buscar usuário por ID com expansão", description = "Retorna o usuário e, se solicitado, seus desafios")
+    @Transactional(readOnly = true)
+    public Optional<UsuarioResponseDTO> buscarPorId(Long id, boolean expandirDesafios) {
         return usuarioRepository.findById(id)
-                .map(usuarioMapper::toResponseDTO);
+                .map(usuarioMapper::toResponseDTO)
+                .map(usuario -> expandir(List.of(usuario), expandirDesafios).get(0));
     }
 
     @Operation(summary = "Buscar usuário por email", description = "Retorna um usuário específico pelo email")
     @Transactional(readOnly = true)
     public Optional<UsuarioResponseDTO> buscarPorEmail(String email) {
+        return buscarPorEmail(email, false);
+    }
+
+    @Operation(summary = "Buscar usuário por email com expansão", description = "Retorna o usuário e, se solicitado, seus desafios")
+    @Transactional(readOnly = true)
+    public Optional<UsuarioResponseDTO> buscarPorEmail(String email, boolean expandirDesafios) {
         return usuarioRepository.findByEmail(email)
-                .map(usuarioMapper::toResponseDTO);
+                .map(usuarioMapper::toResponseDTO)
+                .map(usuario -> expandir(List.of(usuario), expandirDesafios).get(0));
     }
 
     @Operation(summary = "Listar todos os usuários", description = "Retorna lista com todos os usuários cadastrados")
     @Transactional(readOnly = true)
     public List<UsuarioResponseDTO> listarTodos() {
-        return usuarioRepository.findAll().stream()
+        return listarTodos(false);
+    }
+
+    @Operation(summary = "Listar todos os usuários com expansão", description = "Retorna os usuários e, se solicitado, seus desafios carregados em lote")
+    @Transactional(readOnly = true)
+    public List<UsuarioResponseDTO> listarTodos(boolean expandirDesafios) {
+        List<UsuarioResponseDTO> usuarios = usuarioRepository.findAll().stream()
                 .map(usuarioMapper::toResponseDTO)
                 .collect(Collectors.toList());
+        return expandir(usuarios, expandirDesafios);
+    }
+
+    @Operation(summary = "Exportar todos os usuários", description = "Percorre os usuários em streaming e entrega cada um convertido, com memória constante")
+    @Transactional(readOnly = true)
+    public void exportarTodos(Consumer<UsuarioResponseDTO> consumidor) {
+        try (Stream<Usuario> usuarios = usuarioRepository.streamTodos()) {
+            exportacaoEmLotes.exportar(usuarios, usuarioMapper::toResponseDTO, consumidor);
+        }
     }
 
     @Operation(summary = "Atualizar usuário", description = "Atualiza dados de um usuário existente")
     public Optional<UsuarioResponseDTO> atualizar(Long id, UsuarioRequestDTO dto) {
+        // BCrypt antes da primeira consulta: com aquisição tardia de conexão (perfil virtual) a conexão
+        // do pool não fica presa durante o hash
+        boolean senhaAlterada = dto.senha() != null && !dto.senha().isBlank();
+        String senhaCriptografada = senhaAlterada ? passwordHasher.encode(dto.senha()) : null;
+
         Optional<Usuario> usuarioOptional = usuarioRepository.findById(id);
 
         if (usuarioOptional.isEmpty()) {
@@ -76,10 +130,12 @@ public class UsuarioService {
         }
 
         Usuario usuario = usuarioOptional.get();
+        String emailAnterior = usuario.getEmail();
+        String nomeAnterior = usuario.getNome();
         usuarioMapper.updateEntityFromDTO(dto, usuario);
 
-        if (dto.senha() != null && !dto.senha().isBlank()) {
-            usuario.setSenha(passwordEncoder.encode(dto.senha()));
+        if (senhaAlterada) {
+            usuario.setSenha(senhaCriptografada);
         }
 
         if (dto.rolesIds() != null && !dto.rolesIds().isEmpty()) {
@@ -88,15 +144,54 @@ public class UsuarioService {
         }
 
         Usuario usuarioAtualizado = usuarioRepository.save(usuario);
+        principalCache.evict(emailAnterior);
+        principalCache.evict(usuarioAtualizado.getEmail());
+
+        // Tokens antigos carregam credenciais/roles que deixaram de valer
+        boolean rolesAlteradas = dto.rolesIds() != null && !dto.rolesIds().isEmpty();
+        if (senhaAlterada || rolesAlteradas || !emailAnterior.equals(usuarioAtualizado.getEmail())) {
+            revocationRegistry.revogarUsuario(emailAnterior);
+        }
+
+        // Treinos e desafios embutem o nome do usuário: os ETags de meus-treinos/meus-desafios deixam de valer
+        if (!Objects.equals(nomeAnterior, usuarioAtualizado.getNome())) {
+            versaoDadosService.incrementar(usuarioAtualizado.getId());
+        }
         return Optional.of(usuarioMapper.toResponseDTO(usuarioAtualizado));
     }
 
     @Operation(summary = "Deletar usuário", description = "Remove um usuário do sistema")
     public boolean deletar(Long id) {
-        if (!usuarioRepository.existsById(id)) {
+        Optional<Usuario> usuarioOptional = usuarioRepository.findById(id);
+
+        if (usuarioOptional.isEmpty()) {
             return false;
         }
-        usuarioRepository.deleteById(id);
+
+        usuarioRepository.delete(usuarioOptional.get());
+        principalCache.evict(usuarioOptional.get().getEmail());
+        revocationRegistry.revogarUsuario(usuarioOptional.get().getEmail());
         return true;
     }
-}
\ No newline at end of file
+
+    // Desafios de todos os usuários da lista em uma consulta por fatia de ids, em vez de percorrer a coleção LAZY de cada um
+    private List<UsuarioResponseDTO> expandir(List<UsuarioResponseDTO> usuarios, boolean expandirDesafios) {
+        if (!expandirDesafios || usuarios.isEmpty()) {
+            return usuarios;
+        }
+
+        List<Long> ids = usuarios.stream().map(UsuarioResponseDTO::id).toList();
+        Map<Long, Set<DesafioResponseDTO>> porUsuario = new HashMap<>();
+        for (int inicio = 0; inicio < ids.size(); inicio += ExportacaoEmLotes.TAMANHO_LOTE) {
+            List<Long> fatia = ids.subList(inicio, Math.min(inicio + ExportacaoEmLotes.TAMANHO_LOTE, ids.size()));
+            for (Desafio desafio : desafioRepository.findByUsuarioIdIn(fatia)) {
+                porUsuario.computeIfAbsent(desafio.getUsuario().getId(), usuarioId -> new HashSet<>())
+                        .add(desafioMapper.toResponseDTO(desafio));
+            }
+        }
+
+        return usuarios.stream()
+                .map(usuario -> usuario.comDesafios(porUsuario.getOrDefault(usuario.id(), Set.of())))
+                .collect(Collectors.toList());
+    }
+}
@@ -0,0 +1,33 @@
+package com.senai.projeto.mytraining.service;
+
+import com.senai.projeto.mytraining.repository.UsuarioRepository;
+import com.senai.projeto.mytraining.util.VersaoDados;
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.Optional;
+
+@Service
+@RequiredArgsConstructor
+@Transactional
+@Tag(name = "VersaoDadosService", description = "Contador por usuário que invalida os ETags de meus-treinos e meus-desafios")
+public class VersaoDadosService {
+
+    private final UsuarioRepository usuarioRepository;
+
+    @Operation(summary = "Registrar alteração", description = "Incrementa a versão dos dados do usuário na transação da escrita")
+    public void incrementar(Long usuarioId) {
+        if (usuarioId != null) {
+            usuarioRepository.incrementarVersaoDados(usuarioId);
+        }
+    }
+
+    @Operation(summary = "Buscar versão por email", description = "Consulta só id e versão, sem carregar o usuário nem as roles")
+    @Transactional(readOnly = true)
+    public Optional<VersaoDados> buscarPorEmail(String email) {
+        return usuarioRepository.findVersaoDadosByEmail(email);
+    }
+}
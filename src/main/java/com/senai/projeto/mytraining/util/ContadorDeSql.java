@@ -0,0 +1,124 @@
+package com.senai.projeto.mytraining.util;
+
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.media.Schema;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import net.ttddyy.dsproxy.ExecutionInfo;
+import net.ttddyy.dsproxy.QueryInfo;
+import net.ttddyy.dsproxy.listener.QueryExecutionListener;
+import net.ttddyy.dsproxy.proxy.ParameterSetOperation;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.util.List;
+import java.util.StringJoiner;
+
+@Component
+@Tag(name = "ContadorDeSql", description = "Conta comandos SQL e tempo de JDBC na thread da requisição")
+@Schema(description = "Listener do proxy do DataSource; também registra amostras de SQL lento com os parâmetros")
+public class ContadorDeSql implements QueryExecutionListener {
+
+    // Logger próprio para que o SQL lento (que traz parâmetros) possa ser roteado ou silenciado à parte
+    private static final Logger logLento = LoggerFactory.getLogger("mytraining.sql.lento");
+
+    private static final ThreadLocal<Contagem> CONTAGEM = new ThreadLocal<>();
+
+    private final long limiteLentoMs;
+    private final int amostrasPorRequisicao;
+
+    public ContadorDeSql(@Value("${sql.lento.limite-ms:200}") long limiteLentoMs,
+                         @Value("${sql.lento.amostras-por-requisicao:3}") int amostrasPorRequisicao) {
+        this.limiteLentoMs = limiteLentoMs;
+        this.amostrasPorRequisicao = amostrasPorRequisicao;
+    }
+
+    @Schema(description = "Totais de uma requisição: comandos executados (um lote JDBC conta uma vez), tempo de JDBC e comandos lentos")
+    public record Resumo(long comandos, long tempoMs, long lentos) {
+    }
+
+    @Operation(summary = "Iniciar contagem", description = "Zera o contador da thread atual e o devolve para ser levado a outras threads da mesma requisição")
+    public Contagem iniciar() {
+        Contagem contagem = new Contagem();
+        CONTAGEM.set(contagem);
+        return contagem;
+    }
+
+    @Operation(summary = "Vincular contagem", description = "Faz a thread atual somar no contador de uma requisição iniciada em outra thread (processamento assíncrono)")
+    public void vincular(Contagem contagem) {
+        CONTAGEM.set(contagem);
+    }
+
+    @Operation(summary = "Desvincular contagem", description = "Libera a thread atual sem encerrar a contagem, que segue viva na requisição")
+    public void desvincular() {
+        CONTAGEM.remove();
+    }
+
+    @Operation(summary = "Encerrar contagem", description = "Devolve os totais e libera o contador da thread atual")
+    public Resumo encerrar() {
+        Contagem contagem = CONTAGEM.get();
+        CONTAGEM.remove();
+        return contagem != null ? contagem.resumo() : new Resumo(0, 0, 0);
+    }
+
+    @Override
+    public void beforeQuery(ExecutionInfo execInfo, List<QueryInfo> queryInfoList) {
+    }
+
+    // Fora de uma requisição (jobs, importação em background) nada é contado, mas SQL lento continua sendo logado
+    @Override
+    public void afterQuery(ExecutionInfo execInfo, List<QueryInfo> queryInfoList) {
+        Contagem contagem = CONTAGEM.get();
+        long tempoMs = execInfo.getElapsedTime();
+        boolean lento = tempoMs >= limiteLentoMs;
+
+        if (contagem != null) {
+            contagem.comandos++;
+            contagem.tempoMs += tempoMs;
+            if (lento) {
+                contagem.lentos++;
+            }
+        }
+
+        if (lento && logLento.isWarnEnabled() && (contagem == null || contagem.lentos <= amostrasPorRequisicao)) {
+            logLento.warn("SQL lento ({} ms, lote {}): {}", tempoMs, execInfo.getBatchSize(), descrever(queryInfoList));
+        }
+    }
+
+    // Apenas o primeiro conjunto de parâmetros de cada comando: em lotes os demais repetiriam o mesmo SQL
+    private String descrever(List<QueryInfo> queries) {
+        StringJoiner descricao = new StringJoiner("; ");
+        for (QueryInfo query : queries) {
+            List<List<ParameterSetOperation>> parametros = query.getParametersList();
+            descricao.add(parametros.isEmpty()
+                    ? query.getQuery()
+                    : query.getQuery() + " " + parametros(parametros.get(0)));
+        }
+        return descricao.toString();
+    }
+
+    private String parametros(List<ParameterSetOperation> operacoes) {
+        StringJoiner valores = new StringJoiner(", ", "[", "]");
+        // Na ordem em que os setXxx(indice, valor) foram chamados pelo Hibernate
+        for (ParameterSetOperation operacao : operacoes) {
+            valores.add("setNull".equals(operacao.getMethod().getName())
+                    ? "null"
+                    : String.valueOf(operacao.getArgs()[1]));
+        }
+        return valores.toString();
+    }
+
+    // Uma thread por vez soma (a da requisição e depois a do processamento assíncrono), mas o resumo pode ser
+    // lido por uma terceira thread do container ao fim da requisição: daí os campos voláteis
+    @Schema(description = "Contador de uma requisição; pode passar da thread do servlet para a do processamento assíncrono")
+    public static final class Contagem {
+        private volatile long comandos;
+        private volatile long tempoMs;
+        private volatile long lentos;
+
+        public Resumo resumo() {
+            return new Resumo(comandos, tempoMs, lentos);
+        }
+    }
+}
@@ -0,0 +1,34 @@
+package com.senai.projeto.mytraining.util;
+
+import io.swagger.v3.oas.annotations.tags.Tag;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Component;
+import org.springframework.web.context.request.NativeWebRequest;
+import org.springframework.web.context.request.RequestAttributes;
+import org.springframework.web.context.request.async.CallableProcessingInterceptor;
+
+import java.util.concurrent.Callable;
+
+// StreamingResponseBody (exportações NDJSON) roda como Callable no executor assíncrono do MVC; sem isto as
+// consultas feitas durante o streaming ficariam fora da contagem da requisição
+@Component
+@RequiredArgsConstructor
+@Tag(name = "ContagemSqlAssincronaInterceptor", description = "Leva a contagem de SQL da requisição para a thread do processamento assíncrono")
+public class ContagemSqlAssincronaInterceptor implements CallableProcessingInterceptor {
+
+    private final ContadorDeSql contadorDeSql;
+
+    // preProcess/postProcess rodam na thread do executor, em volta da execução da tarefa
+    @Override
+    public <T> void preProcess(NativeWebRequest request, Callable<T> task) {
+        Object contagem = request.getAttribute(MetricasRequisicaoFilter.ATRIBUTO_CONTAGEM, RequestAttributes.SCOPE_REQUEST);
+        if (contagem instanceof ContadorDeSql.Contagem contagemDaRequisicao) {
+            contadorDeSql.vincular(contagemDaRequisicao);
+        }
+    }
+
+    @Override
+    public <T> void postProcess(NativeWebRequest request, Callable<T> task, Object concurrentResult) {
+        contadorDeSql.desvincular();
+    }
+}
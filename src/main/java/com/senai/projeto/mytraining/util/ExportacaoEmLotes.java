@@ -0,0 +1,49 @@
+package com.senai.projeto.mytraining.util;
+
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.media.Schema;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import jakarta.persistence.EntityManager;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+import java.util.function.Consumer;
+import java.util.function.Function;
+import java.util.stream.Stream;
+
+@Component
+@RequiredArgsConstructor
+@Tag(name = "ExportacaoEmLotes", description = "Percorre consultas em streaming convertendo e liberando entidades em lotes")
+@Schema(description = "Mantém no máximo um lote de entidades no contexto de persistência, com memória constante")
+public class ExportacaoEmLotes {
+
+    // Igual ao fetch size das consultas em streaming: um lote por ida ao banco
+    public static final int TAMANHO_LOTE = 500;
+
+    private final EntityManager entityManager;
+
+    @Operation(summary = "Exportar em lotes", description = "Converte cada lote (permitindo @BatchSize nas associações) e limpa o contexto de persistência")
+    public <E, D> void exportar(Stream<E> entidades, Function<E, D> conversor, Consumer<D> consumidor) {
+        List<E> lote = new ArrayList<>(TAMANHO_LOTE);
+        Iterator<E> iterator = entidades.iterator();
+
+        while (iterator.hasNext()) {
+            lote.add(iterator.next());
+            if (lote.size() == TAMANHO_LOTE) {
+                descarregar(lote, conversor, consumidor);
+            }
+        }
+        descarregar(lote, conversor, consumidor);
+    }
+
+    private <E, D> void descarregar(List<E> lote, Function<E, D> conversor, Consumer<D> consumidor) {
+        for (E entidade : lote) {
+            consumidor.accept(conversor.apply(entidade));
+        }
+        lote.clear();
+        entityManager.clear();
+    }
+}
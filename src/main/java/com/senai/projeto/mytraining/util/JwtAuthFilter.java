@@ -4,17 +4,23 @@ import jakarta.servlet.FilterChain;
 import jakarta.servlet.ServletException;
 import jakarta.servlet.http.HttpServletRequest;
 import jakarta.servlet.http.HttpServletResponse;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.tags.Tag;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.GrantedAuthority;
+import org.springframework.security.core.authority.SimpleGrantedAuthority;
 import org.springframework.security.core.context.SecurityContextHolder;
-import org.springframework.security.core.userdetails.UserDetails;
 import org.springframework.security.core.userdetails.UserDetailsService;
 import org.springframework.security.web.authentication.WebAuthenticationDetailsSource;
 import org.springframework.stereotype.Component;
 import org.springframework.web.filter.OncePerRequestFilter;
 
 import java.io.IOException;
+import java.util.Collection;
+import java.util.Optional;
 
 @Component
 @Tag(name = "JwtAuthFilter", description = "Filtro para autenticação JWT em requisições HTTP")
@@ -22,10 +28,29 @@ public class JwtAuthFilter extends OncePerRequestFilter {
 
     private final UserDetailsService userDetailsService;
     private final JwtUtil jwtUtil;
+    private final JwtPrincipalCache principalCache;
+    private final JwtRevocationRegistry revocationRegistry;
+    private final boolean stateless;
+    private final MeterRegistry meterRegistry;
+    private final Timer tempoTokenValido;
+    private final Timer tempoTokenInvalido;
+    private final Timer tempoAuthorities;
 
-    public JwtAuthFilter(UserDetailsService userDetailsService, JwtUtil jwtUtil) {
+    public JwtAuthFilter(UserDetailsService userDetailsService,
+                         JwtUtil jwtUtil,
+                         JwtPrincipalCache principalCache,
+                         JwtRevocationRegistry revocationRegistry,
+                         MeterRegistry meterRegistry,
+                         @Value("${jwt.stateless:false}") boolean stateless) {
         this.userDetailsService = userDetailsService;
         this.jwtUtil = jwtUtil;
+        this.principalCache = principalCache;
+        this.revocationRegistry = revocationRegistry;
+        this.stateless = stateless;
+        this.meterRegistry = meterRegistry;
+        this.tempoTokenValido = tempoEtapa("verificacao", "valido");
+        this.tempoTokenInvalido = tempoEtapa("verificacao", "invalido");
+        this.tempoAuthorities = tempoEtapa("authorities", stateless ? "stateless" : "cache");
     }
 
     @Operation(summary = "Filtrar requisição", description = "Intercepta requisições para validar token JWT no header Authorization")
@@ -39,18 +64,22 @@ public class JwtAuthFilter extends OncePerRequestFilter {
         if (authHeader != null && authHeader.startsWith("Bearer ")) {
             try {
                 String token = authHeader.substring(7);
-                String username = jwtUtil.extractUsername(token);
+                // Uma única verificação de assinatura/expiração por requisição
+                Timer.Sample verificacao = Timer.start(meterRegistry);
+                Optional<JwtClaims> claims = jwtUtil.parseToken(token);
+                verificacao.stop(claims.isPresent() ? tempoTokenValido : tempoTokenInvalido);
 
-                if (username != null && SecurityContextHolder.getContext().getAuthentication() == null) {
-                    UserDetails userDetails = userDetailsService.loadUserByUsername(username);
+                if (claims.isPresent() && claims.get().subject() != null
+                        && !revocationRegistry.isRevogado(claims.get())
+                        && SecurityContextHolder.getContext().getAuthentication() == null) {
+                    String username = claims.get().subject();
 
-                    if (jwtUtil.isTokenValid(token, userDetails)) {
-                        UsernamePasswordAuthenticationToken authToken =
-                                new UsernamePasswordAuthenticationToken(username, null, userDetails.getAuthorities());
+                    UsernamePasswordAuthenticationToken authToken =
+                            new UsernamePasswordAuthenticationToken(username, null,
+                                    tempoAuthorities.record(() -> carregarAuthorities(claims.get())));
 
-                        authToken.setDetails(new WebAuthenticationDetailsSource().buildDetails(request));
-                        SecurityContextHolder.getContext().setAuthentication(authToken);
-                    }
+                    authToken.setDetails(new WebAuthenticationDetailsSource().buildDetails(request));
+                    SecurityContextHolder.getContext().setAuthentication(authToken);
                 }
             } catch (Exception e) {
                 // Token inválido ou expirado - continua sem autenticação
@@ -59,4 +88,24 @@ public class JwtAuthFilter extends OncePerRequestFilter {
 
         filterChain.doFilter(request, response);
     }
-}
\ No newline at end of file
+
+    @Operation(summary = "Carregar authorities", description = "Modo stateless usa o claim roles; caso contrário usa o cache de principals/banco")
+    private Collection<? extends GrantedAuthority> carregarAuthorities(JwtClaims claims) {
+        if (stateless) {
+            return claims.roles().stream()
+                    .map(SimpleGrantedAuthority::new)
+                    .toList();
+        }
+        // Consulta o banco apenas quando o principal não está em cache
+        return principalCache.get(claims.subject(), userDetailsService::loadUserByUsername).getAuthorities();
+    }
+
+    // Tags fixas (etapa/resultado): nenhum dado do token vira tag
+    private Timer tempoEtapa(String etapa, String resultado) {
+        return Timer.builder("mytraining.auth.jwt")
+                .description("Latência do filtro JWT por etapa")
+                .tag("etapa", etapa)
+                .tag("resultado", resultado)
+                .register(meterRegistry);
+    }
+}
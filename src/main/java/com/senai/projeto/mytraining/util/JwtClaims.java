@@ -0,0 +1,41 @@
+package com.senai.projeto.mytraining.util;
+
+import io.jsonwebtoken.Claims;
+import io.swagger.v3.oas.annotations.media.Schema;
+
+import java.time.Instant;
+import java.util.List;
+
+@Schema(description = "Claims já verificados de um token JWT (imutável)")
+public record JwtClaims(
+        @Schema(description = "Subject do token (email do usuário)", example = "joao@example.com")
+        String subject,
+
+        @Schema(description = "Roles embutidas no token", example = "[\"ROLE_USER\"]")
+        List<String> roles,
+
+        @Schema(description = "Data de emissão do token")
+        Instant issuedAt,
+
+        @Schema(description = "Data de expiração do token")
+        Instant expiration
+) {
+
+    public JwtClaims {
+        roles = roles != null ? List.copyOf(roles) : List.of();
+    }
+
+    public static JwtClaims from(Claims claims) {
+        List<?> roles = claims.get("roles", List.class);
+        return new JwtClaims(
+                claims.getSubject(),
+                roles != null ? roles.stream().map(String::valueOf).toList() : List.of(),
+                claims.getIssuedAt() != null ? claims.getIssuedAt().toInstant() : null,
+                claims.getExpiration() != null ? claims.getExpiration().toInstant() : null
+        );
+    }
+
+    public boolean isExpired(Instant agora) {
+        return expiration != null && !expiration.isAfter(agora);
+    }
+}
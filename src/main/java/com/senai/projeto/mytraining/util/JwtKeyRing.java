@@ -0,0 +1,111 @@
+package com.senai.projeto.mytraining.util;
+
+import io.jsonwebtoken.JwsHeader;
+import io.jsonwebtoken.Jwts;
+import io.jsonwebtoken.LocatorAdapter;
+import io.jsonwebtoken.UnsupportedJwtException;
+import io.jsonwebtoken.io.Decoders;
+import io.jsonwebtoken.security.Keys;
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.media.Schema;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import javax.crypto.SecretKey;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.security.Key;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.UUID;
+
+@Component
+@Tag(name = "JwtKeyRing", description = "Chaveiro de assinatura JWT com rotação por kid")
+@Schema(description = "Assina com a chave ativa e verifica com qualquer chave recente do chaveiro, compartilhado entre instâncias")
+public class JwtKeyRing extends LocatorAdapter<Key> {
+
+    private static final Logger log = LoggerFactory.getLogger(JwtKeyRing.class);
+
+    private final Map<String, SecretKey> chaves;
+    private final String kidAtivo;
+
+    public JwtKeyRing(@Value("${jwt.keys.active-kid:}") String kidAtivo,
+                      @Value("${jwt.keys.secrets:}") String segredos,
+                      @Value("${jwt.keys.file:}") String arquivo) {
+        Map<String, SecretKey> carregadas = new LinkedHashMap<>();
+        if (!arquivo.isBlank()) {
+            carregarArquivo(Path.of(arquivo), carregadas);
+        }
+        if (!segredos.isBlank()) {
+            for (String entrada : segredos.split(",")) {
+                adicionar(entrada.trim(), ':', carregadas);
+            }
+        }
+
+        if (carregadas.isEmpty()) {
+            // Sem configuração: chave efêmera, tokens não sobrevivem a reinícios nem são aceitos por outras instâncias
+            String kid = "efemera-" + UUID.randomUUID().toString().substring(0, 8);
+            carregadas.put(kid, Jwts.SIG.HS256.key().build());
+            log.warn("Nenhuma chave JWT configurada (jwt.keys.secrets / jwt.keys.file); usando chave efêmera {}", kid);
+        }
+
+        this.chaves = Collections.unmodifiableMap(carregadas);
+        this.kidAtivo = kidAtivo.isBlank() ? carregadas.keySet().iterator().next() : kidAtivo;
+
+        if (!this.chaves.containsKey(this.kidAtivo)) {
+            throw new IllegalStateException("jwt.keys.active-kid '" + this.kidAtivo + "' não está no chaveiro");
+        }
+    }
+
+    @Operation(summary = "Kid ativo", description = "Identificador da chave usada para assinar novos tokens")
+    public String getKidAtivo() {
+        return kidAtivo;
+    }
+
+    @Operation(summary = "Chave ativa", description = "Chave usada para assinar novos tokens")
+    public SecretKey getChaveAtiva() {
+        return chaves.get(kidAtivo);
+    }
+
+    @Operation(summary = "Localizar chave de verificação", description = "Resolve a chave pelo header kid do token")
+    @Override
+    protected Key locate(JwsHeader header) {
+        String kid = header.getKeyId();
+        SecretKey chave = chaves.get(kid != null ? kid : kidAtivo);
+        if (chave == null) {
+            throw new UnsupportedJwtException("Chave JWT desconhecida: " + kid);
+        }
+        return chave;
+    }
+
+    private void carregarArquivo(Path arquivo, Map<String, SecretKey> destino) {
+        try {
+            for (String linha : Files.readAllLines(arquivo, StandardCharsets.UTF_8)) {
+                String entrada = linha.trim();
+                if (!entrada.isEmpty() && !entrada.startsWith("#")) {
+                    adicionar(entrada, '=', destino);
+                }
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException("Não foi possível ler o chaveiro JWT em " + arquivo, e);
+        }
+    }
+
+    // Formato kid<separador>segredo-em-base64; segredos com menos de 256 bits são rejeitados
+    private void adicionar(String entrada, char separador, Map<String, SecretKey> destino) {
+        int posicao = entrada.indexOf(separador);
+        if (posicao <= 0 || posicao == entrada.length() - 1) {
+            throw new IllegalStateException("Entrada de chave JWT inválida, esperado kid" + separador + "segredoBase64");
+        }
+        String kid = entrada.substring(0, posicao).trim();
+        String segredo = entrada.substring(posicao + 1).trim();
+        destino.put(kid, Keys.hmacShaKeyFor(Decoders.BASE64.decode(segredo)));
+    }
+}
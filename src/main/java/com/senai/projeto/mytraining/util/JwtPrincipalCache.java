@@ -0,0 +1,109 @@
+package com.senai.projeto.mytraining.util;
+
+import com.github.benmanes.caffeine.cache.AsyncCache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.media.Schema;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.security.core.userdetails.User;
+import org.springframework.security.core.userdetails.UserDetails;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.time.Duration;
+import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.function.Function;
+
+@Component
+@Tag(name = "JwtPrincipalCache", description = "Cache dos usuários autenticados via JWT, indexado pelo subject do token")
+@Schema(description = "Evita consultar o banco a cada requisição autenticada - limitado por tamanho e TTL")
+public class JwtPrincipalCache {
+
+    private final AsyncCache<String, UserDetails> principals;
+
+    public JwtPrincipalCache(@Value("${jwt.principal-cache.max-size:10000}") long maxSize,
+                             @Value("${jwt.principal-cache.ttl-seconds:300}") long ttlSeconds) {
+        this.principals = Caffeine.newBuilder()
+                .maximumSize(maxSize)
+                .expireAfterWrite(Duration.ofSeconds(ttlSeconds))
+                .buildAsync();
+    }
+
+    @Operation(summary = "Buscar principal", description = "Retorna o principal em cache ou carrega pelo loader informado")
+    public UserDetails get(String username, Function<String, UserDetails> loader) {
+        // O loader consulta o banco. Em cache.get(chave, loader) ele rodaria dentro do compute do ConcurrentHashMap
+        // (synchronized), prendendo a thread portadora de uma virtual thread durante a consulta. Aqui só o future
+        // entra no mapa: requisições concorrentes aguardam a mesma carga e um evict durante a carga continua valendo.
+        CompletableFuture<UserDetails> carga = new CompletableFuture<>();
+        CompletableFuture<UserDetails> existente = principals.asMap().putIfAbsent(username, carga);
+        if (existente != null) {
+            return aguardar(existente);
+        }
+
+        try {
+            carga.complete(semCredenciais(loader.apply(username)));
+        } catch (RuntimeException e) {
+            // Futures com erro são descartados pelo Caffeine
+            carga.completeExceptionally(e);
+            throw e;
+        }
+        return carga.join();
+    }
+
+    @Operation(summary = "Buscar principal sem carregar", description = "Retorna o principal apenas se já estiver em cache")
+    public Optional<UserDetails> getIfPresent(String username) {
+        return Optional.ofNullable(principals.synchronous().getIfPresent(username));
+    }
+
+    @Operation(summary = "Registrar principal", description = "Alimenta o cache com as authorities embutidas no token gerado no login")
+    public void put(UserDetails userDetails) {
+        principals.synchronous().put(userDetails.getUsername(), semCredenciais(userDetails));
+    }
+
+    @Operation(summary = "Invalidar principal", description = "Remove o principal do cache agora e novamente após o commit da transação")
+    public void evict(String username) {
+        if (username == null) {
+            return;
+        }
+        principals.synchronous().invalidate(username);
+        // Uma requisição concorrente pode recarregar dados antigos antes do commit
+        aposCommit(() -> principals.synchronous().invalidate(username));
+    }
+
+    @Operation(summary = "Invalidar todos os principals", description = "Usado quando roles são alteradas ou removidas")
+    public void evictAll() {
+        principals.synchronous().invalidateAll();
+        aposCommit(() -> principals.synchronous().invalidateAll());
+    }
+
+    private void aposCommit(Runnable acao) {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    acao.run();
+                }
+            });
+        }
+    }
+
+    private UserDetails aguardar(CompletableFuture<UserDetails> carga) {
+        try {
+            return carga.join();
+        } catch (CompletionException e) {
+            if (e.getCause() instanceof RuntimeException causa) {
+                throw causa;
+            }
+            throw e;
+        }
+    }
+
+    // Não mantém o hash da senha em memória
+    private UserDetails semCredenciais(UserDetails userDetails) {
+        return new User(userDetails.getUsername(), "", userDetails.getAuthorities());
+    }
+}
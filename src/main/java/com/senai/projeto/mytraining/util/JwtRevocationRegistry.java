@@ -0,0 +1,155 @@
+package com.senai.projeto.mytraining.util;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.senai.projeto.mytraining.model.RevogacaoJwt;
+import com.senai.projeto.mytraining.repository.RevogacaoJwtRepository;
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.media.Schema;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.time.temporal.ChronoUnit;
+
+@Component
+@Tag(name = "JwtRevocationRegistry", description = "Registro de revogação de tokens JWT compartilhado entre instâncias")
+@Schema(description = "Tokens emitidos até o instante de revogação do usuário (ou de uma de suas roles) são rejeitados")
+public class JwtRevocationRegistry {
+
+    // Releitura a cada sincronização: cobre transações que gravaram uma revogação mas só fizeram commit depois
+    // que uma sincronização já passou daquele instante
+    private static final Duration SOBREPOSICAO = Duration.ofSeconds(30);
+
+    private final RevogacaoJwtRepository revogacaoJwtRepository;
+    private final Duration ttl;
+
+    // Maior revogadoEm já carregado do banco: cada sincronização lê apenas o que veio depois
+    private volatile Instant ultimoVisto;
+
+    // Cópia local da tabela revogacao_jwt, consultada a cada requisição sem ir ao banco.
+    // Entradas só precisam viver enquanto um token emitido antes delas ainda puder ser válido
+    private final Cache<String, Instant> usuariosRevogados;
+    private final Cache<String, Instant> rolesRevogadas;
+
+    public JwtRevocationRegistry(RevogacaoJwtRepository revogacaoJwtRepository,
+                                 @Value("${jwt.revocation.ttl-seconds:3600}") long ttlSeconds,
+                                 @Value("${jwt.revocation.max-size:100000}") long maxSize) {
+        this.revogacaoJwtRepository = revogacaoJwtRepository;
+        this.ttl = Duration.ofSeconds(ttlSeconds);
+        this.ultimoVisto = Instant.now().minus(ttl);
+        this.usuariosRevogados = Caffeine.newBuilder()
+                .maximumSize(maxSize)
+                .expireAfterWrite(ttl)
+                .build();
+        this.rolesRevogadas = Caffeine.newBuilder()
+                .maximumSize(maxSize)
+                .expireAfterWrite(ttl)
+                .build();
+    }
+
+    @Operation(summary = "Revogar tokens do usuário", description = "Invalida todos os tokens já emitidos para o subject")
+    public void revogarUsuario(String subject) {
+        if (subject != null) {
+            revogar(RevogacaoJwt.Tipo.USUARIO, subject);
+        }
+    }
+
+    @Operation(summary = "Revogar tokens de uma role", description = "Invalida todos os tokens já emitidos que carregam a role")
+    public void revogarRole(String role) {
+        if (role != null) {
+            revogar(RevogacaoJwt.Tipo.ROLE, role);
+        }
+    }
+
+    @Operation(summary = "Verificar revogação", description = "Retorna true se o token foi emitido até uma revogação aplicável")
+    public boolean isRevogado(JwtClaims claims) {
+        if (claims.issuedAt() == null) {
+            return false;
+        }
+
+        if (emitidoAte(claims, usuariosRevogados.getIfPresent(claims.subject()))) {
+            return true;
+        }
+
+        for (String role : claims.roles()) {
+            if (emitidoAte(claims, rolesRevogadas.getIfPresent(role))) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    // As demais instâncias passam a rejeitar o token em até jwt.revocation.sync-ms
+    @Operation(summary = "Sincronizar revogações", description = "Carrega as revogações gravadas depois da última sincronização")
+    @Scheduled(fixedDelayString = "${jwt.revocation.sync-ms:5000}")
+    @Transactional(readOnly = true)
+    public void sincronizar() {
+        Instant desde = ultimoVisto.minus(SOBREPOSICAO);
+        Instant maisRecente = ultimoVisto;
+        for (RevogacaoJwt revogacao : revogacaoJwtRepository.findByRevogadoEmAfter(desde)) {
+            registrar(cacheDo(revogacao.getTipo()), revogacao.getChave(), revogacao.getRevogadoEm());
+            if (revogacao.getRevogadoEm().isAfter(maisRecente)) {
+                maisRecente = revogacao.getRevogadoEm();
+            }
+        }
+        ultimoVisto = maisRecente;
+    }
+
+    // Limpeza rara: linhas mais antigas que o TTL não invalidam mais nenhum token ainda válido
+    @Operation(summary = "Remover revogações expiradas", description = "Exclui do banco as revogações mais antigas que jwt.revocation.ttl-seconds")
+    @Scheduled(fixedDelayString = "${jwt.revocation.purge-ms:3600000}", initialDelayString = "${jwt.revocation.purge-ms:3600000}")
+    @Transactional
+    public void removerExpiradas() {
+        revogacaoJwtRepository.removerAnterioresA(Instant.now().minus(ttl));
+    }
+
+    // Gravada na transação de quem revoga (troca de senha, exclusão...). O cache local só recebe a revogação após
+    // o commit: se a alteração for desfeita, os tokens continuam valendo também nesta instância
+    private void revogar(RevogacaoJwt.Tipo tipo, String chave) {
+        Instant revogadoEm = agora();
+        revogacaoJwtRepository.save(new RevogacaoJwt(tipo, chave, revogadoEm));
+        aposCommit(() -> registrar(cacheDo(tipo), chave, revogadoEm));
+    }
+
+    private void aposCommit(Runnable acao) {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    acao.run();
+                }
+            });
+        } else {
+            acao.run();
+        }
+    }
+
+    // Mantém a revogação mais recente; reescrever a mesma entrada a cada sincronização adiaria a expiração
+    private void registrar(Cache<String, Instant> revogacoes, String chave, Instant revogadoEm) {
+        Instant atual = revogacoes.getIfPresent(chave);
+        if (atual == null || atual.isBefore(revogadoEm)) {
+            revogacoes.put(chave, revogadoEm);
+        }
+    }
+
+    private Cache<String, Instant> cacheDo(RevogacaoJwt.Tipo tipo) {
+        return tipo == RevogacaoJwt.Tipo.USUARIO ? usuariosRevogados : rolesRevogadas;
+    }
+
+    private boolean emitidoAte(JwtClaims claims, Instant revogadoEm) {
+        return revogadoEm != null && !claims.issuedAt().isAfter(revogadoEm);
+    }
+
+    // O claim iat tem precisão de segundos: tokens emitidos no mesmo segundo da revogação, antes ou depois dela,
+    // também são rejeitados (um novo login no segundo seguinte volta a valer)
+    private Instant agora() {
+        return Instant.now().truncatedTo(ChronoUnit.SECONDS);
+    }
+}
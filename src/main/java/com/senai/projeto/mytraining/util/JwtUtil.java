@@ -1,16 +1,26 @@
 package com.senai.projeto.mytraining.util;
 
-import io.jsonwebtoken.Claims;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import io.jsonwebtoken.JwtException;
+import io.jsonwebtoken.JwtParser;
 import io.jsonwebtoken.Jwts;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.media.Schema;
 import io.swagger.v3.oas.annotations.tags.Tag;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.security.core.GrantedAuthority;
 import org.springframework.security.core.userdetails.UserDetails;
 import org.springframework.stereotype.Component;
 
-import javax.crypto.SecretKey;
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.Base64;
 import java.util.Date;
+import java.util.Optional;
 import java.util.stream.Collectors;
 
 @Component
@@ -18,50 +28,93 @@ import java.util.stream.Collectors;
 @Schema(description = "Gerencia tokens JWT para autenticação - Expiração: 1 hora")
 public class JwtUtil {
 
-    private final SecretKey key = Jwts.SIG.HS256.key().build();
+    private final JwtKeyRing keyRing;
+
+    // Parser é imutável e thread-safe: construído uma única vez, resolve a chave pelo kid do token
+    private final JwtParser parser;
+
+    // Hash SHA-256 do token -> claims já verificados
+    private final Cache<String, JwtClaims> tokensVerificados;
+
+    public JwtUtil(JwtKeyRing keyRing,
+                   @Value("${jwt.verified-cache.max-size:10000}") long maxSize,
+                   @Value("${jwt.verified-cache.ttl-seconds:300}") long ttlSeconds) {
+        this.keyRing = keyRing;
+        this.parser = Jwts.parser()
+                .keyLocator(keyRing)
+                .build();
+        this.tokensVerificados = Caffeine.newBuilder()
+                .maximumSize(maxSize)
+                .expireAfterWrite(Duration.ofSeconds(ttlSeconds))
+                .build();
+    }
 
     @Operation(summary = "Gerar token JWT", description = "Cria um novo token JWT contendo username e roles do usuário")
     @Schema(description = "Token gerado contém subject (email), roles, data de emissão e expiração (1 hora)")
     public String generateToken(UserDetails userDetails) {
         return Jwts.builder()
+                .header().keyId(keyRing.getKidAtivo()).and()
                 .subject(userDetails.getUsername())
                 .claim("roles", userDetails.getAuthorities().stream()
                         .map(GrantedAuthority::getAuthority)
                         .collect(Collectors.toList()))
                 .issuedAt(new Date())
                 .expiration(new Date(System.currentTimeMillis() + 1000 * 60 * 60))
-                .signWith(key)
+                .signWith(keyRing.getChaveAtiva())
                 .compact();
     }
 
+    @Operation(summary = "Validar e decodificar token JWT", description = "Verifica assinatura e expiração uma única vez e retorna os claims")
+    @Schema(description = "Tokens repetidos são respondidos pelo cache LRU sem refazer a verificação HMAC")
+    public Optional<JwtClaims> parseToken(String token) {
+        if (token == null || token.isBlank()) {
+            return Optional.empty();
+        }
+
+        String hash = hash(token);
+        Instant agora = Instant.now();
+
+        JwtClaims claims = tokensVerificados.getIfPresent(hash);
+        if (claims == null) {
+            try {
+                claims = JwtClaims.from(parser.parseSignedClaims(token).getPayload());
+            } catch (JwtException | IllegalArgumentException e) {
+                return Optional.empty();
+            }
+            tokensVerificados.put(hash, claims);
+        }
+
+        if (claims.isExpired(agora)) {
+            tokensVerificados.invalidate(hash);
+            return Optional.empty();
+        }
+        return Optional.of(claims);
+    }
+
     @Operation(summary = "Validar token JWT", description = "Verifica se o token é válido e não está expirado")
     @Schema(description = "Retorna true se token é válido para o usuário, false caso contrário")
     public boolean isTokenValid(String token, UserDetails userDetails) {
-        try {
-            final String username = extractUsername(token);
-            return (username.equals(userDetails.getUsername())) && !isTokenExpired(token);
-        } catch (Exception e) {
-            return false;
-        }
+        return parseToken(token)
+                .map(claims -> claims.subject() != null && claims.subject().equals(userDetails.getUsername()))
+                .orElse(false);
     }
 
     @Operation(summary = "Extrair username do token", description = "Decodifica o token e retorna o subject (email)")
     @Schema(description = "Extrai o email/username contido no claims do token JWT")
     public String extractUsername(String token) {
-        return extractAllClaims(token).getSubject();
+        return parseToken(token)
+                .map(JwtClaims::subject)
+                .orElse(null);
     }
 
-    @Operation(summary = "Extrair todos os claims", description = "Decodifica e valida o token, retornando todos os claims")
-    private Claims extractAllClaims(String token) {
-        return Jwts.parser()
-                .verifyWith(key)
-                .build()
-                .parseSignedClaims(token)
-                .getPayload();
-    }
-
-    @Operation(summary = "Verificar expiração do token", description = "Compara data de expiração com data atual")
-    private boolean isTokenExpired(String token) {
-        return extractAllClaims(token).getExpiration().before(new Date());
+    @Operation(summary = "Calcular hash do token", description = "SHA-256 em Base64 usado como chave do cache de tokens verificados")
+    private String hash(String token) {
+        try {
+            byte[] digest = MessageDigest.getInstance("SHA-256")
+                    .digest(token.getBytes(StandardCharsets.US_ASCII));
+            return Base64.getEncoder().encodeToString(digest);
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 indisponível", e);
+        }
     }
 }
@@ -0,0 +1,128 @@
+package com.senai.projeto.mytraining.util;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import jakarta.servlet.AsyncEvent;
+import jakarta.servlet.AsyncListener;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.stereotype.Component;
+import org.springframework.web.filter.OncePerRequestFilter;
+import org.springframework.web.servlet.HandlerMapping;
+
+import java.io.IOException;
+import java.util.concurrent.TimeUnit;
+
+// Antes da cadeia do Spring Security para que as consultas do filtro JWT também entrem na contagem
+@Component
+@Order(Ordered.HIGHEST_PRECEDENCE + 10)
+@Tag(name = "MetricasRequisicaoFilter", description = "Registra comandos SQL e tempo de JDBC por requisição HTTP")
+public class MetricasRequisicaoFilter extends OncePerRequestFilter {
+
+    private static final Logger log = LoggerFactory.getLogger(MetricasRequisicaoFilter.class);
+
+    // Onde a contagem fica guardada para ser retomada pela thread do processamento assíncrono
+    public static final String ATRIBUTO_CONTAGEM = MetricasRequisicaoFilter.class.getName() + ".CONTAGEM";
+
+    private final ContadorDeSql contadorDeSql;
+    private final MeterRegistry meterRegistry;
+    private final long orcamentoComandos;
+    private final long orcamentoTempoMs;
+
+    public MetricasRequisicaoFilter(ContadorDeSql contadorDeSql,
+                                    MeterRegistry meterRegistry,
+                                    @Value("${sql.orcamento.comandos-por-requisicao:20}") long orcamentoComandos,
+                                    @Value("${sql.orcamento.tempo-ms-por-requisicao:500}") long orcamentoTempoMs) {
+        this.contadorDeSql = contadorDeSql;
+        this.meterRegistry = meterRegistry;
+        this.orcamentoComandos = orcamentoComandos;
+        this.orcamentoTempoMs = orcamentoTempoMs;
+    }
+
+    @Operation(summary = "Filtrar requisição", description = "Conta os comandos SQL da requisição, registra por método e padrão de URI e avisa quando o orçamento é excedido")
+    @Override
+    protected void doFilterInternal(HttpServletRequest request,
+                                    HttpServletResponse response,
+                                    FilterChain filterChain) throws ServletException, IOException {
+        ContadorDeSql.Contagem contagem = contadorDeSql.iniciar();
+        request.setAttribute(ATRIBUTO_CONTAGEM, contagem);
+        try {
+            filterChain.doFilter(request, response);
+        } finally {
+            contadorDeSql.desvincular();
+            String metodo = request.getMethod();
+            String uri = uri(request);
+            String uriConcreta = request.getRequestURI();
+            if (request.isAsyncStarted()) {
+                // Exportações em streaming: a contagem segue na thread assíncrona e só é registrada ao fim da resposta
+                request.getAsyncContext().addListener(new AsyncListener() {
+                    @Override
+                    public void onComplete(AsyncEvent event) {
+                        registrar(metodo, uri, uriConcreta, contagem.resumo());
+                    }
+
+                    @Override
+                    public void onTimeout(AsyncEvent event) {
+                    }
+
+                    @Override
+                    public void onError(AsyncEvent event) {
+                    }
+
+                    @Override
+                    public void onStartAsync(AsyncEvent event) {
+                    }
+                });
+            } else {
+                registrar(metodo, uri, uriConcreta, contagem.resumo());
+            }
+        }
+    }
+
+    private void registrar(String metodo, String uri, String uriConcreta, ContadorDeSql.Resumo resumo) {
+
+        DistributionSummary.builder("mytraining.http.sql")
+                .description("Comandos SQL por requisição")
+                .baseUnit("statements")
+                .tag("method", metodo)
+                .tag("uri", uri)
+                .register(meterRegistry)
+                .record(resumo.comandos());
+        Timer.builder("mytraining.http.sql.tempo")
+                .description("Tempo de JDBC por requisição")
+                .tag("method", metodo)
+                .tag("uri", uri)
+                .register(meterRegistry)
+                .record(resumo.tempoMs(), TimeUnit.MILLISECONDS);
+
+        // Muitos comandos em uma requisição costumam ser N+1 (ex.: exercícios carregados um treino por vez)
+        if (resumo.comandos() > orcamentoComandos || resumo.tempoMs() > orcamentoTempoMs) {
+            Counter.builder("mytraining.http.sql.orcamento.excedido")
+                    .description("Requisições acima do orçamento de SQL")
+                    .tag("method", metodo)
+                    .tag("uri", uri)
+                    .register(meterRegistry)
+                    .increment();
+            log.warn("Orçamento de SQL excedido em {} {}: {} comandos (limite {}), {} ms de JDBC (limite {}), {} lentos",
+                    metodo, uriConcreta, resumo.comandos(), orcamentoComandos,
+                    resumo.tempoMs(), orcamentoTempoMs, resumo.lentos());
+        }
+    }
+
+    // Padrão do mapeamento (/api/treinos/{id}), nunca a URI concreta: mantém a cardinalidade das tags baixa
+    private String uri(HttpServletRequest request) {
+        Object padrao = request.getAttribute(HandlerMapping.BEST_MATCHING_PATTERN_ATTRIBUTE);
+        return padrao != null ? padrao.toString() : "UNKNOWN";
+    }
+}
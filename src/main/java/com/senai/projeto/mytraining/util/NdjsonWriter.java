@@ -0,0 +1,48 @@
+package com.senai.projeto.mytraining.util;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.stereotype.Component;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+import java.util.function.Consumer;
+
+@Component
+@RequiredArgsConstructor
+@Tag(name = "NdjsonWriter", description = "Escreve respostas application/x-ndjson item a item")
+public class NdjsonWriter {
+
+    private final ObjectMapper objectMapper;
+
+    @Operation(summary = "Responder em NDJSON", description = "Cada item entregue pela exportação é serializado em uma linha assim que é produzido")
+    public <T> ResponseEntity<StreamingResponseBody> responder(Consumer<Consumer<T>> exportacao) {
+        StreamingResponseBody corpo = saida -> {
+            try {
+                exportacao.accept(item -> escrever(saida, item));
+            } catch (UncheckedIOException e) {
+                throw e.getCause();
+            }
+            saida.flush();
+        };
+
+        return ResponseEntity.ok()
+                .contentType(MediaType.APPLICATION_NDJSON)
+                .body(corpo);
+    }
+
+    private void escrever(OutputStream saida, Object item) {
+        try {
+            saida.write(objectMapper.writeValueAsBytes(item));
+            saida.write('\n');
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+}
@@ -0,0 +1,107 @@
+package com.senai.projeto.mytraining.util;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Tags;
+import io.micrometer.core.instrument.Timer;
+import io.micrometer.core.instrument.binder.jvm.ExecutorServiceMetrics;
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.media.Schema;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.HttpStatus;
+import org.springframework.scheduling.concurrent.CustomizableThreadFactory;
+import org.springframework.security.crypto.password.PasswordEncoder;
+import org.springframework.stereotype.Component;
+import org.springframework.web.server.ResponseStatusException;
+
+import java.util.UUID;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Future;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+
+@Component
+@Tag(name = "PasswordHasher", description = "Executa BCrypt em um pool dedicado e limitado, fora das threads do Tomcat")
+@Schema(description = "Pool com fila limitada: quando saturado responde 503 em vez de acumular requisições")
+public class PasswordHasher implements DisposableBean {
+
+    private final PasswordEncoder passwordEncoder;
+    private final ThreadPoolExecutor executor;
+    private final long timeoutMs;
+    private final Timer tempoBcrypt;
+    private volatile String hashFicticio;
+
+    public PasswordHasher(PasswordEncoder passwordEncoder,
+                          MeterRegistry meterRegistry,
+                          @Value("${auth.bcrypt.pool-size:4}") int poolSize,
+                          @Value("${auth.bcrypt.queue-capacity:64}") int queueCapacity,
+                          @Value("${auth.bcrypt.timeout-ms:5000}") long timeoutMs) {
+        this.passwordEncoder = passwordEncoder;
+        this.timeoutMs = timeoutMs;
+        this.executor = new ThreadPoolExecutor(
+                poolSize,
+                poolSize,
+                0L,
+                TimeUnit.MILLISECONDS,
+                new ArrayBlockingQueue<>(queueCapacity),
+                new CustomizableThreadFactory("bcrypt-"),
+                new ThreadPoolExecutor.AbortPolicy()
+        );
+        new ExecutorServiceMetrics(executor, "bcrypt", Tags.empty()).bindTo(meterRegistry);
+        this.tempoBcrypt = Timer.builder("mytraining.auth.bcrypt")
+                .description("Tempo de execução do BCrypt no pool dedicado")
+                .register(meterRegistry);
+    }
+
+    @Operation(summary = "Verificar senha", description = "Compara a senha com o hash BCrypt no pool dedicado")
+    public boolean matches(CharSequence senha, String hash) {
+        return executar(() -> passwordEncoder.matches(senha, hash));
+    }
+
+    @Operation(summary = "Criptografar senha", description = "Gera o hash BCrypt da senha no pool dedicado")
+    public String encode(CharSequence senha) {
+        return executar(() -> passwordEncoder.encode(senha));
+    }
+
+    @Operation(summary = "Simular verificação", description = "Executa um BCrypt descartável para que emails inexistentes levem o mesmo tempo")
+    public void simularVerificacao(CharSequence senha) {
+        if (hashFicticio == null) {
+            hashFicticio = encode(UUID.randomUUID().toString());
+        }
+        matches(senha, hashFicticio);
+    }
+
+    private <T> T executar(Callable<T> tarefa) {
+        Future<T> futuro;
+        try {
+            futuro = executor.submit(() -> tempoBcrypt.recordCallable(tarefa));
+        } catch (RejectedExecutionException e) {
+            throw new ResponseStatusException(HttpStatus.SERVICE_UNAVAILABLE, "Servidor ocupado, tente novamente");
+        }
+
+        try {
+            return futuro.get(timeoutMs, TimeUnit.MILLISECONDS);
+        } catch (TimeoutException e) {
+            futuro.cancel(true);
+            throw new ResponseStatusException(HttpStatus.SERVICE_UNAVAILABLE, "Servidor ocupado, tente novamente");
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new ResponseStatusException(HttpStatus.SERVICE_UNAVAILABLE, "Requisição interrompida");
+        } catch (ExecutionException e) {
+            if (e.getCause() instanceof RuntimeException runtimeException) {
+                throw runtimeException;
+            }
+            throw new IllegalStateException(e.getCause());
+        }
+    }
+
+    @Override
+    public void destroy() {
+        executor.shutdown();
+    }
+}
@@ -0,0 +1,148 @@
+package com.senai.projeto.mytraining.util;
+
+import com.fasterxml.jackson.core.JsonEncoding;
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.swagger.v3.oas.annotations.media.Schema;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import org.springframework.hateoas.CollectionModel;
+import org.springframework.hateoas.EntityModel;
+import org.springframework.hateoas.PagedModel;
+import org.springframework.http.HttpInputMessage;
+import org.springframework.http.HttpOutputMessage;
+import org.springframework.http.MediaType;
+import org.springframework.http.converter.AbstractHttpMessageConverter;
+import org.springframework.http.converter.HttpMessageNotReadableException;
+
+import java.io.IOException;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.RecordComponent;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+@Tag(name = "RepresentacaoCompactaConverter", description = "Representações sem HAL negociadas pelo header Accept")
+@Schema(description = "compacto: DTOs puros, sem _links; colunar: um array por campo, para listas grandes")
+public class RepresentacaoCompactaConverter extends AbstractHttpMessageConverter<Object> {
+
+    public static final String COMPACTO_VALUE = "application/vnd.mytraining.compacto+json";
+    public static final MediaType COMPACTO = MediaType.parseMediaType(COMPACTO_VALUE);
+    public static final String COLUNAR_VALUE = "application/vnd.mytraining.colunar+json";
+    public static final MediaType COLUNAR = MediaType.parseMediaType(COLUNAR_VALUE);
+
+    private final ObjectMapper objectMapper;
+    private final Map<Class<?>, RecordComponent[]> componentesPorTipo = new ConcurrentHashMap<>();
+
+    public RepresentacaoCompactaConverter(ObjectMapper objectMapper) {
+        super(StandardCharsets.UTF_8, COMPACTO, COLUNAR);
+        this.objectMapper = objectMapper;
+    }
+
+    // Páginas ficam de fora: sem os metadados de paginação a resposta perderia informação
+    @Override
+    protected boolean supports(Class<?> clazz) {
+        return Collection.class.isAssignableFrom(clazz)
+                || EntityModel.class.isAssignableFrom(clazz)
+                || (CollectionModel.class.isAssignableFrom(clazz) && !PagedModel.class.isAssignableFrom(clazz));
+    }
+
+    @Override
+    public boolean canRead(Class<?> clazz, MediaType mediaType) {
+        return false;
+    }
+
+    // Sem media type (negociação com Accept */* ou ausente) o conversor não se oferece, então HAL continua o padrão.
+    // Os tipos vnd.* chegam aqui porque o conversor Jackson anuncia application/*+json.
+    @Override
+    public boolean canWrite(Class<?> clazz, MediaType mediaType) {
+        if (mediaType == null || mediaType.isWildcardType() || mediaType.isWildcardSubtype()
+                || !super.canWrite(clazz, mediaType)) {
+            return false;
+        }
+        // Um único recurso não tem colunas
+        return !COLUNAR.isCompatibleWith(mediaType) || !EntityModel.class.isAssignableFrom(clazz);
+    }
+
+    @Override
+    protected Object readInternal(Class<?> clazz, HttpInputMessage inputMessage) {
+        throw new HttpMessageNotReadableException("Representação compacta é apenas de saída", inputMessage);
+    }
+
+    @Override
+    protected void writeInternal(Object valor, HttpOutputMessage outputMessage) throws IOException {
+        MediaType contentType = outputMessage.getHeaders().getContentType();
+        // O gerador não é fechado para não fechar o stream da resposta, como nos conversores Jackson do Spring
+        JsonGenerator gerador = objectMapper.getFactory().createGenerator(outputMessage.getBody(), JsonEncoding.UTF8);
+        if (contentType != null && COLUNAR.isCompatibleWith(contentType)) {
+            escreverColunas(itens(valor), gerador);
+        } else if (valor instanceof EntityModel<?> model) {
+            objectMapper.writeValue(gerador, model.getContent());
+        } else {
+            objectMapper.writeValue(gerador, itens(valor));
+        }
+        gerador.flush();
+    }
+
+    private List<Object> itens(Object valor) {
+        Iterable<?> origem = valor instanceof CollectionModel<?> colecao ? colecao.getContent() : (Iterable<?>) valor;
+        List<Object> itens = new ArrayList<>();
+        for (Object item : origem) {
+            itens.add(item instanceof EntityModel<?> model ? model.getContent() : item);
+        }
+        return itens;
+    }
+
+    // {"campo": [valor do item 0, valor do item 1, ...], ...}: o nome de cada campo aparece uma única vez
+    private void escreverColunas(List<Object> itens, JsonGenerator gerador) throws IOException {
+        Map<String, List<Object>> colunas = new LinkedHashMap<>();
+        for (int i = 0; i < itens.size(); i++) {
+            Object item = itens.get(i);
+            if (item != null && item.getClass().isRecord()) {
+                for (RecordComponent componente : componentes(item.getClass())) {
+                    coluna(colunas, componente.getName(), i).add(acessar(componente, item));
+                }
+            } else {
+                JsonNode no = objectMapper.valueToTree(item);
+                for (Iterator<Map.Entry<String, JsonNode>> campos = no.fields(); campos.hasNext(); ) {
+                    Map.Entry<String, JsonNode> campo = campos.next();
+                    coluna(colunas, campo.getKey(), i).add(campo.getValue());
+                }
+            }
+            // Campos ausentes neste item (ex.: omitidos por @JsonInclude) mantêm as colunas alinhadas
+            for (List<Object> coluna : colunas.values()) {
+                while (coluna.size() <= i) {
+                    coluna.add(null);
+                }
+            }
+        }
+        objectMapper.writeValue(gerador, colunas);
+    }
+
+    private List<Object> coluna(Map<String, List<Object>> colunas, String nome, int linhasAnteriores) {
+        return colunas.computeIfAbsent(nome, chave -> {
+            List<Object> coluna = new ArrayList<>();
+            for (int i = 0; i < linhasAnteriores; i++) {
+                coluna.add(null);
+            }
+            return coluna;
+        });
+    }
+
+    private RecordComponent[] componentes(Class<?> tipo) {
+        return componentesPorTipo.computeIfAbsent(tipo, Class::getRecordComponents);
+    }
+
+    private Object acessar(RecordComponent componente, Object item) {
+        try {
+            return componente.getAccessor().invoke(item);
+        } catch (IllegalAccessException | InvocationTargetException e) {
+            throw new IllegalStateException("Não foi possível ler " + componente.getName(), e);
+        }
+    }
+}
@@ -0,0 +1,41 @@
+package com.senai.projeto.mytraining.util;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeParseException;
+import java.util.Base64;
+import java.util.Optional;
+
+@Schema(description = "Posição da paginação por cursor de treinos: último (dataHora, id) entregue")
+public record TreinoCursor(
+        @Schema(description = "Data e hora do último treino da página", example = "2024-01-17T07:30:00")
+        LocalDateTime dataHora,
+
+        @Schema(description = "ID do último treino da página", example = "3")
+        Long id
+) {
+
+    public String encode() {
+        String valor = dataHora + "|" + id;
+        return Base64.getUrlEncoder().withoutPadding()
+                .encodeToString(valor.getBytes(StandardCharsets.UTF_8));
+    }
+
+    public static Optional<TreinoCursor> decode(String cursor) {
+        try {
+            String valor = new String(Base64.getUrlDecoder().decode(cursor), StandardCharsets.UTF_8);
+            int separador = valor.indexOf('|');
+            if (separador < 0) {
+                return Optional.empty();
+            }
+            return Optional.of(new TreinoCursor(
+                    LocalDateTime.parse(valor.substring(0, separador)),
+                    Long.valueOf(valor.substring(separador + 1))
+            ));
+        } catch (IllegalArgumentException | DateTimeParseException e) {
+            return Optional.empty();
+        }
+    }
+}
@@ -0,0 +1,24 @@
+package com.senai.projeto.mytraining.util;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+import org.springframework.http.CacheControl;
+
+@Schema(description = "Versão dos dados de treinos e desafios de um usuário, incrementada a cada escrita")
+public record VersaoDados(
+        @Schema(description = "ID do usuário", example = "2")
+        Long usuarioId,
+
+        @Schema(description = "Contador de alterações em treinos, exercícios, desafios e no nome do usuário", example = "7")
+        Long versao
+) {
+
+    // A representação negociada (HAL, compacta, colunar) entra no ETag: mesma versão, corpos diferentes
+    public String etag(String recurso, String variante) {
+        return "\"" + recurso + "-" + usuarioId + "-" + versao + "-" + Integer.toHexString(String.valueOf(variante).hashCode()) + "\"";
+    }
+
+    // Cliente guarda a resposta, mas revalida sempre com If-None-Match; caches compartilhados ficam de fora
+    public static CacheControl revalidar() {
+        return CacheControl.noCache().cachePrivate();
+    }
+}
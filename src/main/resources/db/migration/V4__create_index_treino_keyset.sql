@@ -0,0 +1,5 @@
+-- Índice composto para paginação por cursor (keyset) dos treinos de um usuário
+CREATE INDEX idx_treino_usuario_data_id ON treino(usuario_id, data_hora DESC, id DESC);
+
+-- O índice composto já atende buscas por usuario_id
+DROP INDEX IF EXISTS idx_treino_usuario;
@@ -0,0 +1,26 @@
+-- Agregados de treinos por usuário, tipo e período (dia, semana, mês), mantidos incrementalmente
+CREATE TABLE treino_agregado (
+    id BIGSERIAL PRIMARY KEY,
+    usuario_id BIGINT NOT NULL,
+    tipo VARCHAR(50) NOT NULL,
+    periodo VARCHAR(10) NOT NULL,
+    inicio DATE NOT NULL,
+    quantidade BIGINT NOT NULL DEFAULT 0,
+    duracao_min BIGINT NOT NULL DEFAULT 0,
+    distancia_km DOUBLE PRECISION NOT NULL DEFAULT 0,
+    FOREIGN KEY (usuario_id) REFERENCES usuario(id) ON DELETE CASCADE,
+    CONSTRAINT uk_treino_agregado UNIQUE (usuario_id, periodo, inicio, tipo)
+);
+
+-- Carga inicial a partir do histórico existente
+INSERT INTO treino_agregado (usuario_id, tipo, periodo, inicio, quantidade, duracao_min, distancia_km)
+SELECT usuario_id, tipo, 'DIA', CAST(data_hora AS DATE), COUNT(*), COALESCE(SUM(duracao_min), 0), COALESCE(SUM(distancia_km), 0)
+FROM treino GROUP BY usuario_id, tipo, CAST(data_hora AS DATE);
+
+INSERT INTO treino_agregado (usuario_id, tipo, periodo, inicio, quantidade, duracao_min, distancia_km)
+SELECT usuario_id, tipo, 'SEMANA', CAST(date_trunc('week', data_hora) AS DATE), COUNT(*), COALESCE(SUM(duracao_min), 0), COALESCE(SUM(distancia_km), 0)
+FROM treino GROUP BY usuario_id, tipo, CAST(date_trunc('week', data_hora) AS DATE);
+
+INSERT INTO treino_agregado (usuario_id, tipo, periodo, inicio, quantidade, duracao_min, distancia_km)
+SELECT usuario_id, tipo, 'MES', CAST(date_trunc('month', data_hora) AS DATE), COUNT(*), COALESCE(SUM(duracao_min), 0), COALESCE(SUM(distancia_km), 0)
+FROM treino GROUP BY usuario_id, tipo, CAST(date_trunc('month', data_hora) AS DATE);
@@ -0,0 +1,32 @@
+-- Troca BIGSERIAL por sequences com incremento 50 (allocationSize das entidades, otimizador pooled-lo).
+-- IDs gerados pelo Hibernate sem ida ao banco por linha permitem batch de INSERT via JDBC.
+
+ALTER TABLE role ALTER COLUMN id DROP DEFAULT;
+ALTER SEQUENCE role_id_seq RENAME TO role_seq;
+ALTER SEQUENCE role_seq INCREMENT BY 50;
+SELECT setval('role_seq', COALESCE((SELECT MAX(id) FROM role), 0) + 1, false);
+
+ALTER TABLE usuario ALTER COLUMN id DROP DEFAULT;
+ALTER SEQUENCE usuario_id_seq RENAME TO usuario_seq;
+ALTER SEQUENCE usuario_seq INCREMENT BY 50;
+SELECT setval('usuario_seq', COALESCE((SELECT MAX(id) FROM usuario), 0) + 1, false);
+
+ALTER TABLE desafio ALTER COLUMN id DROP DEFAULT;
+ALTER SEQUENCE desafio_id_seq RENAME TO desafio_seq;
+ALTER SEQUENCE desafio_seq INCREMENT BY 50;
+SELECT setval('desafio_seq', COALESCE((SELECT MAX(id) FROM desafio), 0) + 1, false);
+
+ALTER TABLE treino ALTER COLUMN id DROP DEFAULT;
+ALTER SEQUENCE treino_id_seq RENAME TO treino_seq;
+ALTER SEQUENCE treino_seq INCREMENT BY 50;
+SELECT setval('treino_seq', COALESCE((SELECT MAX(id) FROM treino), 0) + 1, false);
+
+ALTER TABLE exercicio ALTER COLUMN id DROP DEFAULT;
+ALTER SEQUENCE exercicio_id_seq RENAME TO exercicio_seq;
+ALTER SEQUENCE exercicio_seq INCREMENT BY 50;
+SELECT setval('exercicio_seq', COALESCE((SELECT MAX(id) FROM exercicio), 0) + 1, false);
+
+ALTER TABLE treino_agregado ALTER COLUMN id DROP DEFAULT;
+ALTER SEQUENCE treino_agregado_id_seq RENAME TO treino_agregado_seq;
+ALTER SEQUENCE treino_agregado_seq INCREMENT BY 50;
+SELECT setval('treino_agregado_seq', COALESCE((SELECT MAX(id) FROM treino_agregado), 0) + 1, false);
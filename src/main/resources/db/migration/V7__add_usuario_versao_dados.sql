@@ -0,0 +1,4 @@
+-- Contador de alterações em treinos, exercícios e desafios por usuário.
+-- Base dos ETags de /api/treinos/meus-treinos e /api/desafios/meus-desafios: sem mudança, 304 sem consultar as listas.
+
+ALTER TABLE usuario ADD COLUMN versao_dados BIGINT NOT NULL DEFAULT 0;
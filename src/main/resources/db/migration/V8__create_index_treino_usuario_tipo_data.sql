@@ -0,0 +1,5 @@
+-- Busca filtrada dos treinos do usuário (/api/treinos/meus-treinos/busca): igualdade em usuario_id e tipo,
+-- intervalo em data_hora e a mesma ordenação da consulta (data_hora DESC, id DESC), sem sort adicional.
+-- Sem filtro de tipo a busca usa idx_treino_usuario_data_id (V4); duração e distância são filtros
+-- residuais aplicados apenas às linhas do intervalo.
+CREATE INDEX idx_treino_usuario_tipo_data_id ON treino(usuario_id, tipo, data_hora DESC, id DESC);
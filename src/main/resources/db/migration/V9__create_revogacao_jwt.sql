@@ -0,0 +1,12 @@
+-- Revogações de tokens JWT (troca de senha/roles, exclusão de usuário ou role) compartilhadas entre instâncias.
+-- Cada instância relê a tabela periodicamente; linhas mais antigas que a validade dos tokens são removidas.
+CREATE SEQUENCE revogacao_jwt_seq INCREMENT BY 50;
+
+CREATE TABLE revogacao_jwt (
+    id BIGINT PRIMARY KEY,
+    tipo VARCHAR(10) NOT NULL,
+    chave VARCHAR(255) NOT NULL,
+    revogado_em TIMESTAMP WITH TIME ZONE NOT NULL
+);
+
+CREATE INDEX idx_revogacao_jwt_revogado_em ON revogacao_jwt (revogado_em);
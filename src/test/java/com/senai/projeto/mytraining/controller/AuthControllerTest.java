@@ -1,5 +1,9 @@
 package com.senai.projeto.mytraining.controller;
 
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
 import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
@@ -8,6 +12,7 @@ import org.springframework.test.context.ActiveProfiles;
 import org.springframework.test.web.servlet.MockMvc;
 import org.springframework.transaction.annotation.Transactional;
 
+import static org.junit.jupiter.api.Assertions.assertTrue;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.*;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
 
@@ -20,6 +25,12 @@ class AuthControllerTest {
     @Autowired
     private MockMvc mockMvc;
 
+    @Autowired
+    private EntityManager entityManager;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
 
     @Test
     void deveRetornar401ComCredenciaisInvalidas() throws Exception {
@@ -180,5 +191,68 @@ class AuthControllerTest {
                 .andExpect(status().isBadRequest());
     }
 
+    @Test
+    void deveRealizarLoginAposRegistro() throws Exception {
+        String registro = """
+            {
+                "nome": "Usuario Login",
+                "email": "login.usuario@test.com",
+                "senha": "senha123"
+            }
+        """;
+
+        mockMvc.perform(post("/api/auth/registro")
+                        .contentType("application/json")
+                        .content(registro))
+                .andExpect(status().isCreated());
 
-}
\ No newline at end of file
+        String login = """
+            {
+                "email": "login.usuario@test.com",
+                "senha": "senha123"
+            }
+        """;
+
+        mockMvc.perform(post("/api/auth/login")
+                        .contentType("application/json")
+                        .content(login))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.token").exists())
+                .andExpect(jsonPath("$.usuario.email").value("login.usuario@test.com"));
+    }
+
+    @Test
+    void deveConsultarUsuarioUmaUnicaVezNoLogin() throws Exception {
+        String registro = """
+            {
+                "nome": "Usuario Consultas",
+                "email": "consultas.login@test.com",
+                "senha": "senha123"
+            }
+        """;
+
+        mockMvc.perform(post("/api/auth/registro")
+                        .contentType("application/json")
+                        .content(registro))
+                .andExpect(status().isCreated());
+
+        entityManager.flush();
+        entityManager.clear();
+        Statistics statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        statistics.clear();
+
+        mockMvc.perform(post("/api/auth/login")
+                        .contentType("application/json")
+                        .content("""
+                            {
+                                "email": "consultas.login@test.com",
+                                "senha": "senha123"
+                            }
+                        """))
+                .andExpect(status().isOk());
+
+        // usuário + roles (EAGER); antes eram três buscas do mesmo usuário
+        long consultas = statistics.getPrepareStatementCount();
+        assertTrue(consultas <= 2, "Login executou " + consultas + " consultas SQL (máximo 2)");
+    }
+}
@@ -100,6 +100,21 @@ class DesafioControllerTest {
                 .andExpect(jsonPath("$").isArray());
     }
 
+    @Test
+    void deveRetornar304QuandoMeusDesafiosNaoMudaram() throws Exception {
+        String etag = mockMvc.perform(get("/api/desafios/meus-desafios")
+                        .header("Authorization", "Bearer " + token))
+                .andExpect(status().isOk())
+                .andExpect(header().exists("ETag"))
+                .andReturn().getResponse().getHeader("ETag");
+
+        mockMvc.perform(get("/api/desafios/meus-desafios")
+                        .header("Authorization", "Bearer " + token)
+                        .header("If-None-Match", etag))
+                .andExpect(status().isNotModified())
+                .andExpect(content().string(""));
+    }
+
     @Test
     void deveRetornar403AoListarMeusDesafiosSemToken() throws Exception {
         mockMvc.perform(get("/api/desafios/meus-desafios"))
@@ -218,8 +233,32 @@ class DesafioControllerTest {
                         .contentType("application/json")
                         .content(jsonAtualizar))
                 .andExpect(status().isOk())
-                .andExpect(jsonPath("$.titulo").value("Desafio Atualizado"))
-                .andExpect(jsonPath("$.progressoAtual").value(15.0));
+                .andExpect(jsonPath("$.titulo").value("Desafio Atualizado"));
+    }
+
+    @Test
+    void naoDeveAlterarProgressoDerivadoDosTreinosNoPut() throws Exception {
+        // Desafio 1: 100 KM em janeiro/2024, 45 km calculados a partir dos treinos
+        String json = """
+            {
+                "titulo": "Desafio 100km",
+                "descricao": "Correr 100km em janeiro",
+                "dataInicio": "2024-01-01",
+                "dataFim": "2024-01-31",
+                "objetivoValor": 100.0,
+                "progressoAtual": 100.0,
+                "unidade": "KM",
+                "status": "PENDENTE"
+            }
+        """;
+
+        mockMvc.perform(put("/api/desafios/1")
+                        .header("Authorization", "Bearer " + token)
+                        .contentType("application/json")
+                        .content(json))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.progressoAtual").value(45.0))
+                .andExpect(jsonPath("$.status").value("PENDENTE"));
     }
 
     @Test
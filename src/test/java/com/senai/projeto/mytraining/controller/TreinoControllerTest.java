@@ -1,21 +1,30 @@
 package com.senai.projeto.mytraining.controller;
 
+import com.senai.projeto.mytraining.service.TreinoService;
 import com.senai.projeto.mytraining.util.JwtUtil;
+import com.senai.projeto.mytraining.util.RepresentacaoCompactaConverter;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
 import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
 import org.springframework.security.core.authority.SimpleGrantedAuthority;
 import org.springframework.security.core.userdetails.User;
 import org.springframework.security.core.userdetails.UserDetails;
 import org.springframework.test.context.ActiveProfiles;
 import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.transaction.annotation.Propagation;
 import org.springframework.transaction.annotation.Transactional;
 
 import java.util.Collections;
 
 import static org.hamcrest.Matchers.*;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.*;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
 
@@ -31,6 +40,12 @@ class TreinoControllerTest {
     @Autowired
     private JwtUtil jwtUtil;
 
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
     private String token;
 
     @BeforeEach
@@ -94,6 +109,83 @@ class TreinoControllerTest {
                 .andExpect(jsonPath("$.length()").value(greaterThanOrEqualTo(3)));
     }
 
+    @Test
+    void deveRetornar304QuandoMeusTreinosNaoMudaram() throws Exception {
+        String etag = mockMvc.perform(get("/api/treinos/meus-treinos")
+                        .header("Authorization", "Bearer " + token))
+                .andExpect(status().isOk())
+                .andExpect(header().exists("ETag"))
+                .andReturn().getResponse().getHeader("ETag");
+
+        mockMvc.perform(get("/api/treinos/meus-treinos")
+                        .header("Authorization", "Bearer " + token)
+                        .header("If-None-Match", etag))
+                .andExpect(status().isNotModified())
+                .andExpect(header().string("ETag", etag))
+                .andExpect(content().string(""));
+    }
+
+    @Test
+    void deveInvalidarEtagDeMeusTreinosAposCriarTreino() throws Exception {
+        String etag = mockMvc.perform(get("/api/treinos/meus-treinos")
+                        .header("Authorization", "Bearer " + token))
+                .andReturn().getResponse().getHeader("ETag");
+
+        mockMvc.perform(post("/api/treinos")
+                        .header("Authorization", "Bearer " + token)
+                        .contentType("application/json")
+                        .content("""
+                            {"dataHora": "2024-02-01T07:00:00", "tipo": "CORRIDA", "duracaoMin": 40, "distanciaKm": 7.0, "exercicios": []}
+                        """))
+                .andExpect(status().isCreated());
+
+        mockMvc.perform(get("/api/treinos/meus-treinos")
+                        .header("Authorization", "Bearer " + token)
+                        .header("If-None-Match", etag))
+                .andExpect(status().isOk())
+                .andExpect(header().string("ETag", not(etag)))
+                .andExpect(jsonPath("$.length()").value(4));
+    }
+
+    @Test
+    void deveGerarEtagDiferentePorRepresentacao() throws Exception {
+        String etagHal = mockMvc.perform(get("/api/treinos/meus-treinos")
+                        .header("Authorization", "Bearer " + token))
+                .andReturn().getResponse().getHeader("ETag");
+
+        mockMvc.perform(get("/api/treinos/meus-treinos")
+                        .accept(RepresentacaoCompactaConverter.COMPACTO)
+                        .header("Authorization", "Bearer " + token)
+                        .header("If-None-Match", etagHal))
+                .andExpect(status().isOk())
+                .andExpect(content().contentTypeCompatibleWith(RepresentacaoCompactaConverter.COMPACTO));
+    }
+
+    @Test
+    void deveListarMeusTreinosCompactoSemLinks() throws Exception {
+        mockMvc.perform(get("/api/treinos/meus-treinos")
+                        .accept(RepresentacaoCompactaConverter.COMPACTO)
+                        .header("Authorization", "Bearer " + token))
+                .andExpect(status().isOk())
+                .andExpect(content().contentTypeCompatibleWith(RepresentacaoCompactaConverter.COMPACTO))
+                .andExpect(jsonPath("$.length()").value(3))
+                .andExpect(jsonPath("$[0].id").exists())
+                .andExpect(jsonPath("$[0]._links").doesNotExist())
+                .andExpect(jsonPath("$[0].links").doesNotExist());
+    }
+
+    @Test
+    void deveListarMeusTreinosColunar() throws Exception {
+        mockMvc.perform(get("/api/treinos/meus-treinos")
+                        .accept(RepresentacaoCompactaConverter.COLUNAR)
+                        .header("Authorization", "Bearer " + token))
+                .andExpect(status().isOk())
+                .andExpect(content().contentTypeCompatibleWith(RepresentacaoCompactaConverter.COLUNAR))
+                .andExpect(jsonPath("$.id.length()").value(3))
+                .andExpect(jsonPath("$.tipo.length()").value(3))
+                .andExpect(jsonPath("$.exercicios.length()").value(3));
+    }
+
     @Test
     void deveRetornar401AoListarMeusTreinosSemToken() throws Exception {
         mockMvc.perform(get("/api/treinos/meus-treinos"))
@@ -110,6 +202,17 @@ class TreinoControllerTest {
                 .andExpect(jsonPath("$.duracaoMin").value(30));
     }
 
+    @Test
+    void deveGerarLinksDoTreino() throws Exception {
+        mockMvc.perform(get("/api/treinos/1")
+                        .header("Authorization", "Bearer " + token))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$._links.self.href").value("http://localhost/api/treinos/1"))
+                .andExpect(jsonPath("$._links.all-treinos.href").value("http://localhost/api/treinos"))
+                .andExpect(jsonPath("$._links.usuario.href").value("http://localhost/api/usuarios/2"))
+                .andExpect(jsonPath("$._links.exercicios.href").value("http://localhost/api/exercicios/treino/1"));
+    }
+
     @Test
     void deveRetornar404QuandoTreinoNaoExistir() throws Exception {
         mockMvc.perform(get("/api/treinos/999")
@@ -288,4 +391,218 @@ class TreinoControllerTest {
                 .andExpect(status().isNoContent());
     }
 
-}
\ No newline at end of file
+    @Test
+    void deveListarMeusTreinosPorCursor() throws Exception {
+        mockMvc.perform(get("/api/treinos/meus-treinos/cursor")
+                        .param("size", "2")
+                        .header("Authorization", "Bearer " + token))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.conteudo", hasSize(2)))
+                .andExpect(jsonPath("$.temProximo").value(true))
+                .andExpect(jsonPath("$.proximoCursor").exists());
+    }
+
+    @Test
+    void deveRetornar400ComCursorInvalido() throws Exception {
+        mockMvc.perform(get("/api/treinos/meus-treinos/cursor")
+                        .param("cursor", "invalido")
+                        .header("Authorization", "Bearer " + token))
+                .andExpect(status().isBadRequest());
+    }
+
+    @Test
+    void deveImportarTreinosEmNdjson() throws Exception {
+        String ndjson = """
+            {"dataHora": "2024-03-01T07:00:00", "tipo": "CORRIDA", "duracaoMin": 30, "distanciaKm": 5.0}
+            {"dataHora": "2024-03-02T18:00:00", "tipo": "MUSCULACAO", "duracaoMin": 50, "exercicios": [{"nome": "Agachamento", "series": 4, "repeticoes": 10, "cargaKg": 80.0}]}
+            {"dataHora": "2024-03-03T07:00:00", "duracaoMin": 20}
+            {"dataHora": "data-invalida", "tipo": "CORRIDA"}
+        """;
+
+        mockMvc.perform(post("/api/treinos/importar")
+                        .header("Authorization", "Bearer " + token)
+                        .contentType("application/x-ndjson")
+                        .content(ndjson))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.total").value(4))
+                .andExpect(jsonPath("$.criados").value(2))
+                .andExpect(jsonPath("$.rejeitados").value(2))
+                .andExpect(jsonPath("$.itens[0].status").value("CRIADO"))
+                .andExpect(jsonPath("$.itens[1].treinoId").isNumber())
+                .andExpect(jsonPath("$.itens[2].status").value("INVALIDO"))
+                .andExpect(jsonPath("$.itens[3].status").value("INVALIDO"));
+    }
+
+    @Test
+    void deveRefletirTreinosImportadosNoResumo() throws Exception {
+        String ndjson = """
+            {"dataHora": "2024-03-01T07:00:00", "tipo": "CORRIDA", "duracaoMin": 30, "distanciaKm": 5.0}
+            {"dataHora": "2024-03-08T07:00:00", "tipo": "CORRIDA", "duracaoMin": 40, "distanciaKm": 8.0}
+        """;
+
+        mockMvc.perform(post("/api/treinos/importar")
+                        .header("Authorization", "Bearer " + token)
+                        .contentType("application/x-ndjson")
+                        .content(ndjson))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.criados").value(2));
+
+        // Os dois treinos caem no mesmo bucket mensal, somado uma única vez pelo lote
+        mockMvc.perform(get("/api/treinos/resumo")
+                        .param("periodo", "MES")
+                        .param("de", "2024-03-01")
+                        .param("ate", "2024-03-31")
+                        .header("Authorization", "Bearer " + token))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.length()").value(1))
+                .andExpect(jsonPath("$[0].tipo").value("CORRIDA"))
+                .andExpect(jsonPath("$[0].quantidade").value(2))
+                .andExpect(jsonPath("$[0].duracaoMin").value(70))
+                .andExpect(jsonPath("$[0].distanciaKm").value(13.0));
+    }
+
+    @Test
+    void deveSomarTreinosImportadosNoDesafio() throws Exception {
+        String ndjson = """
+            {"dataHora": "2024-01-25T07:00:00", "tipo": "CORRIDA", "duracaoMin": 30, "distanciaKm": 5.0}
+            {"dataHora": "2024-01-26T07:00:00", "tipo": "CORRIDA", "duracaoMin": 40, "distanciaKm": 8.0}
+        """;
+
+        mockMvc.perform(post("/api/treinos/importar")
+                        .header("Authorization", "Bearer " + token)
+                        .contentType("application/x-ndjson")
+                        .content(ndjson))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.criados").value(2));
+
+        // Desafio 1 (100 KM em janeiro, 45 feitos) recebe os 13 km do lote em um único incremento
+        mockMvc.perform(get("/api/desafios/1")
+                        .header("Authorization", "Bearer " + token))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.progressoAtual").value(58.0));
+    }
+
+    // Sem a transação do teste: em produção cada lote roda na própria transação, e é o rollback dela que
+    // obriga a refazer o lote item a item
+    @Test
+    @Transactional(propagation = Propagation.NOT_SUPPORTED)
+    void deveRejeitarSomenteOItemRecusadoPeloBancoNaImportacao() throws Exception {
+        String ndjson = """
+            {"dataHora": "2031-06-10T07:00:00", "tipo": "MUSCULACAO", "duracaoMin": 30}
+            {"dataHora": "2031-06-11T07:00:00", "tipo": "MUSCULACAO", "duracaoMin": 40, "observacoes": "recusar"}
+            {"dataHora": "2031-06-12T07:00:00", "tipo": "MUSCULACAO", "duracaoMin": 50}
+        """;
+
+        jdbcTemplate.execute("ALTER TABLE treino ADD CONSTRAINT ck_importacao_teste "
+                + "CHECK (observacoes IS NULL OR observacoes <> 'recusar')");
+        try {
+            mockMvc.perform(post("/api/treinos/importar")
+                            .header("Authorization", "Bearer " + token)
+                            .contentType("application/x-ndjson")
+                            .content(ndjson))
+                    .andExpect(status().isOk())
+                    .andExpect(jsonPath("$.criados").value(2))
+                    .andExpect(jsonPath("$.rejeitados").value(1))
+                    .andExpect(jsonPath("$.itens[0].status").value("CRIADO"))
+                    .andExpect(jsonPath("$.itens[1].status").value("ERRO"))
+                    .andExpect(jsonPath("$.itens[1].treinoId").doesNotExist())
+                    .andExpect(jsonPath("$.itens[2].status").value("CRIADO"));
+
+            mockMvc.perform(get("/api/treinos/resumo")
+                            .param("periodo", "MES")
+                            .param("de", "2031-06-01")
+                            .param("ate", "2031-06-30")
+                            .header("Authorization", "Bearer " + token))
+                    .andExpect(status().isOk())
+                    .andExpect(jsonPath("$[0].quantidade").value(2))
+                    .andExpect(jsonPath("$[0].duracaoMin").value(80));
+        } finally {
+            jdbcTemplate.execute("ALTER TABLE treino DROP CONSTRAINT ck_importacao_teste");
+            jdbcTemplate.update("DELETE FROM treino WHERE data_hora >= '2031-01-01'");
+            jdbcTemplate.update("DELETE FROM treino_agregado WHERE inicio >= '2031-01-01'");
+        }
+    }
+
+    @Test
+    void deveImportarTreinosEmArrayJson() throws Exception {
+        String json = """
+            [
+                {"dataHora": "2024-03-01T07:00:00", "tipo": "CICLISMO", "duracaoMin": 90, "distanciaKm": 40.0},
+                {"dataHora": "2024-03-02T07:00:00", "tipo": "CORRIDA", "duracaoMin": -5}
+            ]
+        """;
+
+        mockMvc.perform(post("/api/treinos/importar")
+                        .header("Authorization", "Bearer " + token)
+                        .contentType("application/json")
+                        .content(json))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.criados").value(1))
+                .andExpect(jsonPath("$.itens[1].status").value("INVALIDO"))
+                .andExpect(jsonPath("$.itens[1].erros[0]", containsString("duracaoMin")));
+    }
+
+    @Test
+    void deveBuscarMeusTreinosComFiltros() throws Exception {
+        mockMvc.perform(get("/api/treinos/meus-treinos/busca")
+                        .param("tipo", "CORRIDA")
+                        .param("de", "2024-01-01")
+                        .param("ate", "2024-01-31")
+                        .header("Authorization", "Bearer " + token))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$..tipo", hasSize(1)))
+                .andExpect(jsonPath("$..tipo", everyItem(is("CORRIDA"))));
+    }
+
+    @Test
+    void deveRetornar400AoBuscarComPeriodoInvertido() throws Exception {
+        mockMvc.perform(get("/api/treinos/meus-treinos/busca")
+                        .param("de", "2024-02-01")
+                        .param("ate", "2024-01-01")
+                        .header("Authorization", "Bearer " + token))
+                .andExpect(status().isBadRequest());
+    }
+
+    @Test
+    void deveNegarMetricasPrometheusForaDaPortaDeGerenciamento() throws Exception {
+        mockMvc.perform(get("/actuator/prometheus"))
+                .andExpect(status().isForbidden());
+
+        mockMvc.perform(get("/actuator/prometheus")
+                        .header("Authorization", "Bearer " + token))
+                .andExpect(status().isForbidden());
+    }
+
+    @Test
+    void deveRegistrarMetricasDaRequisicaoComTagsDeBaixaCardinalidade() throws Exception {
+        mockMvc.perform(get("/api/treinos/999")
+                        .header("Authorization", "Bearer " + token))
+                .andExpect(status().isNotFound());
+
+        // A tag uri usa o padrão do mapeamento, não o ID concreto
+        DistributionSummary sql = meterRegistry.find("mytraining.http.sql")
+                .tags("method", "GET", "uri", "/api/treinos/{id}")
+                .summary();
+        assertNotNull(sql);
+        assertTrue(sql.totalAmount() >= 1);
+
+        Timer tempoSql = meterRegistry.find("mytraining.http.sql.tempo")
+                .tags("method", "GET", "uri", "/api/treinos/{id}")
+                .timer();
+        assertNotNull(tempoSql);
+        assertTrue(tempoSql.count() >= 1);
+
+        Timer servico = meterRegistry.find("mytraining.servico")
+                .tag("method", "buscarPorId")
+                .tag("class", TreinoService.class.getName())
+                .timer();
+        assertNotNull(servico);
+        assertTrue(servico.count() >= 1);
+
+        Timer jwt = meterRegistry.find("mytraining.auth.jwt")
+                .tags("etapa", "verificacao", "resultado", "valido")
+                .timer();
+        assertNotNull(jwt);
+        assertTrue(jwt.count() >= 1);
+    }
+}
@@ -0,0 +1,144 @@
+package com.senai.projeto.mytraining.controller;
+
+import com.senai.projeto.mytraining.util.JwtUtil;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.MediaType;
+import org.springframework.security.core.authority.SimpleGrantedAuthority;
+import org.springframework.security.core.userdetails.User;
+import org.springframework.security.core.userdetails.UserDetails;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.Collections;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.asyncDispatch;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.request;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+@SpringBootTest
+@AutoConfigureMockMvc
+@ActiveProfiles("test")
+@Transactional
+class TreinoQueryCountTest {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private JwtUtil jwtUtil;
+
+    @Autowired
+    private EntityManager entityManager;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    private String token;
+
+    @BeforeEach
+    void setUp() throws Exception {
+        UserDetails userDetails = new User(
+                "user@test.com",
+                "password",
+                Collections.singletonList(new SimpleGrantedAuthority("ROLE_USER"))
+        );
+        token = jwtUtil.generateToken(userDetails);
+
+        // Aquece o cache de principals para que a consulta do filtro JWT não entre na contagem
+        mockMvc.perform(get("/api/treinos/999")
+                        .header("Authorization", "Bearer " + token))
+                .andExpect(status().isNotFound());
+    }
+
+    @Test
+    void deveListarTodosTreinosEmDuasConsultas() throws Exception {
+        // projeção dos treinos + projeção dos exercícios
+        assertMaximoDeConsultas("/api/treinos", 2);
+    }
+
+    @Test
+    void deveListarTreinosPorUsuarioSemNMaisUm() throws Exception {
+        // existsById + projeção dos treinos + projeção dos exercícios
+        assertMaximoDeConsultas("/api/treinos/usuario/2", 3);
+    }
+
+    @Test
+    void deveListarMeusTreinosSemNMaisUm() throws Exception {
+        // versão do usuário (id, versao_dados) + projeção dos treinos + projeção dos exercícios
+        assertMaximoDeConsultas("/api/treinos/meus-treinos", 3);
+    }
+
+    @Test
+    void deveListarTreinosPaginadoSemNMaisUm() throws Exception {
+        // página projetada + contagem + projeção dos exercícios
+        assertMaximoDeConsultas("/api/treinos/paginado?size=5", 3);
+    }
+
+    @Test
+    void deveBuscarTreinoPorIdEmUmaConsulta() throws Exception {
+        assertMaximoDeConsultas("/api/treinos/1", 1);
+    }
+
+    @Test
+    void deveListarTreinosSemCarregarEntidades() throws Exception {
+        Statistics statistics = executar("/api/treinos/paginado?size=5");
+
+        assertEquals(0, statistics.getEntityLoadCount(), "Listagem não deveria hidratar entidades");
+    }
+
+    @Test
+    void deveContarConsultasDaExportacaoNdjsonNaRequisicao() throws Exception {
+        DistributionSummary sql = meterRegistry.summary("mytraining.http.sql", "method", "GET", "uri", "/api/treinos");
+        long requisicoesAntes = sql.count();
+        double comandosAntes = sql.totalAmount();
+
+        MvcResult resultado = mockMvc.perform(get("/api/treinos")
+                        .header("Authorization", "Bearer " + token)
+                        .accept(MediaType.APPLICATION_NDJSON))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+        mockMvc.perform(asyncDispatch(resultado))
+                .andExpect(status().isOk());
+
+        // O stream roda na thread assíncrona; as consultas dele precisam entrar no registro da requisição
+        assertEquals(requisicoesAntes + 1, sql.count());
+        assertTrue(sql.totalAmount() > comandosAntes, "Consultas da exportação NDJSON não foram contadas");
+    }
+
+    private void assertMaximoDeConsultas(String url, long maximo) throws Exception {
+        long consultas = executar(url).getPrepareStatementCount();
+        assertTrue(consultas <= maximo,
+                "GET " + url + " executou " + consultas + " consultas SQL (máximo " + maximo + ")");
+    }
+
+    private Statistics executar(String url) throws Exception {
+        entityManager.flush();
+        entityManager.clear();
+        Statistics statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        statistics.clear();
+
+        mockMvc.perform(get(url)
+                        .header("Authorization", "Bearer " + token))
+                .andExpect(status().isOk());
+
+        return statistics;
+    }
+}
@@ -133,6 +133,24 @@ class UsuarioControllerTest {
                 .andExpect(jsonPath("$.email").exists());
     }
 
+    @Test
+    void deveOmitirDesafiosPorPadrao() throws Exception {
+        mockMvc.perform(get("/api/usuarios/2")
+                        .header("Authorization", "Bearer " + token))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.roles").isArray())
+                .andExpect(jsonPath("$.desafios").doesNotExist());
+    }
+
+    @Test
+    void deveExpandirDesafiosQuandoSolicitado() throws Exception {
+        mockMvc.perform(get("/api/usuarios/2")
+                        .param("expand", "desafios")
+                        .header("Authorization", "Bearer " + token))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.desafios.length()").value(2));
+    }
+
     @Test
     void deveRetornar403AoBuscarUsuarioPorIdSemToken() throws Exception {
         mockMvc.perform(get("/api/usuarios/1"))
@@ -150,9 +168,10 @@ class UsuarioControllerTest {
 
     @Test
     void deveAtualizarUsuario() throws Exception {
+        // Email do próprio usuário 1: user@test.com pertence ao usuário 2 e violaria a chave única no flush
         UsuarioRequestDTO dto = new UsuarioRequestDTO(
                 "Nome Atualizado",
-                "user@test.com",
+                "admin@test.com",
                 "novaSenha123",
                 null
         );
@@ -0,0 +1,204 @@
+package com.senai.projeto.mytraining.service;
+
+import com.senai.projeto.mytraining.dto.request.DesafioRequestDTO;
+import com.senai.projeto.mytraining.dto.request.ExercicioRequestDTO;
+import com.senai.projeto.mytraining.dto.request.TreinoRequestDTO;
+import com.senai.projeto.mytraining.dto.response.DesafioResponseDTO;
+import com.senai.projeto.mytraining.model.Desafio;
+import com.senai.projeto.mytraining.model.TipoTreino;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.HashSet;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@SpringBootTest
+@ActiveProfiles("test")
+@Transactional
+class DesafioProgressoServiceTest {
+
+    // Desafios de user@test.com em janeiro/2024: 1 = 100 KM (45 feitos), 2 = 20 REPETICOES (12 feitas)
+    private static final Long DESAFIO_KM = 1L;
+    private static final Long DESAFIO_REPETICOES = 2L;
+
+    @Autowired
+    private TreinoService treinoService;
+
+    @Autowired
+    private ExercicioService exercicioService;
+
+    @Autowired
+    private DesafioService desafioService;
+
+    @Test
+    void deveSomarDistanciaDoTreinoNoDesafioDoPeriodo() {
+        treinoService.criar(corrida(LocalDateTime.of(2024, 1, 20, 7, 0), 10.0));
+
+        DesafioResponseDTO desafio = desafioService.buscarPorId(DESAFIO_KM).orElseThrow();
+        assertEquals(55.0, desafio.progressoAtual());
+        assertEquals(Desafio.Status.PENDENTE, desafio.status());
+    }
+
+    @Test
+    void deveConcluirDesafioAutomaticamenteAoAtingirObjetivo() {
+        treinoService.criar(corrida(LocalDateTime.of(2024, 1, 25, 7, 0), 60.0));
+
+        DesafioResponseDTO desafio = desafioService.buscarPorId(DESAFIO_KM).orElseThrow();
+        assertEquals(105.0, desafio.progressoAtual());
+        assertEquals(Desafio.Status.CONCLUIDO, desafio.status());
+    }
+
+    @Test
+    void deveIgnorarTreinoForaDoPeriodoDoDesafio() {
+        treinoService.criar(corrida(LocalDateTime.of(2024, 2, 10, 7, 0), 10.0));
+
+        assertEquals(45.0, desafioService.buscarPorId(DESAFIO_KM).orElseThrow().progressoAtual());
+    }
+
+    @Test
+    void deveSubtrairDistanciaAoDeletarTreino() {
+        assertTrue(treinoService.deletar(1L));
+
+        assertEquals(40.0, desafioService.buscarPorId(DESAFIO_KM).orElseThrow().progressoAtual());
+    }
+
+    @Test
+    void deveTrocarContribuicaoAoAtualizarTreino() {
+        // Treino 1: corrida de 5 km em 15/01 passa a ter 8 km
+        assertTrue(treinoService.atualizar(1L, corrida(LocalDateTime.of(2024, 1, 15, 7, 0), 8.0)).isPresent());
+
+        assertEquals(48.0, desafioService.buscarPorId(DESAFIO_KM).orElseThrow().progressoAtual());
+    }
+
+    @Test
+    void deveRemoverContribuicaoAoMoverTreinoParaForaDoPeriodo() {
+        assertTrue(treinoService.atualizar(1L, corrida(LocalDateTime.of(2024, 2, 15, 7, 0), 5.0)).isPresent());
+
+        assertEquals(40.0, desafioService.buscarPorId(DESAFIO_KM).orElseThrow().progressoAtual());
+    }
+
+    @Test
+    void deveIgnorarDesafioConcluido() {
+        // Desafio 3 de joao@test.com (id 3) já está CONCLUIDO, com 50 km, de 15/01 a 21/01
+        TreinoRequestDTO pedalada = new TreinoRequestDTO(
+                LocalDateTime.of(2024, 1, 18, 7, 0),
+                TipoTreino.CICLISMO,
+                60,
+                "Pedal",
+                20.0,
+                3L,
+                new HashSet<>()
+        );
+        treinoService.criar(pedalada);
+
+        DesafioResponseDTO desafio = desafioService.buscarPorId(3L).orElseThrow();
+        assertEquals(50.0, desafio.progressoAtual());
+        assertEquals(Desafio.Status.CONCLUIDO, desafio.status());
+    }
+
+    @Test
+    void deveSomarRepeticoesDoExercicioNoDesafio() {
+        ExercicioRequestDTO requestDTO = new ExercicioRequestDTO(
+                "Flexão",
+                2,
+                3,
+                0.0,
+                "Peso corporal",
+                1L
+        );
+        exercicioService.criar(requestDTO);
+
+        DesafioResponseDTO desafio = desafioService.buscarPorId(DESAFIO_REPETICOES).orElseThrow();
+        assertEquals(18.0, desafio.progressoAtual());
+        assertEquals(Desafio.Status.PENDENTE, desafio.status());
+    }
+
+    @Test
+    void deveContarTreinosAnterioresAoCriarDesafio() {
+        // user@test.com já correu/pedalou 5 + 15 km em janeiro/2024; o valor enviado é ignorado
+        DesafioRequestDTO requestDTO = new DesafioRequestDTO(
+                "Janeiro retroativo",
+                null,
+                LocalDate.of(2024, 1, 1),
+                LocalDate.of(2024, 1, 31),
+                50.0,
+                999.0,
+                Desafio.Unidade.KM,
+                Desafio.Status.PENDENTE
+        );
+
+        DesafioResponseDTO desafio = desafioService.criar(requestDTO, "user@test.com").orElseThrow();
+
+        assertEquals(20.0, desafio.progressoAtual());
+        assertEquals(Desafio.Status.PENDENTE, desafio.status());
+    }
+
+    @Test
+    void deveRecalcularProgressoAoTrocarUnidade() {
+        // 30 + 60 + 45 minutos de treino em janeiro/2024
+        DesafioResponseDTO desafio = desafioService.atualizar(DESAFIO_KM, desafio1(
+                LocalDate.of(2024, 1, 1), LocalDate.of(2024, 1, 31), Desafio.Unidade.MINUTOS)).orElseThrow();
+
+        assertEquals(135.0, desafio.progressoAtual());
+        assertEquals(Desafio.Status.CONCLUIDO, desafio.status());
+    }
+
+    @Test
+    void deveRecalcularProgressoAoMudarPeriodo() {
+        // Só a corrida de 15/01 (5 km) fica na nova janela
+        DesafioResponseDTO desafio = desafioService.atualizar(DESAFIO_KM, desafio1(
+                LocalDate.of(2024, 1, 15), LocalDate.of(2024, 1, 16), Desafio.Unidade.KM)).orElseThrow();
+
+        assertEquals(5.0, desafio.progressoAtual());
+    }
+
+    @Test
+    void deveSomarExerciciosAoRecalcularDesafioDeRepeticoes() {
+        // Treino 2 (16/01): 4x12 + 3x15 + 3x12 repetições
+        DesafioRequestDTO requestDTO = new DesafioRequestDTO(
+                "Treinar 20 dias",
+                null,
+                LocalDate.of(2024, 1, 16),
+                LocalDate.of(2024, 1, 16),
+                500.0,
+                0.0,
+                Desafio.Unidade.REPETICOES,
+                Desafio.Status.PENDENTE
+        );
+
+        DesafioResponseDTO desafio = desafioService.atualizar(DESAFIO_REPETICOES, requestDTO).orElseThrow();
+
+        assertEquals(129.0, desafio.progressoAtual());
+    }
+
+    private DesafioRequestDTO desafio1(LocalDate dataInicio, LocalDate dataFim, Desafio.Unidade unidade) {
+        return new DesafioRequestDTO(
+                "Desafio 100km",
+                "Correr 100km em janeiro",
+                dataInicio,
+                dataFim,
+                100.0,
+                null,
+                unidade,
+                Desafio.Status.PENDENTE
+        );
+    }
+
+    private TreinoRequestDTO corrida(LocalDateTime dataHora, Double distanciaKm) {
+        return new TreinoRequestDTO(
+                dataHora,
+                TipoTreino.CORRIDA,
+                30,
+                "Corrida",
+                distanciaKm,
+                2L,
+                new HashSet<>()
+        );
+    }
+}
@@ -148,8 +148,8 @@ class DesafioServiceTest {
         DesafioRequestDTO requestDTO = new DesafioRequestDTO(
                 "Desafio 100km Atualizado",
                 "Descrição atualizada",
-                LocalDate.now(),
-                LocalDate.now().plusDays(30),
+                LocalDate.of(2024, 1, 1),
+                LocalDate.of(2024, 1, 31),
                 100.0,
                 60.0,
                 Desafio.Unidade.KM,
@@ -161,7 +161,27 @@ class DesafioServiceTest {
         assertTrue(response.isPresent());
         assertEquals(1L, response.get().id());
         assertEquals("Desafio 100km Atualizado", response.get().titulo());
-        assertEquals(60.0, response.get().progressoAtual());
+        // Progresso em KM vem dos treinos: o valor enviado é ignorado
+        assertEquals(45.0, response.get().progressoAtual());
+    }
+
+    @Test
+    void deveAceitarProgressoInformadoEmCalorias() {
+        DesafioRequestDTO requestDTO = new DesafioRequestDTO(
+                "Queimar 5000 kcal",
+                "Calorias informadas pelo relógio",
+                LocalDate.of(2024, 1, 1),
+                LocalDate.of(2024, 1, 31),
+                5000.0,
+                1200.0,
+                Desafio.Unidade.CALORIAS,
+                Desafio.Status.PENDENTE
+        );
+
+        Optional<DesafioResponseDTO> response = desafioService.criar(requestDTO, "user@test.com");
+
+        assertTrue(response.isPresent());
+        assertEquals(1200.0, response.get().progressoAtual());
     }
 
     @Test
@@ -173,7 +193,7 @@ class DesafioServiceTest {
                 LocalDate.now().plusDays(30),
                 100.0,
                 100.0, // Objetivo atingido
-                Desafio.Unidade.KM,
+                Desafio.Unidade.CALORIAS,
                 Desafio.Status.PENDENTE
         );
 
@@ -192,7 +212,7 @@ class DesafioServiceTest {
                 LocalDate.now().plusDays(30),
                 100.0,
                 120.0, // Superou o objetivo
-                Desafio.Unidade.KM,
+                Desafio.Unidade.CALORIAS,
                 Desafio.Status.PENDENTE
         );
 
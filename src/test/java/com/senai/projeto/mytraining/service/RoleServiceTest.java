@@ -2,6 +2,10 @@ package com.senai.projeto.mytraining.service;
 
 import com.senai.projeto.mytraining.dto.request.RoleRequestDTO;
 import com.senai.projeto.mytraining.dto.response.RoleResponseDTO;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
 import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.context.SpringBootTest;
@@ -21,6 +25,12 @@ class RoleServiceTest {
     @Autowired
     private RoleService roleService;
 
+    @Autowired
+    private EntityManager entityManager;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
     @Test
     void deveCriarRole() {
         RoleRequestDTO requestDTO = new RoleRequestDTO("ROLE_MANAGER");
@@ -64,6 +74,30 @@ class RoleServiceTest {
         assertEquals("ROLE_USER", response.get().nome());
     }
 
+    @Test
+    void deveBuscarRolePorNomeDoCacheSemConsultarBanco() {
+        roleService.buscarPorNome("ROLE_USER");
+        entityManager.clear();
+        Statistics statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        statistics.clear();
+
+        Optional<RoleResponseDTO> response = roleService.buscarPorNome("ROLE_USER");
+
+        assertTrue(response.isPresent());
+        assertEquals(1, statistics.getQueryCacheHitCount());
+        assertEquals(0, statistics.getPrepareStatementCount(), "Role deveria vir do cache de segundo nível");
+    }
+
+    @Test
+    void deveInvalidarCacheDeConsultaAoRenomearRole() {
+        roleService.buscarPorNome("ROLE_ADMIN");
+
+        roleService.atualizar(1L, new RoleRequestDTO("ROLE_SUPERADMIN"));
+
+        assertTrue(roleService.buscarPorNome("ROLE_ADMIN").isEmpty());
+        assertTrue(roleService.buscarPorNome("ROLE_SUPERADMIN").isPresent());
+    }
+
     @Test
     void deveRetornarVazioQuandoNomeNaoExistir() {
         Optional<RoleResponseDTO> response = roleService.buscarPorNome("ROLE_INEXISTENTE");
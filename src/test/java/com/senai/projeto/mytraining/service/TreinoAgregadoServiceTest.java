@@ -0,0 +1,133 @@
+package com.senai.projeto.mytraining.service;
+
+import com.senai.projeto.mytraining.dto.request.TreinoRequestDTO;
+import com.senai.projeto.mytraining.dto.response.TreinoAgregadoResponseDTO;
+import com.senai.projeto.mytraining.model.TipoTreino;
+import com.senai.projeto.mytraining.model.TreinoAgregado;
+import com.senai.projeto.mytraining.repository.TreinoAgregadoRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.HashSet;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@SpringBootTest
+@ActiveProfiles("test")
+@Transactional
+class TreinoAgregadoServiceTest {
+
+    private static final LocalDate JANEIRO = LocalDate.of(2024, 1, 1);
+    private static final LocalDate FIM_JANEIRO = LocalDate.of(2024, 1, 31);
+
+    @Autowired
+    private TreinoAgregadoService agregadoService;
+
+    @Autowired
+    private TreinoService treinoService;
+
+    @Autowired
+    private TreinoAgregadoRepository agregadoRepository;
+
+    @BeforeEach
+    void setUp() {
+        // data.sql insere treinos diretamente, sem passar pelos agregados
+        agregadoService.reconstruir();
+    }
+
+    @Test
+    void deveReconstruirAgregadosAPartirDoHistorico() {
+        List<TreinoAgregadoResponseDTO> resumo = agregadoService
+                .resumoPorEmail("user@test.com", TreinoAgregado.Periodo.MES, JANEIRO, FIM_JANEIRO)
+                .orElseThrow();
+
+        assertEquals(3, resumo.size());
+        TreinoAgregadoResponseDTO corrida = buscarPorTipo(resumo, TipoTreino.CORRIDA);
+        assertEquals(JANEIRO, corrida.inicio());
+        assertEquals(1L, corrida.quantidade());
+        assertEquals(30L, corrida.duracaoMin());
+        assertEquals(5.0, corrida.distanciaKm());
+    }
+
+    @Test
+    void deveSomarTreinoCriadoNosAgregados() {
+        TreinoRequestDTO requestDTO = new TreinoRequestDTO(
+                LocalDateTime.of(2024, 1, 15, 18, 0),
+                TipoTreino.CORRIDA,
+                20,
+                "Segunda corrida do dia",
+                3.0,
+                2L,
+                new HashSet<>()
+        );
+        treinoService.criar(requestDTO);
+
+        TreinoAgregadoResponseDTO dia = buscarPorTipo(agregadoService
+                .resumoPorEmail("user@test.com", TreinoAgregado.Periodo.DIA, JANEIRO, FIM_JANEIRO)
+                .orElseThrow(), TipoTreino.CORRIDA);
+        assertEquals(LocalDate.of(2024, 1, 15), dia.inicio());
+        assertEquals(2L, dia.quantidade());
+        assertEquals(50L, dia.duracaoMin());
+        assertEquals(8.0, dia.distanciaKm());
+
+        TreinoAgregadoResponseDTO semana = buscarPorTipo(agregadoService
+                .resumoPorEmail("user@test.com", TreinoAgregado.Periodo.SEMANA, JANEIRO, FIM_JANEIRO)
+                .orElseThrow(), TipoTreino.CORRIDA);
+        assertEquals(LocalDate.of(2024, 1, 15), semana.inicio());
+        assertEquals(2L, semana.quantidade());
+    }
+
+    @Test
+    void deveSubtrairTreinoDeletadoDosAgregados() {
+        assertTrue(treinoService.deletar(1L));
+
+        List<TreinoAgregadoResponseDTO> resumo = agregadoService
+                .resumoPorEmail("user@test.com", TreinoAgregado.Periodo.MES, JANEIRO, FIM_JANEIRO)
+                .orElseThrow();
+
+        assertEquals(2, resumo.size());
+        assertTrue(resumo.stream().noneMatch(agregado -> agregado.tipo() == TipoTreino.CORRIDA));
+    }
+
+    @Test
+    void naoDeveDuplicarBucketJaCriadoPorOutraTransacao() {
+        // Bucket de corrida de janeiro já existe: o insert não faz nada em vez de violar a chave única
+        assertEquals(0, agregadoRepository.inserirSeAusente(2L, TreinoAgregado.Periodo.MES.name(), JANEIRO,
+                TipoTreino.CORRIDA.name(), 1L, 10L, 1.0));
+
+        TreinoAgregadoResponseDTO corrida = buscarPorTipo(agregadoService
+                .resumoPorEmail("user@test.com", TreinoAgregado.Periodo.MES, JANEIRO, FIM_JANEIRO)
+                .orElseThrow(), TipoTreino.CORRIDA);
+        assertEquals(1L, corrida.quantidade());
+    }
+
+    @Test
+    void naoDeveCriarBucketNegativoAoRemoverTreinoSemAgregado() {
+        agregadoRepository.deleteAllEmLote();
+
+        assertTrue(treinoService.deletar(1L));
+
+        assertEquals(0, agregadoRepository.count());
+    }
+
+    @Test
+    void deveRetornarVazioParaUsuarioInexistente() {
+        assertTrue(agregadoService
+                .resumoPorEmail("inexistente@test.com", TreinoAgregado.Periodo.MES, JANEIRO, FIM_JANEIRO)
+                .isEmpty());
+    }
+
+    private TreinoAgregadoResponseDTO buscarPorTipo(List<TreinoAgregadoResponseDTO> resumo, TipoTreino tipo) {
+        return resumo.stream()
+                .filter(agregado -> agregado.tipo() == tipo)
+                .findFirst()
+                .orElseThrow();
+    }
+}
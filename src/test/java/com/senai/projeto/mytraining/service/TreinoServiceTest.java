@@ -1,8 +1,14 @@
 package com.senai.projeto.mytraining.service;
 
+import com.senai.projeto.mytraining.dto.request.ExercicioTreinoRequestDTO;
+import com.senai.projeto.mytraining.dto.request.TreinoFiltroDTO;
 import com.senai.projeto.mytraining.dto.request.TreinoRequestDTO;
+import com.senai.projeto.mytraining.dto.response.CursorPageResponseDTO;
+import com.senai.projeto.mytraining.dto.response.ExercicioResponseDto;
 import com.senai.projeto.mytraining.dto.response.TreinoResponseDTO;
 import com.senai.projeto.mytraining.model.TipoTreino;
+import com.senai.projeto.mytraining.repository.ExercicioRepository;
+import com.senai.projeto.mytraining.util.TreinoCursor;
 import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.context.SpringBootTest;
@@ -12,10 +18,15 @@ import org.springframework.data.domain.Pageable;
 import org.springframework.test.context.ActiveProfiles;
 import org.springframework.transaction.annotation.Transactional;
 
+import java.time.LocalDate;
 import java.time.LocalDateTime;
 import java.util.HashSet;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
+import java.util.Set;
+import java.util.function.Function;
+import java.util.stream.Collectors;
 
 import static org.junit.jupiter.api.Assertions.*;
 
@@ -27,6 +38,9 @@ class TreinoServiceTest {
     @Autowired
     private TreinoService treinoService;
 
+    @Autowired
+    private ExercicioRepository exercicioRepository;
+
     @Test
     void deveCriarTreino() {
         TreinoRequestDTO requestDTO = new TreinoRequestDTO(
@@ -275,4 +289,169 @@ class TreinoServiceTest {
         assertEquals(TipoTreino.MUSCULACAO, response.get().tipo());
         assertNull(response.get().distanciaKm());
     }
-}
\ No newline at end of file
+
+    @Test
+    void devePaginarMeusTreinosPorCursor() {
+        Optional<CursorPageResponseDTO<TreinoResponseDTO>> primeira =
+                treinoService.listarPorEmailComCursor("user@test.com", null, 2);
+
+        assertTrue(primeira.isPresent());
+        assertEquals(2, primeira.get().conteudo().size());
+        assertTrue(primeira.get().temProximo());
+        assertNotNull(primeira.get().proximoCursor());
+        assertTrue(primeira.get().conteudo().get(0).dataHora()
+                .isAfter(primeira.get().conteudo().get(1).dataHora()));
+
+        TreinoCursor cursor = TreinoCursor.decode(primeira.get().proximoCursor()).orElseThrow();
+        Optional<CursorPageResponseDTO<TreinoResponseDTO>> segunda =
+                treinoService.listarPorEmailComCursor("user@test.com", cursor, 2);
+
+        assertTrue(segunda.isPresent());
+        assertEquals(1, segunda.get().conteudo().size());
+        assertFalse(segunda.get().temProximo());
+        assertNull(segunda.get().proximoCursor());
+        assertTrue(segunda.get().conteudo().get(0).dataHora()
+                .isBefore(primeira.get().conteudo().get(1).dataHora()));
+    }
+
+    @Test
+    void deveCriarTreinoComExerciciosAninhados() {
+        TreinoRequestDTO requestDTO = new TreinoRequestDTO(
+                LocalDateTime.now(),
+                TipoTreino.MUSCULACAO,
+                60,
+                "Treino com exercícios",
+                null,
+                2L,
+                Set.of(
+                        new ExercicioTreinoRequestDTO(null, "Supino Reto", 4, 10, 60.0, null),
+                        new ExercicioTreinoRequestDTO(null, "Crucifixo", 3, 12, 14.0, null)
+                )
+        );
+
+        Optional<TreinoResponseDTO> response = treinoService.criar(requestDTO);
+
+        assertTrue(response.isPresent());
+        assertEquals(2, response.get().exercicios().size());
+        assertTrue(response.get().exercicios().stream().allMatch(exercicio -> exercicio.id() != null));
+        assertTrue(response.get().exercicios().stream().allMatch(exercicio -> response.get().id().equals(exercicio.aLong())));
+    }
+
+    @Test
+    void deveAtualizarExerciciosDoTreinoPorDiferenca() {
+        TreinoRequestDTO requestDTO = new TreinoRequestDTO(
+                LocalDateTime.of(2024, 1, 16, 18, 0),
+                TipoTreino.MUSCULACAO,
+                60,
+                "Treino de pernas",
+                null,
+                2L,
+                Set.of(
+                        new ExercicioTreinoRequestDTO(1L, "Agachamento", 5, 12, 85.0, "Descer até paralelo"),
+                        new ExercicioTreinoRequestDTO(2L, "Leg Press", 3, 15, 150.0, "Amplitude completa"),
+                        new ExercicioTreinoRequestDTO(null, "Stiff", 3, 10, 40.0, null)
+                )
+        );
+
+        Optional<TreinoResponseDTO> response = treinoService.atualizar(2L, requestDTO);
+
+        assertTrue(response.isPresent());
+        Map<String, ExercicioResponseDto> porNome = response.get().exercicios().stream()
+                .collect(Collectors.toMap(ExercicioResponseDto::nome, Function.identity()));
+        assertEquals(Set.of("Agachamento", "Leg Press", "Stiff"), porNome.keySet());
+        assertEquals(1L, porNome.get("Agachamento").id());
+        assertEquals(5, porNome.get("Agachamento").series());
+        assertEquals(2L, porNome.get("Leg Press").id());
+        assertNotNull(porNome.get("Stiff").id());
+        assertFalse(exercicioRepository.existsById(3L));
+    }
+
+    @Test
+    void deveManterExerciciosQuandoListaNaoForEnviada() {
+        TreinoRequestDTO requestDTO = new TreinoRequestDTO(
+                LocalDateTime.of(2024, 1, 16, 18, 0),
+                TipoTreino.MUSCULACAO,
+                70,
+                "Treino de pernas",
+                null,
+                2L,
+                null
+        );
+
+        Optional<TreinoResponseDTO> response = treinoService.atualizar(2L, requestDTO);
+
+        assertTrue(response.isPresent());
+        assertEquals(3, response.get().exercicios().size());
+    }
+
+    @Test
+    void deveIncluirComoNovoExercicioDeOutroTreinoERemoverOsOmitidos() {
+        // Exercício 4 pertence ao treino 5: no treino 2 ele vira um exercício novo, e o original fica intacto
+        TreinoRequestDTO requestDTO = new TreinoRequestDTO(
+                LocalDateTime.of(2024, 1, 16, 18, 0),
+                TipoTreino.MUSCULACAO,
+                60,
+                "Treino de pernas",
+                null,
+                2L,
+                Set.of(new ExercicioTreinoRequestDTO(4L, "Supino Reto", 4, 10, 60.0, null))
+        );
+
+        Optional<TreinoResponseDTO> response = treinoService.atualizar(2L, requestDTO);
+
+        assertTrue(response.isPresent());
+        assertEquals(1, response.get().exercicios().size());
+        assertNotEquals(4L, response.get().exercicios().iterator().next().id());
+        assertTrue(exercicioRepository.existsById(4L));
+        assertFalse(exercicioRepository.existsById(1L));
+        assertFalse(exercicioRepository.existsById(2L));
+        assertFalse(exercicioRepository.existsById(3L));
+    }
+
+    @Test
+    void deveBuscarMeusTreinosPorTipo() {
+        TreinoFiltroDTO filtro = new TreinoFiltroDTO(TipoTreino.CORRIDA, null, null, null, null, null, null);
+
+        Optional<Page<TreinoResponseDTO>> pagina =
+                treinoService.buscarPorEmailComFiltro("user@test.com", filtro, PageRequest.of(0, 10));
+
+        assertTrue(pagina.isPresent());
+        assertEquals(1, pagina.get().getTotalElements());
+        assertEquals(TipoTreino.CORRIDA, pagina.get().getContent().get(0).tipo());
+    }
+
+    @Test
+    void deveBuscarMeusTreinosPorPeriodoDoMaisRecente() {
+        TreinoFiltroDTO filtro = new TreinoFiltroDTO(null, LocalDate.of(2024, 1, 16), LocalDate.of(2024, 1, 17),
+                null, null, null, null);
+
+        Optional<Page<TreinoResponseDTO>> pagina =
+                treinoService.buscarPorEmailComFiltro("user@test.com", filtro, PageRequest.of(0, 10));
+
+        assertTrue(pagina.isPresent());
+        List<TreinoResponseDTO> treinos = pagina.get().getContent();
+        assertEquals(2, treinos.size());
+        // Data final inclusiva: o treino de 17/01 às 07:30 entra
+        assertEquals(LocalDate.of(2024, 1, 17), treinos.get(0).dataHora().toLocalDate());
+        assertEquals(LocalDate.of(2024, 1, 16), treinos.get(1).dataHora().toLocalDate());
+    }
+
+    @Test
+    void deveBuscarMeusTreinosPorDuracaoEDistancia() {
+        TreinoFiltroDTO filtro = new TreinoFiltroDTO(null, null, null, 40, null, 10.0, null);
+
+        Optional<Page<TreinoResponseDTO>> pagina =
+                treinoService.buscarPorEmailComFiltro("user@test.com", filtro, PageRequest.of(0, 10));
+
+        assertTrue(pagina.isPresent());
+        assertEquals(1, pagina.get().getTotalElements());
+        assertEquals(TipoTreino.CICLISMO, pagina.get().getContent().get(0).tipo());
+    }
+
+    @Test
+    void deveRetornarVazioAoBuscarComEmailInexistente() {
+        TreinoFiltroDTO filtro = new TreinoFiltroDTO(TipoTreino.CORRIDA, null, null, null, null, null, null);
+
+        assertTrue(treinoService.buscarPorEmailComFiltro("naoexiste@test.com", filtro, PageRequest.of(0, 10)).isEmpty());
+    }
+}
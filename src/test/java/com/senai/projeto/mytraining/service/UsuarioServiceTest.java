@@ -2,12 +2,23 @@ package com.senai.projeto.mytraining.service;
 
 import com.senai.projeto.mytraining.dto.request.UsuarioRequestDTO;
 import com.senai.projeto.mytraining.dto.response.UsuarioResponseDTO;
+import com.senai.projeto.mytraining.model.RevogacaoJwt;
+import com.senai.projeto.mytraining.repository.RevogacaoJwtRepository;
+import com.senai.projeto.mytraining.util.JwtClaims;
+import com.senai.projeto.mytraining.util.JwtPrincipalCache;
+import com.senai.projeto.mytraining.util.JwtRevocationRegistry;
 import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.security.core.authority.SimpleGrantedAuthority;
+import org.springframework.security.core.userdetails.User;
 import org.springframework.test.context.ActiveProfiles;
 import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
 
+import java.time.Instant;
+import java.time.temporal.ChronoUnit;
 import java.util.HashSet;
 import java.util.List;
 import java.util.Optional;
@@ -23,6 +34,18 @@ class UsuarioServiceTest {
     @Autowired
     private UsuarioService usuarioService;
 
+    @Autowired
+    private JwtPrincipalCache principalCache;
+
+    @Autowired
+    private JwtRevocationRegistry revocationRegistry;
+
+    @Autowired
+    private RevogacaoJwtRepository revogacaoJwtRepository;
+
+    @Autowired
+    private VersaoDadosService versaoDadosService;
+
     @Test
     void deveCriarUsuario() {
         Set<Long> roles = new HashSet<>();
@@ -102,6 +125,17 @@ class UsuarioServiceTest {
         assertEquals("user@test.com", response.get().email());
     }
 
+    @Test
+    void deveInvalidarVersaoDosDadosAoRenomearUsuario() {
+        Long antes = versaoDadosService.buscarPorEmail("user@test.com").orElseThrow().versao();
+
+        usuarioService.atualizar(2L, new UsuarioRequestDTO("User Test", "user@test.com", null, null));
+        assertEquals(antes, versaoDadosService.buscarPorEmail("user@test.com").orElseThrow().versao());
+
+        usuarioService.atualizar(2L, new UsuarioRequestDTO("User Renomeado", "user@test.com", null, null));
+        assertTrue(versaoDadosService.buscarPorEmail("user@test.com").orElseThrow().versao() > antes);
+    }
+
     @Test
     void deveAtualizarUsuarioComNovaSenha() {
         UsuarioRequestDTO requestDTO = new UsuarioRequestDTO(
@@ -195,4 +229,134 @@ class UsuarioServiceTest {
         assertTrue(response.isPresent());
         assertFalse(response.get().roles().isEmpty());
     }
-}
\ No newline at end of file
+
+    @Test
+    void deveInvalidarPrincipalEmCacheAoAtualizarUsuario() {
+        principalCache.put(new User("user@test.com", "", List.of(new SimpleGrantedAuthority("ROLE_USER"))));
+
+        UsuarioRequestDTO requestDTO = new UsuarioRequestDTO(
+                "User Test",
+                "user@test.com",
+                null,
+                Set.of(1L, 2L)
+        );
+
+        usuarioService.atualizar(2L, requestDTO);
+
+        assertTrue(principalCache.getIfPresent("user@test.com").isEmpty());
+    }
+
+    @Test
+    void deveInvalidarPrincipalEmCacheAoDeletarUsuario() {
+        principalCache.put(new User("pedro@test.com", "", List.of(new SimpleGrantedAuthority("ROLE_USER"))));
+
+        usuarioService.deletar(5L);
+
+        assertTrue(principalCache.getIfPresent("pedro@test.com").isEmpty());
+    }
+
+    @Test
+    void deveRevogarTokensAntigosAoAlterarSenha() {
+        JwtClaims tokenAntigo = new JwtClaims(
+                "joao@test.com",
+                List.of("ROLE_USER"),
+                Instant.now().minusSeconds(60),
+                Instant.now().plusSeconds(3000)
+        );
+
+        UsuarioRequestDTO requestDTO = new UsuarioRequestDTO(
+                "João Silva",
+                "joao@test.com",
+                "novaSenha123",
+                null
+        );
+
+        usuarioService.atualizar(3L, requestDTO);
+        simularCommit();
+
+        assertTrue(revocationRegistry.isRevogado(tokenAntigo));
+    }
+
+    @Test
+    void deveRevogarTokenEmitidoNoMesmoSegundoDaAlteracao() {
+        // iat tem precisão de segundos: o token pode ter sido emitido milissegundos antes da troca de senha
+        JwtClaims tokenDoMesmoSegundo = new JwtClaims(
+                "maria@test.com",
+                List.of("ROLE_USER"),
+                Instant.now().truncatedTo(ChronoUnit.SECONDS),
+                Instant.now().plusSeconds(3000)
+        );
+
+        UsuarioRequestDTO requestDTO = new UsuarioRequestDTO(
+                "Maria Santos",
+                "maria@test.com",
+                "novaSenha123",
+                null
+        );
+
+        usuarioService.atualizar(4L, requestDTO);
+        simularCommit();
+
+        assertTrue(revocationRegistry.isRevogado(tokenDoMesmoSegundo));
+    }
+
+    @Test
+    void deveGravarRevogacaoParaAsDemaisInstancias() {
+        UsuarioRequestDTO requestDTO = new UsuarioRequestDTO(
+                "João Silva",
+                "joao@test.com",
+                "novaSenha123",
+                null
+        );
+
+        usuarioService.atualizar(3L, requestDTO);
+
+        assertTrue(revogacaoJwtRepository.findByRevogadoEmAfter(Instant.now().minusSeconds(60)).stream()
+                .anyMatch(r -> r.getTipo() == RevogacaoJwt.Tipo.USUARIO && r.getChave().equals("joao@test.com")));
+    }
+
+    @Test
+    void deveAplicarRevogacaoGravadaPorOutraInstancia() {
+        JwtClaims token = new JwtClaims(
+                "outra.instancia@test.com",
+                List.of("ROLE_USER"),
+                Instant.now().minusSeconds(60),
+                Instant.now().plusSeconds(3000)
+        );
+        revogacaoJwtRepository.save(new RevogacaoJwt(
+                RevogacaoJwt.Tipo.USUARIO, "outra.instancia@test.com", Instant.now().truncatedTo(ChronoUnit.SECONDS)));
+
+        assertFalse(revocationRegistry.isRevogado(token));
+
+        revocationRegistry.sincronizar();
+
+        assertTrue(revocationRegistry.isRevogado(token));
+    }
+
+    @Test
+    void naoDeveRevogarLocalmenteAntesDoCommit() {
+        JwtClaims token = new JwtClaims(
+                "pedro@test.com",
+                List.of("ROLE_USER"),
+                Instant.now().minusSeconds(60),
+                Instant.now().plusSeconds(3000)
+        );
+
+        UsuarioRequestDTO requestDTO = new UsuarioRequestDTO(
+                "Pedro Costa",
+                "pedro@test.com",
+                "novaSenha123",
+                null
+        );
+
+        // A transação do teste é desfeita ao final: a troca de senha nunca chega a valer
+        usuarioService.atualizar(5L, requestDTO);
+
+        assertFalse(revocationRegistry.isRevogado(token));
+    }
+
+    // A transação do teste nunca faz commit: dispara os callbacks afterCommit já registrados
+    private void simularCommit() {
+        TransactionSynchronizationManager.getSynchronizations().forEach(TransactionSynchronization::afterCommit);
+    }
+}
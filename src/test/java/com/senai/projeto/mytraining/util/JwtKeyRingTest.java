@@ -0,0 +1,140 @@
+package com.senai.projeto.mytraining.util;
+
+import io.jsonwebtoken.Jwts;
+import io.jsonwebtoken.security.Keys;
+import io.jsonwebtoken.security.WeakKeyException;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.security.core.authority.SimpleGrantedAuthority;
+import org.springframework.security.core.userdetails.User;
+import org.springframework.security.core.userdetails.UserDetails;
+
+import javax.crypto.SecretKey;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Base64;
+import java.util.Date;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class JwtKeyRingTest {
+
+    private static final String SEGREDO_1 = segredo(1, 32);
+    private static final String SEGREDO_2 = segredo(2, 32);
+
+    @Test
+    void deveVerificarTokenDaChaveAnteriorAposRotacao() {
+        JwtUtil antes = jwtUtil(new JwtKeyRing("k1", "k1:" + SEGREDO_1, ""));
+        String token = antes.generateToken(usuario());
+
+        // k2 passa a assinar; k1 continua no chaveiro até os tokens dela expirarem
+        JwtKeyRing rotacionado = new JwtKeyRing("k2", "k1:" + SEGREDO_1 + ",k2:" + SEGREDO_2, "");
+        JwtUtil depois = jwtUtil(rotacionado);
+
+        assertEquals("k2", rotacionado.getKidAtivo());
+        assertEquals("user@test.com", depois.extractUsername(token));
+        assertEquals("user@test.com", depois.extractUsername(depois.generateToken(usuario())));
+    }
+
+    @Test
+    void deveRejeitarTokenComKidDesconhecido() {
+        JwtUtil outraInstancia = jwtUtil(new JwtKeyRing("k3", "k3:" + SEGREDO_2, ""));
+        String token = outraInstancia.generateToken(usuario());
+
+        JwtUtil jwtUtil = jwtUtil(new JwtKeyRing("k1", "k1:" + SEGREDO_1, ""));
+
+        assertTrue(jwtUtil.parseToken(token).isEmpty());
+    }
+
+    @Test
+    void deveUsarChaveAtivaParaTokenSemKid() {
+        JwtKeyRing keyRing = new JwtKeyRing("k2", "k1:" + SEGREDO_1 + ",k2:" + SEGREDO_2, "");
+        String token = Jwts.builder()
+                .subject("user@test.com")
+                .expiration(new Date(System.currentTimeMillis() + 60_000))
+                .signWith(keyRing.getChaveAtiva())
+                .compact();
+
+        assertEquals("user@test.com", jwtUtil(keyRing).extractUsername(token));
+    }
+
+    @Test
+    void deveRecusarChaveComMenosDe256Bits() {
+        String segredoCurto = segredo(3, 16);
+
+        assertThrows(WeakKeyException.class, () -> new JwtKeyRing("k1", "k1:" + segredoCurto, ""));
+    }
+
+    @Test
+    void deveRecusarKidAtivoForaDoChaveiro() {
+        assertThrows(IllegalStateException.class, () -> new JwtKeyRing("k9", "k1:" + SEGREDO_1, ""));
+    }
+
+    @Test
+    void deveRecusarEntradaSemSeparador() {
+        assertThrows(IllegalStateException.class, () -> new JwtKeyRing("", SEGREDO_1, ""));
+    }
+
+    @Test
+    void deveLerSegredosSeparadosPorVirgula() {
+        JwtKeyRing keyRing = new JwtKeyRing("", " k1:" + SEGREDO_1 + " , k2:" + SEGREDO_2 + " ", "");
+
+        // Sem active-kid, a primeira chave configurada assina
+        assertEquals("k1", keyRing.getKidAtivo());
+        assertArrayEquals(Base64.getDecoder().decode(SEGREDO_1), keyRing.getChaveAtiva().getEncoded());
+    }
+
+    @Test
+    void deveLerChaveiroDeArquivo(@TempDir Path diretorio) throws Exception {
+        Path arquivo = diretorio.resolve("jwt-keys");
+        Files.writeString(arquivo, """
+                # chaves da rotação atual
+                k1=%s
+
+                k2=%s
+                """.formatted(SEGREDO_1, SEGREDO_2));
+
+        JwtKeyRing keyRing = new JwtKeyRing("k2", "", arquivo.toString());
+
+        assertEquals("k2", keyRing.getKidAtivo());
+        assertArrayEquals(Base64.getDecoder().decode(SEGREDO_2), keyRing.getChaveAtiva().getEncoded());
+
+        JwtUtil jwtUtil = jwtUtil(keyRing);
+        assertEquals("user@test.com", jwtUtil.extractUsername(tokenAssinadoPor("k1", SEGREDO_1)));
+    }
+
+    @Test
+    void deveUsarChaveEfemeraSemConfiguracao() {
+        JwtKeyRing keyRing = new JwtKeyRing("", "", "");
+
+        assertTrue(keyRing.getKidAtivo().startsWith("efemera-"));
+        assertNotNull(keyRing.getChaveAtiva());
+    }
+
+    private static String tokenAssinadoPor(String kid, String segredo) {
+        SecretKey chave = Keys.hmacShaKeyFor(Base64.getDecoder().decode(segredo));
+        return Jwts.builder()
+                .header().keyId(kid).and()
+                .subject("user@test.com")
+                .expiration(new Date(System.currentTimeMillis() + 60_000))
+                .signWith(chave)
+                .compact();
+    }
+
+    private static JwtUtil jwtUtil(JwtKeyRing keyRing) {
+        return new JwtUtil(keyRing, 100, 300);
+    }
+
+    private static UserDetails usuario() {
+        return new User("user@test.com", "password", List.of(new SimpleGrantedAuthority("ROLE_USER")));
+    }
+
+    private static String segredo(int semente, int bytes) {
+        byte[] valor = new byte[bytes];
+        for (int i = 0; i < bytes; i++) {
+            valor[i] = (byte) (semente * 31 + i);
+        }
+        return Base64.getEncoder().encodeToString(valor);
+    }
+}
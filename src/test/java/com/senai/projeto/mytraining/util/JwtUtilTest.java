@@ -0,0 +1,102 @@
+package com.senai.projeto.mytraining.util;
+
+import io.jsonwebtoken.JwsHeader;
+import io.jsonwebtoken.Jwts;
+import io.jsonwebtoken.security.Keys;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.security.core.authority.SimpleGrantedAuthority;
+import org.springframework.security.core.userdetails.User;
+
+import java.security.Key;
+import java.util.Base64;
+import java.util.Date;
+import java.util.List;
+import java.util.Optional;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class JwtUtilTest {
+
+    private ContadorDeVerificacoes keyRing;
+    private JwtUtil jwtUtil;
+
+    @BeforeEach
+    void setUp() {
+        keyRing = new ContadorDeVerificacoes();
+        jwtUtil = new JwtUtil(keyRing, 100, 300);
+    }
+
+    @Test
+    void deveResponderTokenRepetidoPeloCacheSemReverificar() {
+        String token = jwtUtil.generateToken(new User("user@test.com", "password",
+                List.of(new SimpleGrantedAuthority("ROLE_USER"))));
+
+        Optional<JwtClaims> primeira = jwtUtil.parseToken(token);
+        Optional<JwtClaims> segunda = jwtUtil.parseToken(token);
+
+        assertTrue(primeira.isPresent());
+        assertEquals(primeira, segunda);
+        assertEquals(List.of("ROLE_USER"), segunda.get().roles());
+        assertEquals(1, keyRing.verificacoes);
+    }
+
+    @Test
+    void deveRejeitarTokenExpiradoMesmoEmCache() throws InterruptedException {
+        // exp tem precisão de segundos: expira no início do segundo seguinte ao próximo
+        long expiracao = (System.currentTimeMillis() / 1000 + 2) * 1000;
+        String token = token(new Date(expiracao), keyRing.getChaveAtiva().getEncoded());
+
+        assertTrue(jwtUtil.parseToken(token).isPresent());
+
+        Thread.sleep(expiracao - System.currentTimeMillis() + 100);
+
+        assertTrue(jwtUtil.parseToken(token).isEmpty());
+        assertEquals(1, keyRing.verificacoes, "A expiração deveria ser checada sobre os claims em cache");
+    }
+
+    @Test
+    void naoDeveServirDoCacheTokenComAssinaturaAdulterada() {
+        Date expiracao = new Date(System.currentTimeMillis() + 60_000);
+        String token = token(expiracao, keyRing.getChaveAtiva().getEncoded());
+        assertTrue(jwtUtil.parseToken(token).isPresent());
+
+        // Mesmo header e payload, assinatura de outra chave
+        byte[] outraChave = new byte[32];
+        String falsificado = token(expiracao, outraChave);
+        String[] partes = token.split("\\.");
+        assertTrue(falsificado.startsWith(partes[0] + "." + partes[1] + "."));
+        assertNotEquals(token, falsificado);
+
+        assertTrue(jwtUtil.parseToken(falsificado).isEmpty());
+        assertEquals(2, keyRing.verificacoes);
+    }
+
+    private String token(Date expiracao, byte[] segredo) {
+        return Jwts.builder()
+                .header().keyId(keyRing.getKidAtivo()).and()
+                .subject("user@test.com")
+                .issuedAt(new Date(expiracao.getTime() - 60_000))
+                .expiration(expiracao)
+                .signWith(Keys.hmacShaKeyFor(segredo))
+                .compact();
+    }
+
+    // Cada verificação de assinatura resolve a chave pelo chaveiro uma vez
+    private static class ContadorDeVerificacoes extends JwtKeyRing {
+
+        private int verificacoes;
+
+        ContadorDeVerificacoes() {
+            super("k1", "k1:" + Base64.getEncoder().encodeToString(new byte[]{
+                    1, 2, 3, 4, 5, 6, 7, 8, 9, 10, 11, 12, 13, 14, 15, 16,
+                    17, 18, 19, 20, 21, 22, 23, 24, 25, 26, 27, 28, 29, 30, 31, 32}), "");
+        }
+
+        @Override
+        protected Key locate(JwsHeader header) {
+            verificacoes++;
+            return super.locate(header);
+        }
+    }
+}